@@ -0,0 +1,59 @@
+package kayu.commands;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kayu.exception.KayuException;
+
+/**
+ * Benchmarks {@link CommandUtils#extractDate(String[])} and {@link CommandUtils#extractTime(String[])},
+ * and so {@link kayu.parser.DateTimeRecognizer}, across every date and time format accepted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CommandUtilsBenchmark {
+
+    private static final String[][] PARAMS = {
+        {"submit report", "2021-09-01", "18:00"},
+        {"submit report", "2021-9-01", "1800"},
+        {"submit report", "01-09-2021", "06:00 pm"},
+        {"submit report", "01-9-2021", "0600 PM"},
+        {"submit report", "2021/09/01", "0600"},
+        {"submit report", "2021/9/01", "06:00 am"},
+        {"submit report", "01/09/2021", "23:59"},
+        {"submit report", "01/9/2021", "0000"}
+    };
+
+    private int paramsIdx = 0;
+
+    @Benchmark
+    public LocalDate extractDate() throws KayuException {
+        return CommandUtils.extractDate(nextParams());
+    }
+
+    @Benchmark
+    public LocalTime extractTime() throws KayuException {
+        return CommandUtils.extractTime(nextParams());
+    }
+
+    private String[] nextParams() {
+        String[] params = PARAMS[paramsIdx];
+        paramsIdx = (paramsIdx + 1) % PARAMS.length;
+        return params;
+    }
+}
@@ -0,0 +1,75 @@
+package kayu.service;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kayu.task.Task;
+import kayu.workload.WorkloadGenerator;
+
+/**
+ * Benchmarks {@link TaskList#findTasksByKeywords(String...)}, both answered from its {@link SearchCache}
+ * and scanning the whole list. Sizes either side of {@link TaskList#PARALLEL_SCAN_THRESHOLD} show where
+ * the parallel scan takes over, and scans run within a fork-join pool of <code>threads</code> threads,
+ * so that how the scan scales with the cores given to it can be read across that parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskListBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private final TaskList taskList = new TaskList();
+    private ForkJoinPool pool;
+    private String[] vocabulary;
+    private int keywordIdx = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.DEFAULT_SEED);
+        vocabulary = generator.getVocabulary();
+        taskList.initializeTasks(generator.generateTasks(size));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<Integer, Task> findCached() {
+        return taskList.findTasksByKeywords(vocabulary[10], vocabulary[100]);
+    }
+
+    // pairs of words, more than the cache holds, so that every search misses
+    @Benchmark
+    public Map<Integer, Task> findUncached() {
+        int first = keywordIdx % vocabulary.length;
+        int second = (keywordIdx / vocabulary.length) % vocabulary.length;
+        keywordIdx++;
+        return pool.submit(() -> taskList.findTasksByKeywords(vocabulary[first], vocabulary[second])).join();
+    }
+}
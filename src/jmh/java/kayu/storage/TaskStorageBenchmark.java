@@ -0,0 +1,92 @@
+package kayu.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kayu.exception.StorageException;
+import kayu.task.Task;
+import kayu.workload.WorkloadGenerator;
+
+/**
+ * Benchmarks saving and loading a whole task file with {@link TaskStorage}, along with encoding and decoding
+ * the same tasks without touching the disk, so that time spent on the file itself can be told apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskStorageBenchmark {
+
+    private static final String FILE_NAME = "tasks.txt";
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private Path directory;
+    private TaskStorage taskStorage;
+    private List<Task> tasks;
+    private List<String> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("kayu-benchmark");
+        taskStorage = TaskStorage.generate(directory.resolve(FILE_NAME).toString());
+        tasks = new WorkloadGenerator(WorkloadGenerator.DEFAULT_SEED).generateTasks(size);
+        lines = encode();
+        taskStorage.save(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve(FILE_NAME));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Task> load() throws StorageException {
+        return taskStorage.load();
+    }
+
+    @Benchmark
+    public void save() throws StorageException {
+        taskStorage.save(tasks);
+    }
+
+    @Benchmark
+    public List<String> encode() {
+        List<String> encoded = new ArrayList<>(tasks.size());
+        for (Task task: tasks) {
+            encoded.add(taskStorage.encode(task));
+        }
+        return encoded;
+    }
+
+    @Benchmark
+    public List<Task> decode() throws StorageException {
+        List<Task> decoded = new ArrayList<>(lines.size());
+        for (String line: lines) {
+            decoded.add(taskStorage.decode(line));
+        }
+        return decoded;
+    }
+}
@@ -1,17 +1,79 @@
+import java.io.ByteArrayInputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 import javafx.application.Application;
+import kayu.KayuCli;
 import kayu.KayuInterface;
+import kayu.commands.RunCommand;
+import kayu.server.KayuServer;
 
 /**
  * Drives the whole program.
  */
 public class Main {
 
+    /** Option running a file of commands without the GUI, as in <code>--batch commands.txt [--rollback]</code>. */
+    public static final String BATCH_OPTION = "--batch";
+
+    /** Option running Kayu on the command line without the GUI, reading commands from standard input. */
+    public static final String CLI_OPTION = "--cli";
+
+    /** Option serving Kayu over HTTP without the GUI, as in <code>--server [port]</code>. */
+    public static final String SERVER_OPTION = "--server";
+
+    // Error message format.
+    protected static final String ERROR_INVALID_PORT = "'%s' is not a valid port.";
+
     /**
-     * Runs main logic using {@link kayu.Kayu} and JavaFX through {@link KayuInterface}.
+     * Runs main logic using {@link kayu.Kayu} and JavaFX through {@link KayuInterface},
+     * or through {@link kayu.KayuCli} alone when given {@link #CLI_OPTION} or {@link #BATCH_OPTION},
+     * or through {@link kayu.server.KayuServer} alone when given {@link #SERVER_OPTION}.
+     * JavaFX is only loaded when the GUI is launched.
      *
      * @param args Command line arguments fed.
      */
     public static void main(String[] args) {
+        if (args.length > 1 && args[0].equals(BATCH_OPTION)) {
+            runBatch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(CLI_OPTION)) {
+            runCli(System.in);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(SERVER_OPTION)) {
+            runServer(args);
+            return;
+        }
         Application.launch(KayuInterface.class, args);
     }
+
+    // writes to the standard output directly, as System.out flushes on every line
+    private static void runCli(InputStream input) {
+        try {
+            new KayuCli(input, new FileOutputStream(FileDescriptor.out)).run();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private static void runServer(String[] args) {
+        try {
+            int port = (args.length > 1) ? Integer.parseInt(args[1]) : KayuServer.DEFAULT_PORT;
+            KayuServer.generate(port).start();
+        } catch (IllegalArgumentException exception) { // also thrown for ports out of range
+            System.out.println(String.format(ERROR_INVALID_PORT, args[1]));
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private static void runBatch(String[] args) {
+        boolean isRollback = args.length > 2 && args[2].equals(RunCommand.KEY_ROLLBACK);
+        String command = RunCommand.COMMAND_WORD + ' ' + args[1] + (isRollback ? ' ' + RunCommand.KEY_ROLLBACK : "");
+        runCli(new ByteArrayInputStream(command.getBytes()));
+    }
 }
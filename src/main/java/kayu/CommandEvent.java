@@ -0,0 +1,75 @@
+package kayu;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import kayu.service.CommandTrace;
+
+/**
+ * Flight Recorder event spanning one command run by {@link Kayu}, from parsing to showing the response,
+ * so that a recording shows commands lined up with garbage collection and I/O. Costs next to nothing
+ * when no recording is on, as the breakdown is only filled in if the event is to be committed.
+ */
+@Name("kayu.Command")
+@Label("Command")
+@Category("Kayu")
+@Description("Command parsed, executed, saved and responded to")
+@StackTrace(false)
+class CommandEvent extends Event {
+
+    @Label("Command Type")
+    String commandType;
+
+    @Label("Parse Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseDuration;
+
+    @Label("Execute Duration")
+    @Description("Time executing, apart from saving to file")
+    @Timespan(Timespan.NANOSECONDS)
+    long executeDuration;
+
+    @Label("Encode Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long encodeDuration;
+
+    @Label("Write Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long writeDuration;
+
+    @Label("Render Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderDuration;
+
+    @Label("Task Count")
+    int taskCount;
+
+    @Label("Note Count")
+    int noteCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+
+    /**
+     * Fills in the fields of this event from <code>trace</code>.
+     *
+     * @param trace {@link CommandTrace} of the command, with its counts set.
+     */
+    void describe(CommandTrace trace) {
+        commandType = trace.getCommandType();
+        parseDuration = trace.getStageNanos(CommandTrace.Stage.PARSE);
+        executeDuration = trace.getStageNanos(CommandTrace.Stage.EXECUTE);
+        encodeDuration = trace.getStageNanos(CommandTrace.Stage.ENCODE);
+        writeDuration = trace.getStageNanos(CommandTrace.Stage.WRITE);
+        renderDuration = trace.getStageNanos(CommandTrace.Stage.RENDER);
+        taskCount = trace.getTaskCount();
+        noteCount = trace.getNoteCount();
+        bytesWritten = trace.getBytesWritten();
+    }
+}
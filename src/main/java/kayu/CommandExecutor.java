@@ -0,0 +1,88 @@
+package kayu;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link Kayu} on a single background thread, so that parsing, executing and saving commands never
+ * holds up the thread submitting them, such as the JavaFX application thread. Being the only thread that
+ * uses {@link Kayu}, it needs no locking. Commands run one at a time in the order submitted, and their
+ * responses are handed to <code>responseExecutor</code>, such as <code>Platform::runLater</code>, in that
+ * same order.
+ */
+public class CommandExecutor {
+
+    // Error message format, for failures that Kayu does not report itself.
+    protected static final String ERROR_UNEXPECTED = "Error: %s";
+
+    private static final String THREAD_NAME = "kayu-commands";
+
+    private final Kayu kayu;
+    private final Executor responseExecutor;
+    private final ExecutorService worker;
+
+    /**
+     * Initializes a CommandExecutor running commands on <code>kayu</code>.
+     *
+     * @param kayu {@link Kayu} instance to run commands on, which should not be used elsewhere.
+     * @param responseExecutor Executor to hand responses over on.
+     */
+    public CommandExecutor(Kayu kayu, Executor responseExecutor) {
+        this.kayu = kayu;
+        this.responseExecutor = responseExecutor;
+        // not a daemon, so commands already submitted are saved before the program ends
+        this.worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, THREAD_NAME));
+    }
+
+    /**
+     * Loads the saved data in the background, then hands the greeting to <code>onGreeting</code>.
+     *
+     * @param onGreeting Receives the greeting message, on <code>responseExecutor</code>.
+     */
+    public void initialize(Consumer<String> onGreeting) {
+        run(() -> {
+            kayu.initialize();
+            return kayu.getGreeting();
+        }, onGreeting);
+    }
+
+    /**
+     * Executes <code>userInput</code> in the background, after every command submitted before it,
+     * then hands the response to <code>onResponse</code>. The program exits after responding to a
+     * {@link kayu.commands.ByeCommand}.
+     *
+     * @param userInput User input string to parse and execute.
+     * @param onResponse Receives the response, on <code>responseExecutor</code>.
+     */
+    public void submit(String userInput, Consumer<String> onResponse) {
+        run(() -> kayu.executeAndRespond(userInput), onResponse);
+    }
+
+    /**
+     * Stops accepting submissions. Those already submitted still run, after which the background thread ends.
+     */
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    private void run(Supplier<String> task, Consumer<String> onResponse) {
+        worker.execute(() -> {
+            String response;
+            try {
+                response = task.get();
+            } catch (RuntimeException exception) {
+                exception.printStackTrace();
+                response = String.format(ERROR_UNEXPECTED, exception.getMessage());
+            }
+
+            String finalResponse = response;
+            responseExecutor.execute(() -> onResponse.accept(finalResponse));
+            if (kayu.isRecentCommandBye()) {
+                kayu.exit(); // gives the response time to show first
+            }
+        });
+    }
+}
@@ -7,12 +7,17 @@ import kayu.exception.KayuException;
 import kayu.exception.StorageException;
 import kayu.note.Note;
 import kayu.parser.Parser;
+import kayu.service.CommandStats;
+import kayu.service.CommandTrace;
+import kayu.service.History;
 import kayu.service.Logger;
 import kayu.service.NoteList;
+import kayu.service.SlowCommandLog;
 import kayu.service.TaskList;
 import kayu.storage.NoteStorage;
 import kayu.storage.TaskStorage;
 import kayu.task.Task;
+import kayu.workload.SessionRecorder;
 
 /**
  * Holds the main logic for Kayu project (CS2103T's iP).
@@ -27,15 +32,53 @@ public class Kayu {
             + "I'm Kayu, your alternative personal task management to Duke!\n"
             + "What can I do for you?";
 
+    private static final String COMMAND_CLASS_SUFFIX = "Command";
+    private static final String DEFERRED_SAVE_INPUT = "";
+
     private final Parser parser = new Parser();
     private final TaskList taskList = new TaskList();
     private final NoteList noteList = new NoteList();
-    private final Logger logger = new Logger();
-    private final TaskStorage taskStorage = TaskStorage.generate();
-    private final NoteStorage noteStorage = NoteStorage.generate();
+    private final Logger logger;
+    private final TaskStorage taskStorage;
+    private final NoteStorage noteStorage;
+    private final History history = History.generate(taskList, noteList);
+    private final CommandStats stats = CommandStats.getShared();
+    private final SlowCommandLog slowLog = SlowCommandLog.generate();
+    private final SessionRecorder recorder = SessionRecorder.generate();
 
     private boolean isRecentCommandBye = false;
 
+    /**
+     * Initializes Kayu, communicating on the standard output.
+     */
+    public Kayu() {
+        this(new Logger());
+    }
+
+    /**
+     * Initializes Kayu, communicating through <code>logger</code>.
+     *
+     * @param logger {@link kayu.service.Logger} to print greetings, responses and errors with.
+     */
+    public Kayu(Logger logger) {
+        this(logger, TaskStorage.generate(), NoteStorage.generate());
+    }
+
+    /**
+     * Initializes Kayu, communicating through <code>logger</code> and saving to the given storages,
+     * such as to run a workload without touching the data of the user.
+     *
+     * @param logger {@link kayu.service.Logger} to print greetings, responses and errors with.
+     * @param taskStorage {@link kayu.storage.TaskStorage} to load and save tasks with.
+     * @param noteStorage {@link kayu.storage.NoteStorage} to load and save notes with.
+     */
+    public Kayu(Logger logger, TaskStorage taskStorage, NoteStorage noteStorage) {
+        this.logger = logger;
+        this.taskStorage = taskStorage;
+        this.noteStorage = noteStorage;
+        stats.registerMBean();
+    }
+
     /**
      * Returns whether the recent command parsed and executed is a {@link kayu.commands.ByeCommand}.
      *
@@ -45,6 +88,16 @@ public class Kayu {
         return isRecentCommandBye;
     }
 
+    /**
+     * Returns the current version of the {@link kayu.task.Task}s held. A version, and the tasks in it,
+     * is never changed once obtained, so it can be read from any thread while later commands run.
+     *
+     * @return Read-only List of {@link kayu.task.Task}s.
+     */
+    public List<Task> getTasks() {
+        return taskList.getTasks();
+    }
+
     /**
      * Returns the greeting message for user.
      *
@@ -73,42 +126,157 @@ public class Kayu {
     private void initializeTasks() throws StorageException {
         List<Task> tasks = taskStorage.load();
         List<Note> notes = noteStorage.load();
-        taskList.initializeTasks(tasks);
+        taskList.initializeTasks(tasks, taskStorage.getNextId());
         noteList.initializeNotes(notes);
+        history.reset();
     }
 
     /**
      * Executes the command fed by user and returns the response string.
+     * How long each phase takes is recorded in the shared {@link CommandStats}, and commands slow
+     * enough are written to the {@link SlowCommandLog}. If the session is being recorded,
+     * <code>userInput</code> is recorded by the {@link SessionRecorder}. A <code>kayu.Command</code>
+     * Flight Recorder event spanning the command is emitted while a recording is on.
      *
      * @param userInput User input string to parse and execute.
      * @return A String response from the parsing and execution of the command.
      */
     public String executeAndRespond(String userInput) {
-        String feedback;
+        recorder.record(userInput);
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         Command command = parser.parseToCommand(userInput);
         isRecentCommandBye = (command.isBye()); // updates internally as a field
+        long parsedNanos = System.nanoTime();
+        long startEncodeNanos = getEncodeNanos();
+        long startWriteNanos = getWriteNanos();
+        long startBytesWritten = getBytesWritten();
 
+        String feedback;
+        boolean isError = false;
         try {
-            feedback = command.execute(taskList, taskStorage, noteList, noteStorage);
-            logger.printMessage(feedback);
+            feedback = command.execute(taskList, taskStorage, noteList, noteStorage, history);
 
         } catch (KayuException exception) {
             feedback = exception.getMessage();
-            logger.printError(feedback);
+            isError = true;
 
         } catch (StorageException exception) {
             feedback = exception.getMessage();
             logger.printError(feedback);
             exception.printStackTrace();
             exit(); // force terminate
+            return feedback;
         }
+        history.record();
+        long executedNanos = System.nanoTime();
+
+        if (isError) {
+            logger.printError(feedback);
+        } else {
+            logger.printMessage(feedback);
+        }
+        long renderedNanos = System.nanoTime();
+
+        CommandTrace trace = new CommandTrace(getCommandType(command), userInput);
+        long encodeNanos = getEncodeNanos() - startEncodeNanos;
+        long persistNanos = getWriteNanos() - startWriteNanos;
+        trace.setStageNanos(CommandTrace.Stage.PARSE, parsedNanos - startNanos);
+        trace.setStageNanos(CommandTrace.Stage.EXECUTE, executedNanos - parsedNanos - persistNanos);
+        trace.setStageNanos(CommandTrace.Stage.ENCODE, encodeNanos);
+        trace.setStageNanos(CommandTrace.Stage.WRITE, persistNanos - encodeNanos);
+        trace.setStageNanos(CommandTrace.Stage.RENDER, renderedNanos - executedNanos);
+        record(trace, startBytesWritten, event);
         return feedback;
     }
 
+    // the counts are only taken for the slow log or a Flight Recorder event, so that they cost nothing otherwise
+    private void record(CommandTrace trace, long startBytesWritten, CommandEvent event) {
+        long persistNanos = trace.getStageNanos(CommandTrace.Stage.ENCODE)
+                + trace.getStageNanos(CommandTrace.Stage.WRITE);
+        stats.record(trace.getCommandType(), trace.getStageNanos(CommandTrace.Stage.PARSE),
+                trace.getStageNanos(CommandTrace.Stage.EXECUTE), persistNanos,
+                trace.getStageNanos(CommandTrace.Stage.RENDER));
+
+        event.end();
+        boolean isSlow = slowLog.isSlow(trace.getTotalNanos());
+        boolean isEventCommitted = event.shouldCommit();
+        if (isSlow || isEventCommitted) {
+            trace.setCounts(taskList.getCurrentCapacity(), noteList.getCurrentCapacity(),
+                    getBytesWritten() - startBytesWritten);
+        }
+        if (isSlow) {
+            slowLog.log(trace);
+        }
+        if (isEventCommitted) {
+            event.describe(trace);
+            event.commit();
+        }
+    }
+
+    private static String getCommandType(Command command) {
+        String className = command.getClass().getSimpleName();
+        return className.endsWith(COMMAND_CLASS_SUFFIX)
+                ? className.substring(0, className.length() - COMMAND_CLASS_SUFFIX.length())
+                : className;
+    }
+
+    private long getWriteNanos() {
+        return taskStorage.getWriteNanos() + noteStorage.getWriteNanos();
+    }
+
+    private long getEncodeNanos() {
+        return taskStorage.getEncodeNanos() + noteStorage.getEncodeNanos();
+    }
+
+    private long getBytesWritten() {
+        return taskStorage.getBytesWritten() + noteStorage.getBytesWritten();
+    }
+
+    /**
+     * Defers saving changes to file until {@link #commitSaves()}, so that a run of commands is saved once.
+     */
+    public void deferSaves() {
+        taskStorage.deferSaves();
+        noteStorage.deferSaves();
+    }
+
+    /**
+     * Saves the changes made since {@link #deferSaves()} to file. If anything was written, the time taken
+     * is recorded as {@link CommandStats#DEFERRED_SAVE_TYPE}, as for a command.
+     */
+    public void commitSaves() {
+        try {
+            CommandEvent event = new CommandEvent();
+            event.begin();
+            long startEncodeNanos = getEncodeNanos();
+            long startWriteNanos = getWriteNanos();
+            long startBytesWritten = getBytesWritten();
+            taskStorage.commitSaves();
+            noteStorage.commitSaves();
+
+            long encodeNanos = getEncodeNanos() - startEncodeNanos;
+            long persistNanos = getWriteNanos() - startWriteNanos;
+            if (persistNanos > 0) {
+                CommandTrace trace = new CommandTrace(CommandStats.DEFERRED_SAVE_TYPE, DEFERRED_SAVE_INPUT);
+                trace.setStageNanos(CommandTrace.Stage.ENCODE, encodeNanos);
+                trace.setStageNanos(CommandTrace.Stage.WRITE, persistNanos - encodeNanos);
+                record(trace, startBytesWritten, event);
+            }
+
+        } catch (StorageException exception) {
+            logger.printError(exception.getMessage());
+            exception.printStackTrace();
+            exit(); // force terminate
+        }
+    }
+
     /**
      * Exits the whole program.
      */
     public void exit() {
+        logger.flush();
         try {
             Thread.sleep(300); // sleep for 0.3s
         } catch (InterruptedException exception) {
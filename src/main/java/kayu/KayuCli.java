@@ -0,0 +1,71 @@
+package kayu;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import kayu.service.Logger;
+
+/**
+ * Runs {@link Kayu} on the command line, without the GUI, reading one command per line from an input.
+ * Nothing here refers to JavaFX, so none of its classes are loaded and Kayu starts up quickly.
+ * Saves and responses are deferred until every line already waiting on the input has run, so a person
+ * typing sees each change saved and answered at once, while commands piped in are saved and answered
+ * in bulk. A response is never shown before the change it reports has been saved.
+ */
+public class KayuCli {
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader input;
+    private final Logger logger;
+    private final Kayu kayu;
+
+    /**
+     * Initializes a KayuCli reading commands from <code>input</code> and printing responses to <code>output</code>.
+     *
+     * @param input Stream to read commands from, one per line.
+     * @param output Stream to print responses to.
+     */
+    public KayuCli(InputStream input, OutputStream output) {
+        this.input = new BufferedReader(new InputStreamReader(input));
+        PrintStream bufferedOutput = new PrintStream(new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE), false);
+        // every response is the output itself here, so none are cut short or dropped
+        this.logger = new Logger(bufferedOutput, Logger.Level.INFO, Logger.NO_TRUNCATION, Logger.OverflowPolicy.BLOCK);
+        this.kayu = new Kayu(logger);
+    }
+
+    /**
+     * Runs every command read until the input ends or a {@link kayu.commands.ByeCommand} is executed.
+     *
+     * @throws IOException If unable to read from the input.
+     */
+    public void run() throws IOException {
+        kayu.initialize();
+        kayu.deferSaves();
+        try {
+            String userInput;
+            while ((userInput = input.readLine()) != null) {
+                kayu.executeAndRespond(userInput);
+                if (kayu.isRecentCommandBye()) {
+                    break;
+                }
+                if (!input.ready()) {
+                    respond(); // waits for more input, so saves and shows what was done so far
+                    kayu.deferSaves();
+                }
+            }
+        } finally {
+            respond();
+        }
+    }
+
+    private void respond() {
+        kayu.commitSaves();
+        logger.flush();
+    }
+}
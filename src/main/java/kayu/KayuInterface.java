@@ -9,6 +9,7 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import kayu.ui.MainWindow;
 
 /**
  * Represents and renders the GUI for Kayu using FXML.
@@ -21,6 +22,8 @@ public class KayuInterface extends Application {
     private static final String ICON_PATH = "/images/icon.png";
     private static final String FXML_PATH = "/view/MainWindow.fxml";
 
+    private MainWindow mainWindow;
+
     /**
      * Starts the Kayu UI window.
      * {@inheritDoc}
@@ -40,6 +43,17 @@ public class KayuInterface extends Application {
         }
     }
 
+    /**
+     * Lets the commands already entered finish running and saving once the window is closed.
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
+
     private void setIconToStage(Stage stage) {
         InputStream iconImageStream = this.getClass().getResourceAsStream(ICON_PATH);
         assert (iconImageStream != null) : String.format(ASSERT_FAIL_ABSENT_IMAGE, ICON_PATH);
@@ -50,7 +64,9 @@ public class KayuInterface extends Application {
 
     private AnchorPane loadMainWindow() throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(KayuInterface.class.getResource(FXML_PATH));
-        return fxmlLoader.load();
+        AnchorPane anchorPane = fxmlLoader.load();
+        mainWindow = fxmlLoader.getController();
+        return anchorPane;
     }
 
     private void showStage(Stage stage, AnchorPane anchorPane) {
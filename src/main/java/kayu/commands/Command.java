@@ -7,6 +7,7 @@ import java.util.List;
 import kayu.exception.KayuException;
 import kayu.exception.StorageException;
 import kayu.note.Note;
+import kayu.service.History;
 import kayu.service.NoteList;
 import kayu.service.TaskList;
 import kayu.storage.NoteStorage;
@@ -56,6 +57,30 @@ public abstract class Command {
                                    NoteStorage noteStorage)
             throws KayuException, StorageException;
 
+    /**
+     * Executes the command with access to the {@link History} of changes, and returns the outcome as a String.
+     * Only commands that move between versions need <code>history</code>, so by default this executes
+     * the command as {@link #execute(TaskList, TaskStorage, NoteList, NoteStorage)} does.
+     *
+     * @param taskList {@link TaskList} instance to execute on.
+     * @param taskStorage {@link kayu.storage.TaskStorage} instance to save {@link kayu.task.Task} with.
+     * @param noteList {@link NoteList} instance to execute on.
+     * @param noteStorage {@link kayu.storage.NoteStorage} instance to save {@link kayu.note.Note} with.
+     * @param history {@link History} of changes to <code>taskList</code> and <code>noteList</code>.
+     * @return String feedback of execution/outcome.
+     * @throws KayuException If execution of Command fails.
+     * @throws StorageException If saving of information using <code>storage</code> fails.
+     */
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage,
+                          History history)
+            throws KayuException, StorageException {
+
+        return execute(taskList, taskStorage, noteList, noteStorage);
+    }
+
     /**
      * Returns the command parameters fed.
      *
@@ -75,7 +100,7 @@ public abstract class Command {
     }
 
     /**
-     * Updates the file storage with the current {@link TaskList}.
+     * Updates the file storage with the current {@link TaskList}, and the ID its next task added will be given.
      *
      * @param taskList {@link TaskList} instance to execute on.
      * @param taskStorage {@link kayu.storage.TaskStorage} instance to save information with.
@@ -83,6 +108,7 @@ public abstract class Command {
      */
     public void updateTaskFileStorage(TaskList taskList, TaskStorage taskStorage) throws StorageException {
         List<Task> tasks = taskList.getTasks();
+        taskStorage.setNextId(taskList.getNextId());
         taskStorage.save(tasks);
     }
 
@@ -6,18 +6,47 @@ package kayu.commands;
 public class CommandMessage {
 
     // Message formats.
-    protected static final String MESSAGE_ITEM_FORMAT = "%d. %s"; // number, and item as string
+    protected static final String MESSAGE_ITEM_SEPARATOR = ". "; // between number and item as string
+    protected static final String MESSAGE_TASK_ID_PREFIX = " (#"; // between task as string and its ID
+    protected static final String MESSAGE_TASK_ID_SUFFIX = ")";
     protected static final String MESSAGE_EMPTY_TASK_LIST = "List is empty, try adding some tasks first.";
     protected static final String MESSAGE_EMPTY_NOTE_LIST = "List is empty, try adding some notes first.";
     protected static final String MESSAGE_TASK_DONE = "Nice! I've marked this task as done:\n  %s";
+    protected static final String MESSAGE_TASKS_DONE = "Nice! I've marked these %d task(s) as done:\n%s";
     protected static final String MESSAGE_LIST_CONTENTS = "Here are the task(s) in your list:\n";
+    protected static final String MESSAGE_LIST_WINDOW = "\nShowing task(s) %d to %d of %d.";
+    protected static final String MESSAGE_LIST_NEXT_WINDOW = " Enter 'list --from %d --limit %d' for more.";
+    protected static final String MESSAGE_UPCOMING_CONTENTS = "Here are your %d upcoming task(s):\n";
+    protected static final String MESSAGE_NO_UPCOMING_TASKS = "There are no upcoming deadlines or events.";
     protected static final String MESSAGE_BYE = "Bye. Hope to see you again soon!";
+    protected static final String MESSAGE_UNDONE = "Undone! Changes left to undo: %d, to redo: %d.";
+    protected static final String MESSAGE_REDONE = "Redone! Changes left to undo: %d, to redo: %d.";
+    protected static final String MESSAGE_RAN_COMMANDS = "Ran %d command(s) from '%s', %d of which failed.";
+    protected static final String MESSAGE_FAILED_LINE = "\nLine %d: %s";
+    protected static final String MESSAGE_MORE_FAILED_LINES = "\n...and %d more.";
+    protected static final String MESSAGE_NO_STATS = "No commands have been timed yet.";
+    protected static final String MESSAGE_STATS_HEADER =
+            "Latencies in ms (p50 / p99 / max) of %d command(s), at %.1f command(s)/s:";
+    protected static final String MESSAGE_STATS_COMMAND = "\n%s: %d command(s), at %.1f command(s)/s";
+    protected static final String MESSAGE_STATS_PHASE = "\n  %-8s %.3f / %.3f / %.3f";
+    protected static final String MESSAGE_STATS_SEARCH_CACHE =
+            "\nKeyword search cache: %d hit(s), %d miss(es), %.1f%% hit rate, %d result(s) held";
     protected static final String MESSAGE_MATCHING_CONTENTS =
             "Here are the matching task(s) to the expressions(s) in '%s':\n";
     protected static final String MESSAGE_NO_MATCHING_CONTENTS =
             "There are no matching tasks to the expressions(s) in '%s'.";
+    protected static final String MESSAGE_MATCHING_PATTERN_TASKS = "Here are the task(s) matching the pattern '%s':\n";
+    protected static final String MESSAGE_MATCHING_PATTERN_NOTES = "Here are the note(s) matching the pattern '%s':\n";
+    protected static final String MESSAGE_NO_MATCHING_PATTERN =
+            "There are no tasks or notes matching the pattern '%s'.";
+    protected static final String MESSAGE_RELEVANT_NOTES = "Here are the most relevant note(s) to '%s':\n";
+    protected static final String MESSAGE_NO_RELEVANT_NOTES = "There are no notes matching '%s'.";
     protected static final String MESSAGE_DELETED_TASK =
             "Noted. I've removed this task:\n  %s\nNow you have %d task(s) in the list.";
+    protected static final String MESSAGE_DELETED_TASKS =
+            "Noted. I've removed these %d task(s):\n%s\nNow you have %d task(s) in the list.";
+    protected static final String MESSAGE_DELETED_NOTES =
+            "Noted. I've removed these %d note(s):\n%s\nNow you have %d note(s) in the list.";
     protected static final String MESSAGE_DELETED_NOTE =
             "Noted. I've removed this note:\n  %s\nNow you have %d note(s) in the list.";
     protected static final String MESSAGE_CREATED_TODO =
@@ -31,7 +60,15 @@ public class CommandMessage {
 
     // Error formats.
     protected static final String ERROR_EMPTY_COMMAND = "Instruction cannot be empty.";
+    protected static final String ERROR_NO_HISTORY = "Command '%s' cannot be used here.";
+    protected static final String ERROR_UNREADABLE_FILE = "File '%s' cannot be read.";
+    protected static final String ERROR_ROLLED_BACK =
+            "Line %d failed: %s\nNone of the changes from '%s' were kept.";
     protected static final String ERROR_NOT_AN_INT_PARAM = "'%s' is not an integer.";
+    protected static final String ERROR_NOT_AN_ID_PARAM = "'%s' is not a task ID.";
+    protected static final String ERROR_INVALID_SELECTION = "'%s' is not a valid selection.";
+    protected static final String ERROR_INVALID_PAGE = "Page '%d' does not exist, there are %d page(s).";
+    protected static final String ERROR_INVALID_LIMIT = "Limit '%d' should be a positive number.";
     protected static final String ERROR_IMPROPER_DATE = "Date input is not in the right format.";
     protected static final String ERROR_IMPROPER_TIME = "Time input is not in the right format.";
     protected static final String ERROR_UNKNOWN_COMMAND = "Instruction does not follows specified format.";
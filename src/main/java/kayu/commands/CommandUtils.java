@@ -5,19 +5,22 @@ import static kayu.commands.CommandMessage.ERROR_EMPTY_PARAMS;
 import static kayu.commands.CommandMessage.ERROR_IMPROPER_DATE;
 import static kayu.commands.CommandMessage.ERROR_IMPROPER_FORMATTING;
 import static kayu.commands.CommandMessage.ERROR_IMPROPER_TIME;
-import static kayu.commands.CommandMessage.MESSAGE_ITEM_FORMAT;
+import static kayu.commands.CommandMessage.ERROR_INVALID_SELECTION;
+import static kayu.commands.CommandMessage.ERROR_NOT_AN_ID_PARAM;
+import static kayu.commands.CommandMessage.ERROR_NOT_AN_INT_PARAM;
+import static kayu.commands.CommandMessage.MESSAGE_ITEM_SEPARATOR;
 import static kayu.commands.CommandMessage.MESSAGE_LIST_CONTENTS;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
 
 import kayu.exception.KayuException;
-import kayu.parser.DateTimeFormat;
+import kayu.parser.DateTimeRecognizer;
+import kayu.service.TaskList;
+import kayu.task.Task;
 
 /**
  * Holds shared methods that are used by {@link kayu.commands.Command}s such as extracting
@@ -25,18 +28,98 @@ import kayu.parser.DateTimeFormat;
  */
 public class CommandUtils {
 
-    private static final DateTimeFormat DATE_TIME_FORMAT = DateTimeFormat.generateInstance();
+    /** Selector keyword for every item in a list. */
+    protected static final String SELECT_ALL = "all";
+
+    /** Selector keyword for every done task in a list. */
+    protected static final String SELECT_ALL_DONE = "all done";
+
+    /** Prefix selecting a task by its ID rather than its number. */
+    protected static final String ID_PREFIX = "#";
+
+    private static final String KEY_PREFIX = " /";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
+    private static final String ITEM_INDENT = "  ";
+
+    // Typical length of a rendered item, used to size responses up front rather than growing them.
+    private static final int ITEM_LENGTH_ESTIMATE = 48;
 
     protected static String[] splitUserParams(String userParams, String commandName, String splitKey)
             throws KayuException {
 
+        // splits on the first " /key " then the next space, scanning instead of compiling a regex each time
+        int keyIdx = userParams.indexOf(KEY_PREFIX + splitKey + ' ');
+        int dateIdx = keyIdx + KEY_PREFIX.length() + splitKey.length() + 1;
+        int timeIdx = (keyIdx < 0) ? -1 : userParams.indexOf(' ', dateIdx);
+        if (timeIdx < 0) {
+            throw new KayuException(String.format(ERROR_IMPROPER_FORMATTING, commandName, splitKey));
+        }
+        return new String[] {
+            userParams.substring(0, keyIdx),
+            userParams.substring(dateIdx, timeIdx),
+            userParams.substring(timeIdx + 1)
+        };
+    }
+
+    // a leading minus sign is a (negative) single number rather than a range
+    protected static boolean isMultipleSelection(String selection) {
+        return selection.contains(LIST_SEPARATOR) || selection.indexOf(RANGE_SEPARATOR) > 0;
+    }
+
+    /**
+     * Extracts the item numbers from a selection such as <code>1-200,305</code>, returning them
+     * in ascending order without duplicates. A part starting past <code>maxNumber</code> is rejected
+     * outright, and ranges are only expanded up to one past <code>maxNumber</code>, so an oversized
+     * range is still reported as an invalid number without allocating for every number in it.
+     */
+    protected static int[] extractItemNumbers(String selection, int maxNumber) throws KayuException {
+        BitSet numbers = new BitSet();
+
+        for (String part: selection.split(LIST_SEPARATOR)) {
+            String token = part.trim();
+            int splitIdx = token.indexOf(RANGE_SEPARATOR);
+            int start;
+            int end;
+
+            if (splitIdx < 0) {
+                start = parseItemNumber(token);
+                end = start;
+            } else {
+                start = parseItemNumber(token.substring(0, splitIdx).trim());
+                end = parseItemNumber(token.substring(splitIdx + 1).trim());
+            }
+            if (start <= 0 || start > end || start > maxNumber) {
+                throw new KayuException(String.format(ERROR_INVALID_SELECTION, token));
+            }
+            int boundedEnd = (int) Math.min(end, maxNumber + 1L);
+            numbers.set(start, boundedEnd + 1);
+        }
+        return numbers.stream().toArray();
+    }
+
+    /**
+     * Extracts the task number from a selection of either a number, or an ID such as <code>#42</code>,
+     * which refers to the same task however tasks before it are deleted.
+     */
+    protected static int extractTaskNumber(String selection, TaskList taskList) throws KayuException {
+        if (!selection.startsWith(ID_PREFIX)) {
+            return parseItemNumber(selection);
+        }
+
         try {
-            String[] splitOnKey = userParams.split(" /" + splitKey + ' ', 2);
-            String[] dateTime = splitOnKey[1].split(" ", 2);
-            return new String[] {splitOnKey[0], dateTime[0], dateTime[1]};
+            long id = Long.parseLong(selection.substring(ID_PREFIX.length()));
+            return taskList.getTaskNumberById(id);
+        } catch (NumberFormatException exception) {
+            throw new KayuException(String.format(ERROR_NOT_AN_ID_PARAM, selection));
+        }
+    }
 
-        } catch (ArrayIndexOutOfBoundsException exception) {
-            throw new KayuException(String.format(ERROR_IMPROPER_FORMATTING, commandName, splitKey));
+    private static int parseItemNumber(String token) throws KayuException {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException exception) {
+            throw new KayuException(String.format(ERROR_NOT_AN_INT_PARAM, token));
         }
     }
 
@@ -54,49 +137,93 @@ public class CommandUtils {
         assert (paramArray.length == 3) : ASSERT_FAIL_INCOMPLETE_PARAMS;
 
         String dateString = paramArray[1].trim();
-        List<DateTimeFormatter> dateFormatterList = DATE_TIME_FORMAT.getDateFormats();
-
-        for (DateTimeFormatter formatter: dateFormatterList) {
-            try {
-                return LocalDate.parse(dateString, formatter);
-            } catch (DateTimeParseException exception) {
-                // skip this and attempt to parse with the next possible format
-            }
+        LocalDate date = DateTimeRecognizer.recognizeDate(dateString);
+        if (date == null) {
+            throw new KayuException(ERROR_IMPROPER_DATE);
         }
-        throw new KayuException(ERROR_IMPROPER_DATE);
+        return date;
     }
 
     protected static LocalTime extractTime(String[] paramArray) throws KayuException {
         assert (paramArray.length == 3) : ASSERT_FAIL_INCOMPLETE_PARAMS;
 
         String timeString = paramArray[2].trim().toUpperCase();
-        List<DateTimeFormatter> timeFormatterList = DATE_TIME_FORMAT.getTimeFormats();
+        LocalTime time = DateTimeRecognizer.recognizeTime(timeString);
+        if (time == null) {
+            throw new KayuException(ERROR_IMPROPER_TIME);
+        }
+        return time;
+    }
 
-        for (DateTimeFormatter formatter: timeFormatterList) {
-            try {
-                return LocalTime.parse(timeString, formatter);
-            } catch (DateTimeParseException exception) {
-                // skip this and attempt to parse with the next possible format
+    // Wildcard generic used as we are using the toString method for both Task and Notes.
+    protected static String generateFormattedItemListResponse(List<?> list) {
+        return generateFormattedItemListResponse(list, 1);
+    }
+
+    // Renders only the given window, numbering items from startNumber onwards.
+    protected static String generateFormattedItemListResponse(List<?> window, int startNumber) {
+        return generateFormattedItemListResponse(MESSAGE_LIST_CONTENTS, window, startNumber);
+    }
+
+    protected static String generateFormattedItemListResponse(String header, List<?> window, int startNumber) {
+        StringBuilder response = createResponse(header, window.size());
+        int number = startNumber;
+        for (Object item: window) {
+            if (number > startNumber) {
+                response.append('\n');
             }
+            appendItem(response, number++, item);
         }
-        throw new KayuException(ERROR_IMPROPER_TIME);
+        return response.toString();
     }
 
     // Wildcard generic used as we are using the toString method for both Task and Notes.
-    protected static String generateFormattedItemListResponse(List<?> list) {
-        StringBuilder tasksAsString = new StringBuilder(MESSAGE_LIST_CONTENTS);
+    protected static String generateIndentedItemsResponse(List<?> items) {
+        StringBuilder response = createResponse("", items.size());
+        for (Object item: items) {
+            if (response.length() > 0) {
+                response.append('\n');
+            }
+            appendItem(response.append(ITEM_INDENT), item);
+        }
+        return response.toString();
+    }
+
+    // Renders items keyed by their 0-indexed positions, such as search results.
+    protected static String generateFormattedItemMapResponse(Map<Integer, ?> itemMap) {
+        StringBuilder response = createResponse("", itemMap.size());
+        appendFormattedItemMap(response, itemMap);
+        return response.toString();
+    }
+
+    protected static void appendFormattedItemMap(StringBuilder response, Map<Integer, ?> itemMap) {
+        boolean isFirst = true;
+        for (Map.Entry<Integer, ?> entry: itemMap.entrySet()) {
+            if (!isFirst) {
+                response.append('\n');
+            }
+            appendItem(response, entry.getKey() + 1, entry.getValue());
+            isFirst = false;
+        }
+    }
 
-        String stringedTasks = IntStream.range(0, list.size())
-                .boxed()
-                .map(idx -> convertToItemString(idx, list))
-                .collect(Collectors.joining("\n"));
+    // Sized for every item up front, as growing a large response copies it repeatedly.
+    protected static StringBuilder createResponse(String header, int itemCount) {
+        long capacity = header.length() + (long) itemCount * ITEM_LENGTH_ESTIMATE;
+        return new StringBuilder((int) Math.min(capacity, Integer.MAX_VALUE - 8)).append(header);
+    }
 
-        tasksAsString.append(stringedTasks);
-        return tasksAsString.toString();
+    // Appends the item numbered, with the number written in place rather than formatted.
+    protected static void appendItem(StringBuilder response, int number, Object item) {
+        appendItem(response.append(number).append(MESSAGE_ITEM_SEPARATOR), item);
     }
 
-    protected static String convertToItemString(int idx, List<?> list) {
-        int number = idx + 1;
-        return String.format(MESSAGE_ITEM_FORMAT, number, list.get(idx));
+    // Tasks are rendered straight into the response, while notes are already held as a String.
+    protected static void appendItem(StringBuilder response, Object item) {
+        if (item instanceof Task) {
+            ((Task) item).renderTo(response);
+        } else {
+            response.append(item);
+        }
     }
 }
@@ -1,7 +1,9 @@
 package kayu.commands;
 
-import static kayu.commands.CommandMessage.ERROR_NOT_AN_INT_PARAM;
 import static kayu.commands.CommandMessage.MESSAGE_DELETED_TASK;
+import static kayu.commands.CommandMessage.MESSAGE_DELETED_TASKS;
+
+import java.util.List;
 
 import kayu.exception.KayuException;
 import kayu.exception.StorageException;
@@ -13,7 +15,9 @@ import kayu.task.Task;
 
 /**
  * Represents a {@link kayu.commands.Command} that deletes a certain {@link kayu.task.Task}
- * in {@link TaskList}.
+ * in {@link TaskList}, by its number or its ID such as <code>#42</code>. Also accepts a list of numbers
+ * and ranges, such as <code>1-200,305</code>, <code>all</code> or <code>all done</code>, which are removed
+ * in a single update.
  */
 public class DeleteCommand extends Command {
 
@@ -39,14 +43,29 @@ public class DeleteCommand extends Command {
                           NoteStorage noteStorage)
             throws KayuException, StorageException {
 
-        try {
-            int taskNumber = Integer.parseInt(commandParams);
-            Task selectedTask = taskList.deleteTask(taskNumber);
-            super.updateTaskFileStorage(taskList, taskStorage);
-            return String.format(MESSAGE_DELETED_TASK, selectedTask, taskList.getCurrentCapacity());
-
-        } catch (NumberFormatException exception) {
-            throw new KayuException(String.format(ERROR_NOT_AN_INT_PARAM, commandParams));
+        String selection = commandParams.trim();
+        if (selection.equals(CommandUtils.SELECT_ALL)) {
+            return removeTasks(taskList, taskStorage, taskList.deleteAllTasks());
+        }
+        if (selection.equals(CommandUtils.SELECT_ALL_DONE)) {
+            return removeTasks(taskList, taskStorage, taskList.deleteDoneTasks());
+        }
+        if (CommandUtils.isMultipleSelection(selection)) {
+            int[] taskNumbers = CommandUtils.extractItemNumbers(selection, taskList.getCurrentCapacity());
+            return removeTasks(taskList, taskStorage, taskList.deleteTasks(taskNumbers));
         }
+
+        int taskNumber = CommandUtils.extractTaskNumber(selection, taskList);
+        Task selectedTask = taskList.deleteTask(taskNumber);
+        super.updateTaskFileStorage(taskList, taskStorage);
+        return String.format(MESSAGE_DELETED_TASK, selectedTask, taskList.getCurrentCapacity());
+    }
+
+    private String removeTasks(TaskList taskList, TaskStorage taskStorage, List<Task> deletedTasks)
+            throws StorageException {
+
+        super.updateTaskFileStorage(taskList, taskStorage);
+        String body = CommandUtils.generateIndentedItemsResponse(deletedTasks);
+        return String.format(MESSAGE_DELETED_TASKS, deletedTasks.size(), body, taskList.getCurrentCapacity());
     }
 }
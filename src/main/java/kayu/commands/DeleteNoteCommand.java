@@ -2,6 +2,9 @@ package kayu.commands;
 
 import static kayu.commands.CommandMessage.ERROR_NOT_AN_INT_PARAM;
 import static kayu.commands.CommandMessage.MESSAGE_DELETED_NOTE;
+import static kayu.commands.CommandMessage.MESSAGE_DELETED_NOTES;
+
+import java.util.List;
 
 import kayu.exception.KayuException;
 import kayu.exception.StorageException;
@@ -13,7 +16,8 @@ import kayu.storage.TaskStorage;
 
 /**
  * Represents a {@link kayu.commands.Command} that deletes a certain {@link kayu.note.Note}
- * in {@link NoteList}.
+ * in {@link NoteList}. Also accepts a list of numbers and ranges, such as <code>1-20,35</code>,
+ * or <code>all</code>, which are removed in a single update.
  */
 public class DeleteNoteCommand extends Command {
 
@@ -39,8 +43,17 @@ public class DeleteNoteCommand extends Command {
                           NoteStorage noteStorage)
             throws KayuException, StorageException {
 
+        String selection = commandParams.trim();
+        if (selection.equals(CommandUtils.SELECT_ALL)) {
+            return removeNotes(noteList, noteStorage, noteList.deleteAllNotes());
+        }
+        if (CommandUtils.isMultipleSelection(selection)) {
+            int[] noteIds = CommandUtils.extractItemNumbers(selection, noteList.getCurrentCapacity());
+            return removeNotes(noteList, noteStorage, noteList.deleteNotesById(noteIds));
+        }
+
         try {
-            int noteId = Integer.parseInt(commandParams);
+            int noteId = Integer.parseInt(selection);
             Note selectedNote = noteList.deleteNoteById(noteId);
             super.updateNoteFileStorage(noteList, noteStorage);
             return String.format(MESSAGE_DELETED_NOTE, selectedNote, noteList.getCurrentCapacity());
@@ -49,4 +62,12 @@ public class DeleteNoteCommand extends Command {
             throw new KayuException(String.format(ERROR_NOT_AN_INT_PARAM, commandParams));
         }
     }
+
+    private String removeNotes(NoteList noteList, NoteStorage noteStorage, List<Note> deletedNotes)
+            throws StorageException {
+
+        super.updateNoteFileStorage(noteList, noteStorage);
+        String body = CommandUtils.generateIndentedItemsResponse(deletedNotes);
+        return String.format(MESSAGE_DELETED_NOTES, deletedNotes.size(), body, noteList.getCurrentCapacity());
+    }
 }
@@ -1,8 +1,10 @@
 package kayu.commands;
 
-import static kayu.commands.CommandMessage.ERROR_NOT_AN_INT_PARAM;
+import static kayu.commands.CommandMessage.MESSAGE_TASKS_DONE;
 import static kayu.commands.CommandMessage.MESSAGE_TASK_DONE;
 
+import java.util.List;
+
 import kayu.exception.KayuException;
 import kayu.exception.StorageException;
 import kayu.service.NoteList;
@@ -13,7 +15,9 @@ import kayu.task.Task;
 
 /**
  * Represents a {@link kayu.commands.Command} that marks a certain {@link kayu.task.Task}
- * to be marked as done in {@link TaskList}.
+ * to be marked as done in {@link TaskList}, by its number or its ID such as <code>#42</code>.
+ * Also accepts a list of numbers and ranges, such as <code>1-200,305</code>, or <code>all</code>,
+ * which are saved in a single update.
  */
 public class DoneCommand extends Command {
 
@@ -39,14 +43,27 @@ public class DoneCommand extends Command {
                           NoteStorage noteStorage)
             throws KayuException, StorageException {
 
-        try {
-            int taskNumber = Integer.parseInt(commandParams);
-            Task selectedTask = taskList.updateTaskAsDone(taskNumber);
-            super.updateTaskFileStorage(taskList, taskStorage);
-            return String.format(MESSAGE_TASK_DONE, selectedTask);
+        String selection = commandParams.trim();
+        if (selection.equals(CommandUtils.SELECT_ALL)) {
+            return markTasks(taskList, taskStorage, taskList.updateAllTasksAsDone());
+        }
 
-        } catch (NumberFormatException exception) {
-            throw new KayuException(String.format(ERROR_NOT_AN_INT_PARAM, commandParams));
+        if (CommandUtils.isMultipleSelection(selection)) {
+            int[] taskNumbers = CommandUtils.extractItemNumbers(selection, taskList.getCurrentCapacity());
+            return markTasks(taskList, taskStorage, taskList.updateTasksAsDone(taskNumbers));
         }
+
+        int taskNumber = CommandUtils.extractTaskNumber(selection, taskList);
+        Task selectedTask = taskList.updateTaskAsDone(taskNumber);
+        super.updateTaskFileStorage(taskList, taskStorage);
+        return String.format(MESSAGE_TASK_DONE, selectedTask);
+    }
+
+    private String markTasks(TaskList taskList, TaskStorage taskStorage, List<Task> updatedTasks)
+            throws StorageException {
+
+        super.updateTaskFileStorage(taskList, taskStorage);
+        String body = CommandUtils.generateIndentedItemsResponse(updatedTasks);
+        return String.format(MESSAGE_TASKS_DONE, updatedTasks.size(), body);
     }
 }
@@ -1,15 +1,17 @@
 package kayu.commands;
 
 import static kayu.commands.CommandMessage.ERROR_EMPTY_PARAMS;
-import static kayu.commands.CommandMessage.MESSAGE_ITEM_FORMAT;
 import static kayu.commands.CommandMessage.MESSAGE_MATCHING_CONTENTS;
 import static kayu.commands.CommandMessage.MESSAGE_NO_MATCHING_CONTENTS;
 
+import java.util.Arrays;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import kayu.exception.KayuException;
 import kayu.exception.StorageException;
+import kayu.service.BooleanQuery;
 import kayu.service.NoteList;
 import kayu.service.TaskList;
 import kayu.storage.NoteStorage;
@@ -18,13 +20,18 @@ import kayu.task.Task;
 
 /**
  * Represents a {@link kayu.commands.Command} that finds the relevant {@link kayu.task.Task}s
- * whose description matches with the keyword specified.
+ * whose description matches with the keyword specified. Keywords starting with {@link #FUZZY_PREFIX}
+ * also match words with small typos, such as <code>~meetng</code> for <code>meeting</code>.
+ * Queries using operators, parentheses or fields are run as a {@link BooleanQuery} instead.
  */
 public class FindCommand extends Command {
 
     /** Keyword for command. */
     public static final String COMMAND_WORD = "find";
 
+    /** Prefix marking a keyword to be matched with typo tolerance. */
+    public static final String FUZZY_PREFIX = "~";
+
     /**
      * Initializes a Find- {@link kayu.commands.Command}.
      *
@@ -45,8 +52,13 @@ public class FindCommand extends Command {
             throws KayuException, StorageException {
 
         String[] keywords = extractKeywords();
+        if (BooleanQuery.isBooleanQuery(commandParams)) {
+            String query = commandParams.trim();
+            return generateResponse(query, taskList.findTasksByQuery(query));
+        }
+
         String formattedParameters = generateFormattedParameters(keywords); // for message
-        Map<Integer, Task> taskMap = taskList.findTasksByKeywords(keywords);
+        Map<Integer, Task> taskMap = findTasks(taskList, keywords);
 
         return generateResponse(formattedParameters, taskMap);
     }
@@ -59,6 +71,23 @@ public class FindCommand extends Command {
         return keyword.split(" ");
     }
 
+    private Map<Integer, Task> findTasks(TaskList taskList, String... keywords) {
+        String[] exactKeywords = Arrays.stream(keywords)
+                .filter(keyword -> !keyword.startsWith(FUZZY_PREFIX))
+                .toArray(String[]::new);
+        String[] fuzzyKeywords = Arrays.stream(keywords)
+                .filter(keyword -> keyword.startsWith(FUZZY_PREFIX))
+                .map(keyword -> keyword.substring(FUZZY_PREFIX.length()))
+                .toArray(String[]::new);
+
+        if (fuzzyKeywords.length == 0) {
+            return taskList.findTasksByKeywords(exactKeywords);
+        }
+        SortedMap<Integer, Task> taskMap = new TreeMap<>(taskList.findTasksByFuzzyKeywords(fuzzyKeywords));
+        taskMap.putAll(taskList.findTasksByKeywords(exactKeywords));
+        return taskMap;
+    }
+
     // generate parameter string '{}, {}, {} ...'
     private String generateFormattedParameters(String... keywords) {
         return String.join(", ", keywords);
@@ -70,20 +99,8 @@ public class FindCommand extends Command {
         }
 
         String header = String.format(MESSAGE_MATCHING_CONTENTS, params);
-        String body = generateFormattedTaskListResponse(taskMap);
-        return header.concat(body);
-    }
-
-    private String generateFormattedTaskListResponse(Map<Integer, Task> taskMap) {
-        return taskMap.entrySet()
-                .stream()
-                .map(this::convertToTaskString)
-                .collect(Collectors.joining("\n"));
-    }
-
-    private String convertToTaskString(Map.Entry<Integer, Task> entry) {
-        int number = entry.getKey() + 1; // for 1-indexing
-        String taskAsString = entry.getValue().toString();
-        return String.format(MESSAGE_ITEM_FORMAT, number, taskAsString);
+        StringBuilder response = CommandUtils.createResponse(header, taskMap.size());
+        CommandUtils.appendFormattedItemMap(response, taskMap);
+        return response.toString();
     }
 }
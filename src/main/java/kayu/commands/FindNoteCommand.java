@@ -0,0 +1,62 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_EMPTY_PARAMS;
+import static kayu.commands.CommandMessage.MESSAGE_NO_RELEVANT_NOTES;
+import static kayu.commands.CommandMessage.MESSAGE_RELEVANT_NOTES;
+
+import java.util.Map;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.note.Note;
+import kayu.service.NoteList;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+
+/**
+ * Represents a {@link kayu.commands.Command} that finds the {@link kayu.note.Note}s most relevant
+ * to the keywords specified, ranked by {@link NoteList}.
+ */
+public class FindNoteCommand extends Command {
+
+    /** Keyword for command. */
+    public static final String COMMAND_WORD = "findnote";
+
+    /** Maximum number of {@link kayu.note.Note}s shown. */
+    public static final int RESULT_LIMIT = 10;
+
+    /**
+     * Initializes a FindNote- {@link kayu.commands.Command}.
+     *
+     * @param commandParams String parameters fed into the command by user.
+     */
+    public FindNoteCommand(String commandParams) {
+        super(commandParams);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        String query = commandParams.trim();
+        if (query.isEmpty()) {
+            throw new KayuException(String.format(ERROR_EMPTY_PARAMS, COMMAND_WORD));
+        }
+
+        Map<Integer, Note> noteMap = noteList.findNotesByRelevance(query, RESULT_LIMIT);
+        if (noteMap.isEmpty()) {
+            return String.format(MESSAGE_NO_RELEVANT_NOTES, query);
+        }
+        String header = String.format(MESSAGE_RELEVANT_NOTES, query);
+        StringBuilder response = CommandUtils.createResponse(header, noteMap.size());
+        CommandUtils.appendFormattedItemMap(response, noteMap);
+        return response.toString();
+    }
+}
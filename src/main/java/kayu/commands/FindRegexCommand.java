@@ -0,0 +1,92 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_EMPTY_PARAMS;
+import static kayu.commands.CommandMessage.MESSAGE_MATCHING_PATTERN_NOTES;
+import static kayu.commands.CommandMessage.MESSAGE_MATCHING_PATTERN_TASKS;
+import static kayu.commands.CommandMessage.MESSAGE_NO_MATCHING_PATTERN;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.note.Note;
+import kayu.parser.PatternCache;
+import kayu.service.NoteList;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+import kayu.task.Task;
+
+/**
+ * Represents a {@link kayu.commands.Command} that finds the {@link kayu.task.Task}s and {@link kayu.note.Note}s
+ * whose description matches the regular expression specified. Matching is stopped if it takes longer
+ * than {@link #TIMEOUT_MILLIS}, which guards against patterns that backtrack catastrophically.
+ */
+public class FindRegexCommand extends Command {
+
+    /** Keyword for command. */
+    public static final String COMMAND_WORD = "findre";
+
+    /** Maximum time, in milliseconds, a search may take. */
+    public static final long TIMEOUT_MILLIS = 2000;
+
+    /** Maximum number of compiled patterns kept for reuse. */
+    public static final int PATTERN_CACHE_CAPACITY = 64;
+
+    private static final PatternCache PATTERN_CACHE = new PatternCache(PATTERN_CACHE_CAPACITY);
+
+    /**
+     * Initializes a FindRegex- {@link kayu.commands.Command}.
+     *
+     * @param commandParams String parameters fed into the command by user.
+     */
+    public FindRegexCommand(String commandParams) {
+        super(commandParams);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        String regex = commandParams.trim();
+        if (regex.isEmpty()) {
+            throw new KayuException(String.format(ERROR_EMPTY_PARAMS, COMMAND_WORD));
+        }
+
+        Pattern pattern = PATTERN_CACHE.compile(regex);
+        String requiredLiteral = PatternCache.extractRequiredLiteral(regex);
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+
+        Map<Integer, Task> taskMap = taskList.findTasksByPattern(pattern, requiredLiteral, deadlineNanos);
+        Map<Integer, Note> noteMap = noteList.findNotesByPattern(pattern, requiredLiteral, deadlineNanos);
+        return generateResponse(regex, taskMap, noteMap);
+    }
+
+    private String generateResponse(String regex, Map<Integer, Task> taskMap, Map<Integer, Note> noteMap) {
+        if (taskMap.isEmpty() && noteMap.isEmpty()) {
+            return String.format(MESSAGE_NO_MATCHING_PATTERN, regex);
+        }
+
+        StringBuilder response = CommandUtils.createResponse("", taskMap.size() + noteMap.size());
+        if (!taskMap.isEmpty()) {
+            response.append(String.format(MESSAGE_MATCHING_PATTERN_TASKS, regex));
+            CommandUtils.appendFormattedItemMap(response, taskMap);
+        }
+        if (!noteMap.isEmpty()) {
+            if (response.length() > 0) {
+                response.append('\n');
+            }
+            response.append(String.format(MESSAGE_MATCHING_PATTERN_NOTES, regex));
+            CommandUtils.appendFormattedItemMap(response, noteMap);
+        }
+        return response.toString();
+    }
+}
@@ -35,15 +35,22 @@ public class HelpCommand extends Command {
         return "Commands:\n"
                 + "  - bye\n"
                 + "  - help \n"
-                + "  - list\n"
+                + "  - list [page | --from task-number --limit count]\n"
                 + "  - list-notes\n"
                 + "  - note [desc]\n"
                 + "  - todo [desc]\n"
                 + "  - event [desc] /at [date] [time]\n"
                 + "  - deadline [desc] /by [date] [time]\n"
-                + "  - delete [task-number]\n"
-                + "  - delete-note [note-number]\n"
-                + "  - done [task-number]\n"
-                + "  - find [keywords...]";
+                + "  - delete [task-numbers | #task-id | all | all done]\n"
+                + "  - delete-note [note-numbers | all]\n"
+                + "  - done [task-numbers | #task-id | all]\n"
+                + "  - find [keywords... | ~fuzzy-keywords... | query with AND/OR/NOT, type:, done:]\n"
+                + "  - findre [regex]\n"
+                + "  - findnote [keywords...]\n"
+                + "  - next [count]\n"
+                + "  - undo\n"
+                + "  - redo\n"
+                + "  - run [file-path] [--rollback]\n"
+                + "  - stats";
     }
 }
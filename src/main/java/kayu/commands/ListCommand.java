@@ -1,6 +1,15 @@
 package kayu.commands;
 
+import static kayu.commands.CommandMessage.ERROR_IMPROPER_FORMATTING;
+import static kayu.commands.CommandMessage.ERROR_INVALID_LIMIT;
+import static kayu.commands.CommandMessage.ERROR_INVALID_PAGE;
+import static kayu.commands.CommandMessage.ERROR_NOT_AN_INT_PARAM;
 import static kayu.commands.CommandMessage.MESSAGE_EMPTY_TASK_LIST;
+import static kayu.commands.CommandMessage.MESSAGE_LIST_CONTENTS;
+import static kayu.commands.CommandMessage.MESSAGE_LIST_NEXT_WINDOW;
+import static kayu.commands.CommandMessage.MESSAGE_LIST_WINDOW;
+import static kayu.commands.CommandMessage.MESSAGE_TASK_ID_PREFIX;
+import static kayu.commands.CommandMessage.MESSAGE_TASK_ID_SUFFIX;
 
 import java.util.List;
 
@@ -14,13 +23,26 @@ import kayu.task.Task;
 
 /**
  * Represents a {@link kayu.commands.Command} that provides the {@link kayu.task.Task}
- * that are present in {@link TaskList}.
+ * that are present in {@link TaskList}. Only a window of the list is rendered, selected
+ * either by page (<code>list 2</code>) or by cursor (<code>list --from 51 --limit 50</code>).
  */
 public class ListCommand extends Command {
 
     /** Keyword for command. */
     public static final String COMMAND_WORD = "list";
 
+    /** Key for the {@link kayu.task.Task} number to start listing from. */
+    public static final String KEY_FROM = "--from";
+
+    /** Key for the maximum number of {@link kayu.task.Task}s to list. */
+    public static final String KEY_LIMIT = "--limit";
+
+    /** Number of {@link kayu.task.Task}s listed per page. */
+    public static final int PAGE_SIZE = 50;
+
+    private int startNumber = 1;
+    private int limit = PAGE_SIZE;
+
     /**
      * Initializes a List- {@link kayu.commands.Command}.
      */
@@ -28,6 +50,15 @@ public class ListCommand extends Command {
         super();
     }
 
+    /**
+     * Initializes a List- {@link kayu.commands.Command}.
+     *
+     * @param commandParams String parameters fed into the command by user.
+     */
+    public ListCommand(String commandParams) {
+        super(commandParams);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -41,11 +72,95 @@ public class ListCommand extends Command {
         return listTasks(taskList);
     }
 
-    private String listTasks(TaskList taskList) {
-        List<Task> tasks = taskList.getTasks();
-        if (tasks.isEmpty()) {
+    private String listTasks(TaskList taskList) throws KayuException {
+        int taskCount = taskList.getCurrentCapacity();
+        if (taskCount == 0) {
             return MESSAGE_EMPTY_TASK_LIST;
         }
-        return CommandUtils.generateFormattedItemListResponse(tasks);
+
+        extractWindow(taskCount);
+        List<Task> window = taskList.getTaskWindow(startNumber, limit);
+        StringBuilder response = CommandUtils.createResponse(MESSAGE_LIST_CONTENTS, window.size());
+        appendTasksWithIds(response, window);
+        return response.append(generateWindowFooter(window.size(), taskCount)).toString();
+    }
+
+    // shows the ID of each task, so that it can be referred to after renumbering
+    private void appendTasksWithIds(StringBuilder response, List<Task> window) {
+        int number = startNumber;
+        for (Task task: window) {
+            if (number > startNumber) {
+                response.append('\n');
+            }
+            CommandUtils.appendItem(response, number++, task);
+            response.append(MESSAGE_TASK_ID_PREFIX).append(task.getId()).append(MESSAGE_TASK_ID_SUFFIX);
+        }
+    }
+
+    private void extractWindow(int taskCount) throws KayuException {
+        String params = commandParams.trim();
+        if (params.isEmpty()) {
+            return;
+        }
+
+        String[] tokens = params.split("\\s+");
+        if (tokens.length == 1) {
+            extractPage(tokens[0], taskCount);
+            return;
+        }
+        for (int idx = 0; idx < tokens.length; idx += 2) {
+            String key = tokens[idx];
+            if (idx + 1 >= tokens.length) {
+                throw new KayuException(String.format(ERROR_IMPROPER_FORMATTING, COMMAND_WORD, key));
+            }
+            int value = parseNumber(tokens[idx + 1]);
+
+            switch (key) {
+            case KEY_FROM:
+                startNumber = value;
+                break;
+
+            case KEY_LIMIT:
+                if (value <= 0) {
+                    throw new KayuException(String.format(ERROR_INVALID_LIMIT, value));
+                }
+                limit = value;
+                break;
+
+            default:
+                throw new KayuException(String.format(ERROR_IMPROPER_FORMATTING, COMMAND_WORD, key));
+            }
+        }
+    }
+
+    private void extractPage(String pageString, int taskCount) throws KayuException {
+        int page = parseNumber(pageString);
+        int pageCount = (taskCount + PAGE_SIZE - 1) / PAGE_SIZE;
+        if (page <= 0 || page > pageCount) {
+            throw new KayuException(String.format(ERROR_INVALID_PAGE, page, pageCount));
+        }
+        startNumber = (page - 1) * PAGE_SIZE + 1;
+    }
+
+    private int parseNumber(String numberString) throws KayuException {
+        try {
+            return Integer.parseInt(numberString);
+        } catch (NumberFormatException exception) {
+            throw new KayuException(String.format(ERROR_NOT_AN_INT_PARAM, numberString));
+        }
+    }
+
+    // lists that fit in a single window need no footer, as every task is already shown
+    private String generateWindowFooter(int windowSize, int taskCount) {
+        if (windowSize == taskCount) {
+            return "";
+        }
+
+        int endNumber = startNumber + windowSize - 1;
+        String footer = String.format(MESSAGE_LIST_WINDOW, startNumber, endNumber, taskCount);
+        if (endNumber < taskCount) {
+            footer = footer.concat(String.format(MESSAGE_LIST_NEXT_WINDOW, endNumber + 1, limit));
+        }
+        return footer;
     }
 }
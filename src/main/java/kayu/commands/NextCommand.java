@@ -0,0 +1,79 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_INVALID_LIMIT;
+import static kayu.commands.CommandMessage.ERROR_NOT_AN_INT_PARAM;
+import static kayu.commands.CommandMessage.MESSAGE_NO_UPCOMING_TASKS;
+import static kayu.commands.CommandMessage.MESSAGE_UPCOMING_CONTENTS;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.service.NoteList;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+import kayu.task.Task;
+
+/**
+ * Represents a {@link kayu.commands.Command} that provides the undone {@link kayu.task.Deadline}s
+ * and {@link kayu.task.Event}s in {@link TaskList} that are due soonest.
+ */
+public class NextCommand extends Command {
+
+    /** Keyword for command. */
+    public static final String COMMAND_WORD = "next";
+
+    /**
+     * Initializes a Next- {@link kayu.commands.Command}.
+     *
+     * @param commandParams String parameters fed into the command by user.
+     */
+    public NextCommand(String commandParams) {
+        super(commandParams);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        int count = extractCount();
+        List<Task> upcomingTasks = taskList.getUpcomingTasks(count);
+        if (upcomingTasks.isEmpty()) {
+            return MESSAGE_NO_UPCOMING_TASKS;
+        }
+
+        // keyed by their positions in the list, so that each is shown with the number done or delete takes
+        Map<Integer, Task> upcomingTaskMap = new LinkedHashMap<>();
+        for (Task task: upcomingTasks) {
+            upcomingTaskMap.put(taskList.getTaskNumberById(task.getId()) - 1, task);
+        }
+
+        String header = String.format(MESSAGE_UPCOMING_CONTENTS, upcomingTasks.size());
+        StringBuilder response = CommandUtils.createResponse(header, upcomingTaskMap.size());
+        CommandUtils.appendFormattedItemMap(response, upcomingTaskMap);
+        return response.toString();
+    }
+
+    private int extractCount() throws KayuException {
+        String countString = commandParams.trim();
+        try {
+            int count = Integer.parseInt(countString);
+            if (count <= 0) {
+                throw new KayuException(String.format(ERROR_INVALID_LIMIT, count));
+            }
+            return count;
+
+        } catch (NumberFormatException exception) {
+            throw new KayuException(String.format(ERROR_NOT_AN_INT_PARAM, countString));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_EMPTY_PARAMS;
+import static kayu.commands.CommandMessage.ERROR_NO_HISTORY;
+import static kayu.commands.CommandMessage.ERROR_ROLLED_BACK;
+import static kayu.commands.CommandMessage.ERROR_UNREADABLE_FILE;
+import static kayu.commands.CommandMessage.MESSAGE_FAILED_LINE;
+import static kayu.commands.CommandMessage.MESSAGE_MORE_FAILED_LINES;
+import static kayu.commands.CommandMessage.MESSAGE_RAN_COMMANDS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.parser.Parser;
+import kayu.service.History;
+import kayu.service.NoteList;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+
+/**
+ * Represents a {@link kayu.commands.Command} that runs every command in a file, one per line, as a
+ * single change. Saves are deferred while the file runs and written once at the end, so the cost of
+ * running a file grows with its length rather than with its length times the size of the lists.
+ * With {@link #KEY_ROLLBACK}, the first command that fails discards every change made by the file.
+ */
+public class RunCommand extends Command {
+
+    /** Keyword for command. */
+    public static final String COMMAND_WORD = "run";
+
+    /** Key for discarding every change made by the file when one of its commands fails. */
+    public static final String KEY_ROLLBACK = "--rollback";
+
+    /** Maximum number of failed lines described in the response. */
+    public static final int MAX_FAILED_LINES_SHOWN = 10;
+
+    private final Parser parser = new Parser();
+
+    /**
+     * Initializes a Run- {@link kayu.commands.Command}.
+     *
+     * @param commandParams String parameters fed into the command by user.
+     */
+    public RunCommand(String commandParams) {
+        super(commandParams);
+    }
+
+    /**
+     * {@inheritDoc}
+     * A Run- {@link kayu.commands.Command} needs the {@link History} to roll back with, so cannot
+     * be executed without it. This also keeps a file from running another file.
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        throw new KayuException(String.format(ERROR_NO_HISTORY, COMMAND_WORD));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Commands in the file are executed without the {@link History}, so the whole file is recorded
+     * as one change, and can be undone as one.
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage,
+                          History history)
+            throws KayuException, StorageException {
+
+        String params = commandParams.trim();
+        boolean isRollback = params.endsWith(KEY_ROLLBACK);
+        String filePath = isRollback
+                ? params.substring(0, params.length() - KEY_ROLLBACK.length()).trim()
+                : params;
+        if (filePath.isEmpty()) {
+            throw new KayuException(String.format(ERROR_EMPTY_PARAMS, COMMAND_WORD));
+        }
+
+        // every deferral is ended by exactly one commit or discard, whatever a line throws,
+        // so that later saves are not left deferred for the rest of the session
+        taskStorage.deferSaves();
+        noteStorage.deferSaves();
+        Outcome outcome;
+        boolean isKept = false;
+        try {
+            outcome = runFile(filePath, isRollback, taskList, taskStorage, noteList, noteStorage);
+            isKept = true;
+
+        } catch (StorageException exception) {
+            throw exception;
+
+        } catch (KayuException | RuntimeException exception) {
+            if (isRollback) {
+                history.revert();
+            } else {
+                isKept = true; // keeps the changes made before the file became unreadable or a line failed
+            }
+            throw exception;
+
+        } finally {
+            if (isKept) {
+                commitSaves(taskStorage, noteStorage);
+            } else {
+                discardSaves(taskStorage, noteStorage);
+            }
+        }
+        return outcome.toResponse(filePath);
+    }
+
+    // stops at the first failure only when rolling back, otherwise failures are counted and skipped
+    private Outcome runFile(String filePath,
+                            boolean isRollback,
+                            TaskList taskList,
+                            TaskStorage taskStorage,
+                            NoteList noteList,
+                            NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        Outcome outcome = new Outcome();
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Command command = parser.parseToCommand(line);
+                outcome.commandCount++;
+                try {
+                    command.execute(taskList, taskStorage, noteList, noteStorage);
+                } catch (KayuException exception) {
+                    if (isRollback) {
+                        throw new KayuException(
+                                String.format(ERROR_ROLLED_BACK, lineNumber, exception.getMessage(), filePath));
+                    }
+                    outcome.addFailure(lineNumber, exception.getMessage());
+                }
+                if (command.isBye()) {
+                    break; // the rest of the file is left unrun, as it would be when typed in
+                }
+            }
+        } catch (IOException | InvalidPathException exception) {
+            throw new KayuException(String.format(ERROR_UNREADABLE_FILE, filePath));
+        }
+        return outcome;
+    }
+
+    private static void commitSaves(TaskStorage taskStorage, NoteStorage noteStorage) throws StorageException {
+        try {
+            taskStorage.commitSaves();
+        } finally {
+            noteStorage.commitSaves();
+        }
+    }
+
+    private static void discardSaves(TaskStorage taskStorage, NoteStorage noteStorage) {
+        taskStorage.discardSaves();
+        noteStorage.discardSaves();
+    }
+
+    private static final class Outcome {
+
+        private final StringBuilder failedLines = new StringBuilder();
+        private int commandCount = 0;
+        private int failureCount = 0;
+
+        private void addFailure(int lineNumber, String message) {
+            failureCount++;
+            if (failureCount <= MAX_FAILED_LINES_SHOWN) {
+                failedLines.append(String.format(MESSAGE_FAILED_LINE, lineNumber, message));
+            }
+        }
+
+        private String toResponse(String filePath) {
+            String response = String.format(MESSAGE_RAN_COMMANDS, commandCount, filePath, failureCount)
+                    + failedLines;
+            if (failureCount > MAX_FAILED_LINES_SHOWN) {
+                response += String.format(MESSAGE_MORE_FAILED_LINES, failureCount - MAX_FAILED_LINES_SHOWN);
+            }
+            return response;
+        }
+    }
+}
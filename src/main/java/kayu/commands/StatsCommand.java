@@ -0,0 +1,91 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.MESSAGE_NO_STATS;
+import static kayu.commands.CommandMessage.MESSAGE_STATS_COMMAND;
+import static kayu.commands.CommandMessage.MESSAGE_STATS_HEADER;
+import static kayu.commands.CommandMessage.MESSAGE_STATS_PHASE;
+import static kayu.commands.CommandMessage.MESSAGE_STATS_SEARCH_CACHE;
+
+import java.util.Locale;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.service.CommandStats;
+import kayu.service.LatencyHistogram;
+import kayu.service.NoteList;
+import kayu.service.SearchCache;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+
+/**
+ * Represents a {@link kayu.commands.Command} that shows how long each type of command has taken to run,
+ * phase by phase, as recorded in the shared {@link CommandStats}, followed by how often keyword searches
+ * were answered from the {@link SearchCache} of {@link TaskList}.
+ */
+public class StatsCommand extends Command {
+
+    /** Keyword for command. */
+    public static final String COMMAND_WORD = "stats";
+
+    private static final double MEDIAN = 50;
+    private static final double TAIL = 99;
+
+    private final CommandStats stats;
+
+    /**
+     * Initializes a Stats- {@link kayu.commands.Command} showing the shared {@link CommandStats}.
+     */
+    public StatsCommand() {
+        this(CommandStats.getShared());
+    }
+
+    /**
+     * Initializes a Stats- {@link kayu.commands.Command} showing <code>stats</code>.
+     *
+     * @param stats {@link CommandStats} to show.
+     */
+    public StatsCommand(CommandStats stats) {
+        super();
+        this.stats = stats;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        String[] commandTypes = stats.getCommandTypes();
+        if (commandTypes.length == 0) {
+            return MESSAGE_NO_STATS;
+        }
+
+        StringBuilder response = new StringBuilder(
+                String.format(MESSAGE_STATS_HEADER, stats.getCommandCount(), stats.getThroughput()));
+        for (String commandType: commandTypes) {
+            LatencyHistogram total = stats.getHistogram(commandType, CommandStats.Phase.TOTAL);
+            response.append(String.format(MESSAGE_STATS_COMMAND,
+                    commandType, total.getCount(), stats.getThroughput(commandType)));
+            for (CommandStats.Phase phase: CommandStats.Phase.values()) {
+                appendPhase(response, phase, stats.getHistogram(commandType, phase));
+            }
+        }
+        SearchCache searchCache = taskList.getSearchCache();
+        response.append(String.format(MESSAGE_STATS_SEARCH_CACHE, searchCache.getHitCount(),
+                searchCache.getMissCount(), searchCache.getHitRate() * 100, searchCache.getSize()));
+        return response.toString();
+    }
+
+    private static void appendPhase(StringBuilder response, CommandStats.Phase phase, LatencyHistogram histogram) {
+        response.append(String.format(MESSAGE_STATS_PHASE,
+                phase.name().toLowerCase(Locale.ROOT),
+                CommandStats.toMillis(histogram.getValueAtPercentile(MEDIAN)),
+                CommandStats.toMillis(histogram.getValueAtPercentile(TAIL)),
+                CommandStats.toMillis(histogram.getMaxNanos())));
+    }
+}
@@ -0,0 +1,59 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_NO_HISTORY;
+import static kayu.commands.CommandMessage.MESSAGE_UNDONE;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.service.History;
+import kayu.service.NoteList;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+
+/**
+ * Represents a {@link kayu.commands.Command} that reverts the most recent change to the tasks and notes.
+ */
+public class UndoCommand extends Command {
+
+    /** Keyword for command. */
+    public static final String COMMAND_WORD = "undo";
+
+    /**
+     * Initializes a Undo- {@link kayu.commands.Command}.
+     */
+    public UndoCommand() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     * An Undo- {@link kayu.commands.Command} needs the {@link History}, so cannot be executed without it.
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage)
+            throws KayuException, StorageException {
+
+        throw new KayuException(String.format(ERROR_NO_HISTORY, COMMAND_WORD));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String execute(TaskList taskList,
+                          TaskStorage taskStorage,
+                          NoteList noteList,
+                          NoteStorage noteStorage,
+                          History history)
+            throws KayuException, StorageException {
+
+        history.undo();
+        updateTaskFileStorage(taskList, taskStorage);
+        updateNoteFileStorage(noteList, noteStorage);
+        return String.format(MESSAGE_UNDONE, history.getUndoCount(), history.getRedoCount());
+    }
+}
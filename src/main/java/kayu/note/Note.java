@@ -1,11 +1,15 @@
 package kayu.note;
 
+import java.util.function.Supplier;
+
 /**
  * Represents a note instance for {@link kayu.Kayu}.
  */
 public class Note {
 
-    private final String description;
+    // volatile, so that a description loaded by one thread is seen whole by every other
+    private volatile String description;
+    private Supplier<String> descriptionLoader;
 
     /**
      * Initializes a new Note instance.
@@ -17,12 +21,36 @@ public class Note {
     }
 
     /**
-     * Returns the description of the Note instance.
+     * Initializes a new Note instance whose description is only loaded, through
+     * <code>descriptionLoader</code>, the first time it is needed.
+     *
+     * @param descriptionLoader Supplier of the String description of Note.
+     */
+    public Note(Supplier<String> descriptionLoader) {
+        this.descriptionLoader = descriptionLoader;
+    }
+
+    /**
+     * Returns the description of the Note instance. A description not loaded yet is loaded once,
+     * even when several threads ask for it at the same time.
      *
      * @return Description of the Note as a String.
      */
     public String getDescription() {
-        return description;
+        String loaded = description;
+        if (loaded != null) {
+            return loaded;
+        }
+
+        synchronized (this) {
+            loaded = description;
+            if (loaded == null) {
+                loaded = descriptionLoader.get();
+                description = loaded;
+                descriptionLoader = null; // loaded once, then kept
+            }
+            return loaded;
+        }
     }
 
     /**
@@ -30,6 +58,6 @@ public class Note {
      */
     @Override
     public String toString() {
-        return description;
+        return getDescription();
     }
 }
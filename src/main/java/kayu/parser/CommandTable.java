@@ -0,0 +1,116 @@
+package kayu.parser;
+
+import java.util.function.Function;
+
+import kayu.commands.Command;
+
+/**
+ * Maps command words to the {@link kayu.commands.Command}s they create with a perfect hash table.
+ * The hash seed and table size are searched for once, when the table is built, so that every word
+ * has a slot of its own. Looking up a word in a region of the user input then hashes it in place
+ * and compares it against a single candidate, without creating a substring.
+ */
+final class CommandTable {
+
+    // Assertion format.
+    private static final String ASSERT_FAIL_DUPLICATE_WORD = "Command words should be distinct.";
+
+    private final Entry[] slots;
+    private final int mask;
+    private final int seed;
+
+    /**
+     * Builds a CommandTable holding <code>entries</code>.
+     *
+     * @param entries Command words and the {@link kayu.commands.Command}s they create.
+     */
+    CommandTable(Entry... entries) {
+        int size = Integer.highestOneBit(Math.max(1, entries.length) * 2 - 1) << 1;
+        while (true) {
+            for (int seed = 1; seed < size * size; seed++) {
+                Entry[] slots = place(entries, size, seed);
+                if (slots != null) {
+                    this.slots = slots;
+                    this.mask = size - 1;
+                    this.seed = seed;
+                    return;
+                }
+            }
+            size <<= 1; // no seed separates every word at this size, so spread them further
+        }
+    }
+
+    /**
+     * Returns the entry whose command word is the region of <code>input</code> from <code>fromIdx</code>
+     * to <code>toIdx</code>, exclusive.
+     *
+     * @param input User input holding the command word.
+     * @param fromIdx Index the command word starts at.
+     * @param toIdx Index the command word ends before.
+     * @return The matching entry, or null if the region is not a command word.
+     */
+    Entry lookup(CharSequence input, int fromIdx, int toIdx) {
+        Entry entry = slots[hash(seed, input, fromIdx, toIdx) & mask];
+        if (entry == null || entry.word.length() != toIdx - fromIdx) {
+            return null;
+        }
+        for (int idx = fromIdx; idx < toIdx; idx++) {
+            if (entry.word.charAt(idx - fromIdx) != input.charAt(idx)) {
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    private static Entry[] place(Entry[] entries, int size, int seed) {
+        Entry[] slots = new Entry[size];
+        for (Entry entry: entries) {
+            int slot = hash(seed, entry.word, 0, entry.word.length()) & (size - 1);
+            if (slots[slot] != null) {
+                assert (!slots[slot].word.equals(entry.word)) : ASSERT_FAIL_DUPLICATE_WORD;
+                return null;
+            }
+            slots[slot] = entry;
+        }
+        return slots;
+    }
+
+    private static int hash(int seed, CharSequence input, int fromIdx, int toIdx) {
+        int hash = seed;
+        for (int idx = fromIdx; idx < toIdx; idx++) {
+            hash = (hash ^ input.charAt(idx)) * 0x01000193; // FNV-1a step
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Associates a command word with the {@link kayu.commands.Command} it creates.
+     */
+    static final class Entry {
+
+        private final String word;
+        private final boolean isParamsRequired;
+        private final Function<String, Command> factory;
+
+        /**
+         * Initializes an Entry.
+         *
+         * @param word Command word.
+         * @param isParamsRequired Boolean true if the command cannot be used without parameters, else false.
+         * @param factory Creates the {@link kayu.commands.Command} from its parameters.
+         */
+        Entry(String word, boolean isParamsRequired, Function<String, Command> factory) {
+            this.word = word;
+            this.isParamsRequired = isParamsRequired;
+            this.factory = factory;
+        }
+
+        boolean isParamsRequired() {
+            return isParamsRequired;
+        }
+
+        Command create(String params) {
+            return factory.apply(params);
+        }
+    }
+}
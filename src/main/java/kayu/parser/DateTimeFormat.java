@@ -6,6 +6,7 @@ import java.util.List;
 
 /**
  * Contains DateTime formats for {@link kayu.parser.Parser} and {@link kayu.commands.Command}.
+ * Input is recognized by {@link DateTimeRecognizer}, which accepts exactly what these formats parse.
  */
 public class DateTimeFormat {
 
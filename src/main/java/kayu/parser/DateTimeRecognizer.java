@@ -0,0 +1,171 @@
+package kayu.parser;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+
+/**
+ * Recognizes the dates and times accepted by {@link kayu.commands.Command}s, which are the formats
+ * listed in {@link DateTimeFormat}. Rather than trying each format in turn until one does not throw,
+ * the input is scanned once to find its fields and separators, and the values are checked directly,
+ * resolving them the same way the formats do. Inputs that are not recognized give null.
+ */
+public class DateTimeRecognizer {
+
+    // Date separators, which are the same on both sides of the month.
+    private static final char DASH = '-';
+    private static final char SLASH = '/';
+
+    private static final char YEAR_SIGN = '+';
+    private static final char TIME_SEPARATOR = ':';
+    private static final String AM = "AM";
+    private static final String PM = "PM";
+
+    // Widths of the numeric fields, as the formats allow them.
+    private static final int YEAR_WIDTH = 4;
+    private static final int MAX_NUMBER_WIDTH = 19;
+    private static final int MAX_YEAR_DIGITS = 9;
+    private static final int TWO_DIGITS = 2;
+
+    private static final int NOT_A_NUMBER = -1;
+
+    // Private as this class only holds static methods.
+    private DateTimeRecognizer() {}
+
+    /**
+     * Returns the date in <code>input</code>, given as a year, month and day in either order,
+     * such as <code>2020-10-05</code> or <code>05/10/2020</code>.
+     *
+     * @param input Trimmed date String.
+     * @return Recognized date, or null if <code>input</code> is not a date in an accepted format.
+     */
+    public static LocalDate recognizeDate(String input) {
+        int firstSeparatorIdx = indexOfSeparator(input, 0);
+        if (firstSeparatorIdx < 0) {
+            return null;
+        }
+        char separator = input.charAt(firstSeparatorIdx);
+        int secondSeparatorIdx = input.indexOf(separator, firstSeparatorIdx + 1);
+        if (secondSeparatorIdx < 0 || input.indexOf(separator, secondSeparatorIdx + 1) >= 0
+                || input.indexOf(separator == DASH ? SLASH : DASH) >= 0) {
+            return null;
+        }
+
+        int month = parseMonth(input, firstSeparatorIdx + 1, secondSeparatorIdx);
+        boolean isYearFirst = firstSeparatorIdx != TWO_DIGITS || input.charAt(0) == YEAR_SIGN;
+        int year;
+        int day;
+        if (isYearFirst) {
+            year = parseYear(input, 0, firstSeparatorIdx);
+            day = parseNumber(input, secondSeparatorIdx + 1, input.length(), TWO_DIGITS, TWO_DIGITS);
+        } else {
+            day = parseNumber(input, 0, firstSeparatorIdx, TWO_DIGITS, TWO_DIGITS);
+            year = parseYear(input, secondSeparatorIdx + 1, input.length());
+        }
+        if (year == NOT_A_NUMBER || month == NOT_A_NUMBER || day < 1 || day > 31) {
+            return null;
+        }
+
+        // days past the end of the month resolve to its last day, as the formats do
+        int lastDay = YearMonth.of(year, month).lengthOfMonth();
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /**
+     * Returns the time in <code>input</code>, given in 24 hour form such as <code>13:30</code> or
+     * <code>1330</code>, or in 12 hour form such as <code>01:30 PM</code> or <code>0130 PM</code>.
+     *
+     * @param input Trimmed and upper-cased time String.
+     * @return Recognized time, or null if <code>input</code> is not a time in an accepted format.
+     */
+    public static LocalTime recognizeTime(String input) {
+        int digitsEndIdx = input.indexOf(' ');
+        if (digitsEndIdx < 0) {
+            digitsEndIdx = input.length();
+        }
+
+        int hour;
+        int minute;
+        if (digitsEndIdx == 5 && input.charAt(2) == TIME_SEPARATOR) {
+            hour = parseNumber(input, 0, 2, TWO_DIGITS, TWO_DIGITS);
+            minute = parseNumber(input, 3, 5, TWO_DIGITS, TWO_DIGITS);
+        } else if (digitsEndIdx == 4) {
+            hour = parseNumber(input, 0, 2, TWO_DIGITS, TWO_DIGITS);
+            minute = parseNumber(input, 2, 4, TWO_DIGITS, TWO_DIGITS);
+        } else {
+            return null;
+        }
+        if (hour == NOT_A_NUMBER || minute == NOT_A_NUMBER || minute > 59) {
+            return null;
+        }
+
+        if (digitsEndIdx == input.length()) {
+            return toTwentyFourHourTime(hour, minute);
+        }
+        String period = input.substring(digitsEndIdx + 1);
+        boolean isPm = period.equals(PM);
+        if ((!isPm && !period.equals(AM)) || hour > 12) {
+            return null;
+        }
+        return LocalTime.of(hour % 12 + (isPm ? 12 : 0), minute);
+    }
+
+    // 24:00 is accepted as the midnight starting the day, as the formats do
+    private static LocalTime toTwentyFourHourTime(int hour, int minute) {
+        if (hour == 24 && minute == 0) {
+            return LocalTime.MIDNIGHT;
+        }
+        return (hour < 24) ? LocalTime.of(hour, minute) : null;
+    }
+
+    private static int indexOfSeparator(String input, int fromIdx) {
+        for (int idx = fromIdx; idx < input.length(); idx++) {
+            char character = input.charAt(idx);
+            if (character == DASH || character == SLASH) {
+                return idx;
+            }
+        }
+        return -1;
+    }
+
+    // four digits, or more than four after a plus sign
+    private static int parseYear(String input, int fromIdx, int toIdx) {
+        int year;
+        if (fromIdx < toIdx && input.charAt(fromIdx) == YEAR_SIGN) {
+            year = parseNumber(input, fromIdx + 1, toIdx, YEAR_WIDTH + 1, MAX_NUMBER_WIDTH);
+        } else {
+            year = parseNumber(input, fromIdx, toIdx, YEAR_WIDTH, YEAR_WIDTH);
+        }
+        return (year >= 1) ? year : NOT_A_NUMBER;
+    }
+
+    private static int parseMonth(String input, int fromIdx, int toIdx) {
+        int month = parseNumber(input, fromIdx, toIdx, 1, MAX_NUMBER_WIDTH);
+        return (month >= 1 && month <= 12) ? month : NOT_A_NUMBER;
+    }
+
+    // Parses the ASCII digits from fromIdx to toIdx, allowing leading zeros past the largest year.
+    private static int parseNumber(String input, int fromIdx, int toIdx, int minWidth, int maxWidth) {
+        int width = toIdx - fromIdx;
+        if (width < minWidth || width > maxWidth) {
+            return NOT_A_NUMBER;
+        }
+
+        int value = 0;
+        int significantDigits = 0;
+        for (int idx = fromIdx; idx < toIdx; idx++) {
+            char character = input.charAt(idx);
+            if (character < '0' || character > '9') {
+                return NOT_A_NUMBER;
+            }
+            if (value > 0 || character != '0') {
+                significantDigits++;
+            }
+            if (significantDigits > MAX_YEAR_DIGITS) {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + (character - '0');
+        }
+        return value;
+    }
+}
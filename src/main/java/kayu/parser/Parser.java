@@ -9,18 +9,51 @@ import kayu.commands.DoneCommand;
 import kayu.commands.EmptyCommand;
 import kayu.commands.EventCommand;
 import kayu.commands.FindCommand;
+import kayu.commands.FindNoteCommand;
+import kayu.commands.FindRegexCommand;
 import kayu.commands.HelpCommand;
 import kayu.commands.InvalidCommand;
 import kayu.commands.ListCommand;
 import kayu.commands.ListNotesCommand;
+import kayu.commands.NextCommand;
 import kayu.commands.NoteCommand;
+import kayu.commands.RedoCommand;
+import kayu.commands.RunCommand;
+import kayu.commands.StatsCommand;
 import kayu.commands.TodoCommand;
+import kayu.commands.UndoCommand;
 
 /**
  * Parses user input into {@link kayu.commands.Command} to execute.
+ * The input is scanned once for the bounds of the command word and its parameters, and the command
+ * word is looked up in place in a perfect hash table, so only the parameters are copied out of the input.
  */
 public class Parser {
 
+    private static final boolean PARAMS_REQUIRED = true;
+    private static final boolean PARAMS_OPTIONAL = false;
+
+    private static final CommandTable COMMANDS = new CommandTable(
+            new CommandTable.Entry(ByeCommand.COMMAND_WORD, PARAMS_OPTIONAL, params -> new ByeCommand()),
+            new CommandTable.Entry(ListCommand.COMMAND_WORD, PARAMS_OPTIONAL, ListCommand::new),
+            new CommandTable.Entry(ListNotesCommand.COMMAND_WORD, PARAMS_OPTIONAL, params -> new ListNotesCommand()),
+            new CommandTable.Entry(HelpCommand.COMMAND_WORD, PARAMS_OPTIONAL, params -> new HelpCommand()),
+            new CommandTable.Entry(UndoCommand.COMMAND_WORD, PARAMS_OPTIONAL, params -> new UndoCommand()),
+            new CommandTable.Entry(RedoCommand.COMMAND_WORD, PARAMS_OPTIONAL, params -> new RedoCommand()),
+            new CommandTable.Entry(RunCommand.COMMAND_WORD, PARAMS_REQUIRED, RunCommand::new),
+            new CommandTable.Entry(StatsCommand.COMMAND_WORD, PARAMS_OPTIONAL, params -> new StatsCommand()),
+            new CommandTable.Entry(DoneCommand.COMMAND_WORD, PARAMS_REQUIRED, DoneCommand::new),
+            new CommandTable.Entry(DeleteCommand.COMMAND_WORD, PARAMS_REQUIRED, DeleteCommand::new),
+            new CommandTable.Entry(DeleteNoteCommand.COMMAND_WORD, PARAMS_REQUIRED, DeleteNoteCommand::new),
+            new CommandTable.Entry(FindCommand.COMMAND_WORD, PARAMS_REQUIRED, FindCommand::new),
+            new CommandTable.Entry(FindNoteCommand.COMMAND_WORD, PARAMS_REQUIRED, FindNoteCommand::new),
+            new CommandTable.Entry(FindRegexCommand.COMMAND_WORD, PARAMS_REQUIRED, FindRegexCommand::new),
+            new CommandTable.Entry(NextCommand.COMMAND_WORD, PARAMS_REQUIRED, NextCommand::new),
+            new CommandTable.Entry(NoteCommand.COMMAND_WORD, PARAMS_REQUIRED, NoteCommand::new),
+            new CommandTable.Entry(TodoCommand.COMMAND_WORD, PARAMS_REQUIRED, TodoCommand::new),
+            new CommandTable.Entry(EventCommand.COMMAND_WORD, PARAMS_REQUIRED, EventCommand::new),
+            new CommandTable.Entry(DeadlineCommand.COMMAND_WORD, PARAMS_REQUIRED, DeadlineCommand::new));
+
     /**
      * Parses user input into executable {@link kayu.commands.Command}s.
      *
@@ -28,61 +61,34 @@ public class Parser {
      * @return Associated {@link kayu.commands.Command}.
      */
     public Command parseToCommand(String userInput) {
-        try {
-            String[] inputs = userInput.trim().split(" ", 2);
-            String command = inputs[0];
-            String params;
-
-            switch (command) {
-            case ByeCommand.COMMAND_WORD:
-                return new ByeCommand();
-
-            case ListCommand.COMMAND_WORD:
-                return new ListCommand();
-
-            case ListNotesCommand.COMMAND_WORD:
-                return new ListNotesCommand();
-
-            case HelpCommand.COMMAND_WORD:
-                return new HelpCommand();
-
-            case DoneCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new DoneCommand(params);
-
-            case DeleteCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new DeleteCommand(params);
-
-            case DeleteNoteCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new DeleteNoteCommand(params);
-
-            case FindCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new FindCommand(params);
-
-            case NoteCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new NoteCommand(params);
-
-            case TodoCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new TodoCommand(params);
-
-            case EventCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new EventCommand(params);
+        // bounds of the input without leading and trailing whitespace, as trimmed by String.trim()
+        int startIdx = 0;
+        int endIdx = userInput.length();
+        while (startIdx < endIdx && userInput.charAt(startIdx) <= ' ') {
+            startIdx++;
+        }
+        while (endIdx > startIdx && userInput.charAt(endIdx - 1) <= ' ') {
+            endIdx--;
+        }
+        if (startIdx == endIdx) {
+            return new EmptyCommand();
+        }
 
-            case DeadlineCommand.COMMAND_WORD:
-                params = inputs[1];
-                return new DeadlineCommand(params);
+        // the command word ends at the first space, and its parameters are everything after it
+        int wordEndIdx = startIdx;
+        while (wordEndIdx < endIdx && userInput.charAt(wordEndIdx) != ' ') {
+            wordEndIdx++;
+        }
+        CommandTable.Entry entry = COMMANDS.lookup(userInput, startIdx, wordEndIdx);
+        if (entry == null) {
+            return new InvalidCommand();
+        }
 
-            default:
-                return (userInput.isBlank()) ? new EmptyCommand() : new InvalidCommand();
-            }
-        } catch (ArrayIndexOutOfBoundsException exception) {
+        boolean hasParams = wordEndIdx < endIdx;
+        if (!hasParams && entry.isParamsRequired()) {
             return new InvalidCommand();
         }
+        String params = hasParams ? userInput.substring(wordEndIdx + 1, endIdx) : "";
+        return entry.create(params);
     }
 }
@@ -0,0 +1,185 @@
+package kayu.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import kayu.exception.KayuException;
+
+/**
+ * Compiles regular expressions for {@link kayu.commands.Command}s and keeps the most recently used
+ * {@link Pattern}s, along with the literal text every match must contain, in a bounded cache.
+ */
+public class PatternCache {
+
+    // Error message formats.
+    protected static final String ERROR_INVALID_PATTERN = "'%s' is not a valid pattern.";
+
+    // Characters that end a literal run outside of a character class.
+    private static final String META_CHARACTERS = ".[]{}()*+?^$|\\";
+    private static final String QUANTIFIERS = "*?{";
+
+    private final Map<String, Pattern> patterns;
+
+    /**
+     * Initializes a PatternCache holding at most <code>capacity</code> compiled patterns.
+     *
+     * @param capacity Maximum number of patterns held.
+     */
+    public PatternCache(int capacity) {
+        this.patterns = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled {@link Pattern} for <code>regex</code>, compiling it only if not cached.
+     *
+     * @param regex Regular expression String.
+     * @return Compiled {@link Pattern}.
+     * @throws KayuException If <code>regex</code> is not a valid regular expression.
+     */
+    public synchronized Pattern compile(String regex) throws KayuException {
+        Pattern pattern = patterns.get(regex);
+        if (pattern != null) {
+            return pattern;
+        }
+
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException exception) {
+            throw new KayuException(String.format(ERROR_INVALID_PATTERN, regex));
+        }
+        patterns.put(regex, pattern);
+        return pattern;
+    }
+
+    /**
+     * Returns the longest run of literal text that every match of <code>regex</code> must contain,
+     * or an empty String if none can be safely determined. Alternations, inline flags and groups
+     * are not looked into, and characters made optional by a quantifier are left out.
+     *
+     * @param regex Regular expression String.
+     * @return Required literal String, possibly empty.
+     */
+    public static String extractRequiredLiteral(String regex) {
+        if (regex.contains("|") || regex.contains("(?") || regex.contains("\\Q")) {
+            return ""; // alternatives, flags such as (?x) and quoting can change what is required
+        }
+
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+
+        for (int idx = 0; idx < regex.length(); idx++) {
+            char character = regex.charAt(idx);
+            boolean isEscape = character == '\\' && idx + 1 < regex.length();
+            char next = isEscape ? regex.charAt(idx + 1) : 0;
+
+            if (depth == 0 && isEscape && !Character.isLetterOrDigit(next)) {
+                current.append(next); // escaped punctuation such as \. is literal
+                idx++;
+                continue;
+            }
+            if (depth == 0 && META_CHARACTERS.indexOf(character) < 0) {
+                current.append(character);
+                continue;
+            }
+
+            // the character before a quantifier is optional, or may repeat
+            if (QUANTIFIERS.indexOf(character) >= 0 && current.length() > 0) {
+                current.setLength(current.length() - 1);
+            }
+            if (current.length() > longest.length()) {
+                longest = current.toString();
+            }
+            current.setLength(0);
+
+            if (isEscape) {
+                idx = skipEscape(regex, idx); // escaped classes such as \d, and escapes such as \x41
+            } else if (character == '[') {
+                idx = skipCharacterClass(regex, idx);
+            } else if (character == '(') {
+                depth++;
+            } else if (character == ')' && depth > 0) {
+                depth--;
+            }
+        }
+        return (current.length() > longest.length()) ? current.toString() : longest;
+    }
+
+    // returns the index of the last character of the escape at escapeIdx, including any argument it takes
+    private static int skipEscape(String regex, int escapeIdx) {
+        int idx = escapeIdx + 1;
+        char character = regex.charAt(idx);
+        switch (character) {
+        case 'x':
+            idx = isAt(regex, idx + 1, '{') ? regex.indexOf('}', idx) : idx + 2;
+            break;
+        case 'u':
+            idx += 4;
+            break;
+        case 'c':
+            idx++;
+            break;
+        case '0':
+            int maxDigits = isAt(regex, idx + 1, '0', '3') ? 3 : 2;
+            for (int digits = 0; digits < maxDigits && isAt(regex, idx + 1, '0', '7'); digits++) {
+                idx++;
+            }
+            break;
+        case 'k':
+            idx = isAt(regex, idx + 1, '<') ? regex.indexOf('>', idx) : idx;
+            break;
+        case 'N':
+        case 'p':
+        case 'P':
+            idx = isAt(regex, idx + 1, '{') ? regex.indexOf('}', idx) : idx + 1;
+            break;
+        default:
+            while (Character.isDigit(character) && isAt(regex, idx + 1, '0', '9')) {
+                idx++; // back references such as \12
+            }
+        }
+        return (idx < 0) ? regex.length() : Math.min(idx, regex.length() - 1);
+    }
+
+    private static boolean isAt(String regex, int idx, char expected) {
+        return isAt(regex, idx, expected, expected);
+    }
+
+    private static boolean isAt(String regex, int idx, char low, char high) {
+        return idx < regex.length() && regex.charAt(idx) >= low && regex.charAt(idx) <= high;
+    }
+
+    // returns the index of the ']' closing the character class opened at openIdx
+    private static int skipCharacterClass(String regex, int openIdx) {
+        int idx = openIdx + 1;
+        if (idx < regex.length() && regex.charAt(idx) == '^') {
+            idx++;
+        }
+        if (idx < regex.length() && regex.charAt(idx) == ']') {
+            idx++; // a leading ']' is part of the class
+        }
+
+        int nesting = 0;
+        for (; idx < regex.length(); idx++) {
+            char character = regex.charAt(idx);
+            if (character == '\\' && idx + 1 < regex.length()) {
+                idx = skipEscape(regex, idx);
+            } else if (character == '[') {
+                nesting++;
+            } else if (character == ']') {
+                if (nesting == 0) {
+                    return idx;
+                }
+                nesting--;
+            }
+        }
+        return regex.length();
+    }
+}
@@ -0,0 +1,62 @@
+package kayu.server;
+
+/**
+ * Writes the few JSON values {@link KayuServer} responds with, so that no JSON library is needed.
+ */
+class Json {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Appends <code>value</code> to <code>output</code> as a JSON string, escaping what JSON requires.
+     *
+     * @param output Builder to append to.
+     * @param value String to append.
+     * @return <code>output</code>, to chain calls.
+     */
+    static StringBuilder appendString(StringBuilder output, String value) {
+        output.append('"');
+        for (int idx = 0; idx < value.length(); idx++) {
+            char character = value.charAt(idx);
+            switch (character) {
+            case '"':
+                output.append("\\\"");
+                break;
+            case '\\':
+                output.append("\\\\");
+                break;
+            case '\n':
+                output.append("\\n");
+                break;
+            case '\r':
+                output.append("\\r");
+                break;
+            case '\t':
+                output.append("\\t");
+                break;
+            default:
+                if (character < 0x20) {
+                    output.append("\\u00").append(HEX_DIGITS[character >> 4]).append(HEX_DIGITS[character & 0xF]);
+                } else {
+                    output.append(character);
+                }
+            }
+        }
+        return output.append('"');
+    }
+
+    /**
+     * Appends <code>"name":</code> to <code>output</code>, preceded by a comma unless it opens an object.
+     *
+     * @param output Builder to append to.
+     * @param name Name of the member.
+     * @return <code>output</code>, to chain calls.
+     */
+    static StringBuilder appendName(StringBuilder output, String name) {
+        char last = output.charAt(output.length() - 1);
+        if (last != '{') {
+            output.append(',');
+        }
+        return appendString(output, name).append(':');
+    }
+}
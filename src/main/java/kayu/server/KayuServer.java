@@ -0,0 +1,422 @@
+package kayu.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import kayu.Kayu;
+import kayu.service.CommandStats;
+import kayu.service.LatencyHistogram;
+import kayu.service.Logger;
+import kayu.task.Task;
+
+/**
+ * Serves {@link Kayu} over HTTP on the local machine, answering in JSON, as in
+ * <code>java -jar kayu.jar --server 8080</code>. Endpoints are:
+ * <ul>
+ *     <li><code>POST /commands</code>, executing the command in the body, as typed into the GUI.</li>
+ *     <li><code>GET /tasks?start=1&amp;limit=100</code>, listing a window of the tasks.</li>
+ *     <li><code>GET /stats</code>, giving the latencies recorded in the shared {@link CommandStats}.</li>
+ * </ul>
+ * Connections are accepted and read by the single selector thread of the JDK HTTP server, and requests are
+ * handled by a bounded pool of workers. When the pool and its queue are full, the selector thread handles
+ * requests itself, so it stops accepting more until it catches up. Commands all run on one writer thread,
+ * the only thread that uses {@link Kayu}, in the order received. The writer takes every command waiting at
+ * once, saves them together, then answers each of them, so a response is never sent before its change has
+ * been saved. After each run of commands the writer publishes the current version of the tasks, which is
+ * never changed once published, so any number of workers list tasks at once without locking, and without
+ * waiting on commands. Requests sent on one connection without waiting for responses, or pipelined, are
+ * answered in the order sent.
+ */
+public class KayuServer {
+
+    /** Port served on when none is given. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Path commands are posted to. */
+    public static final String COMMANDS_PATH = "/commands";
+
+    /** Path tasks are listed from. */
+    public static final String TASKS_PATH = "/tasks";
+
+    /** Path latencies are read from. */
+    public static final String STATS_PATH = "/stats";
+
+    // Message and error message formats.
+    protected static final String MESSAGE_LISTENING = "Kayu is listening on http://%s:%d";
+    protected static final String ERROR_NOT_FOUND = "There is nothing at '%s'.";
+    protected static final String ERROR_METHOD_NOT_ALLOWED = "%s is not allowed on '%s'.";
+    protected static final String ERROR_INVALID_PARAMETER = "'%s' is not a valid value for '%s'.";
+    protected static final String ERROR_STOPPING = "The server is stopping.";
+    protected static final String ERROR_UNEXPECTED = "Error: %s";
+
+    private static final String METHOD_GET = "GET";
+    private static final String METHOD_POST = "POST";
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_NOT_FOUND = 404;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_INTERNAL_ERROR = 500;
+    private static final int STATUS_UNAVAILABLE = 503;
+
+    private static final String PARAMETER_START = "start";
+    private static final String PARAMETER_LIMIT = "limit";
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private static final int WORKER_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int WORKER_QUEUE_CAPACITY = 1024;
+    private static final int MAX_PENDING_COMMANDS = 4096;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int CONNECTION_BACKLOG = 1024;
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String WORKER_THREAD_NAME = "kayu-server-worker-";
+    private static final String WRITER_THREAD_NAME = "kayu-server-writer";
+
+    private final Kayu kayu;
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService writer;
+    private final Queue<PendingCommand> pendingCommands = new ConcurrentLinkedQueue<>();
+    private final Semaphore commandPermits = new Semaphore(MAX_PENDING_COMMANDS);
+    private final CommandStats stats = CommandStats.getShared();
+
+    // Written only by the writer, after every run of commands.
+    private volatile List<Task> tasks = List.of();
+
+    /**
+     * Initializes a KayuServer serving <code>kayu</code> on <code>address</code>, with
+     * <code>workerCount</code> workers. It serves nothing until {@link #start()}.
+     *
+     * @param kayu {@link Kayu} instance to run commands on, which should not be used elsewhere.
+     * @param address Address to serve on. Port 0 picks a free port, as given by {@link #getPort()}.
+     * @param workerCount Number of threads handling requests.
+     * @throws IOException If unable to listen on <code>address</code>.
+     */
+    public KayuServer(Kayu kayu, InetSocketAddress address, int workerCount) throws IOException {
+        this.kayu = kayu;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WORKER_QUEUE_CAPACITY), newThreadFactory(WORKER_THREAD_NAME),
+                KayuServer::runInCaller);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, WRITER_THREAD_NAME));
+        // the JDK server writes headers and body apart, which Nagle's algorithm would otherwise hold back
+        // until the client acknowledges the headers, delayed by up to 40 ms, as read once on first use
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, Boolean.TRUE.toString());
+        }
+        this.server = HttpServer.create(address, CONNECTION_BACKLOG);
+        server.setExecutor(workers);
+        server.createContext(COMMANDS_PATH, this::handleCommand);
+        server.createContext(TASKS_PATH, this::handleTasks);
+        server.createContext(STATS_PATH, this::handleStats);
+        server.createContext("/", exchange -> sendError(exchange, STATUS_NOT_FOUND,
+                String.format(ERROR_NOT_FOUND, exchange.getRequestURI().getPath())));
+    }
+
+    /**
+     * Generates a KayuServer serving the data of the user on <code>port</code> of the local machine only.
+     * Responses are not printed, as they are sent to clients instead, but errors still are.
+     *
+     * @param port Port to serve on.
+     * @return KayuServer instance, yet to be started.
+     * @throws IOException If unable to listen on <code>port</code>.
+     */
+    public static KayuServer generate(int port) throws IOException {
+        Logger logger = new Logger(System.out, Logger.Level.ERROR, Logger.NO_TRUNCATION, Logger.OverflowPolicy.DROP);
+        return new KayuServer(new Kayu(logger), new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                WORKER_COUNT);
+    }
+
+    // unlike CallerRunsPolicy, also runs what comes once shut down, so that every command taken is still answered
+    private static void runInCaller(Runnable runnable, ThreadPoolExecutor executor) {
+        runnable.run();
+    }
+
+    private static ThreadFactory newThreadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+    }
+
+    /**
+     * Loads the saved data, then starts serving.
+     */
+    public void start() {
+        kayu.initialize(); // before the writer starts, which then sees what was loaded
+        tasks = kayu.getTasks();
+        server.start();
+        System.out.println(String.format(MESSAGE_LISTENING,
+                server.getAddress().getHostString(), server.getAddress().getPort()));
+    }
+
+    /**
+     * Returns the port served on.
+     *
+     * @return Port number.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops serving. Commands already being run are saved, but not all of them may be answered.
+     */
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        writer.shutdown();
+        workers.shutdown();
+    }
+
+    private void handleCommand(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_POST)) {
+            return;
+        }
+        String userInput;
+        try (InputStream body = exchange.getRequestBody()) {
+            userInput = new String(body.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+        try {
+            commandPermits.acquire(); // holds up the workers, and then the selector, once too many are waiting
+        } catch (InterruptedException exception) {
+            sendError(exchange, STATUS_UNAVAILABLE, ERROR_STOPPING);
+            return;
+        }
+        PendingCommand command = new PendingCommand(exchange, userInput);
+        pendingCommands.add(command);
+        try {
+            writer.execute(this::runPendingCommands);
+        } catch (RejectedExecutionException exception) {
+            // the writer has stopped, though a run still draining the queue may have taken the command to answer
+            if (pendingCommands.remove(command)) {
+                commandPermits.release();
+                sendError(exchange, STATUS_UNAVAILABLE, ERROR_STOPPING);
+            }
+        }
+    }
+
+    // an earlier run may have already taken the command this run was submitted for, leaving nothing to do
+    private void runPendingCommands() {
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand pendingCommand;
+        while (batch.size() < MAX_BATCH_SIZE && (pendingCommand = pendingCommands.poll()) != null) {
+            batch.add(pendingCommand);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int runCount = 0;
+        kayu.deferSaves();
+        while (runCount < batch.size() && !kayu.isRecentCommandBye()) {
+            batch.get(runCount).run();
+            runCount++;
+        }
+        kayu.commitSaves();
+        tasks = kayu.getTasks();
+
+        for (int idx = 0; idx < batch.size(); idx++) {
+            PendingCommand command = batch.get(idx);
+            boolean isRun = idx < runCount;
+            workers.execute(() -> {
+                try {
+                    if (isRun) {
+                        command.respond();
+                    } else {
+                        sendError(command.exchange, STATUS_UNAVAILABLE, ERROR_STOPPING);
+                    }
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                } finally {
+                    commandPermits.release();
+                }
+            });
+        }
+        if (kayu.isRecentCommandBye()) {
+            stop();
+        }
+    }
+
+    private void handleTasks(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_GET)) {
+            return;
+        }
+        Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        int start;
+        int limit;
+        try {
+            start = parsePositive(parameters, PARAMETER_START, 1);
+            limit = Math.min(parsePositive(parameters, PARAMETER_LIMIT, DEFAULT_LIMIT), MAX_LIMIT);
+        } catch (IllegalArgumentException exception) {
+            sendError(exchange, STATUS_BAD_REQUEST, exception.getMessage());
+            return;
+        }
+
+        List<Task> version = tasks; // read once, so the whole window comes from the same version
+        int fromIdx = Math.min(start - 1, version.size());
+        int toIdx = Math.min(fromIdx + limit, version.size());
+        StringBuilder output = new StringBuilder("{");
+        Json.appendName(output, "total").append(version.size());
+        Json.appendName(output, "tasks").append('[');
+        for (int idx = fromIdx; idx < toIdx; idx++) {
+            Task task = version.get(idx);
+            output.append(idx > fromIdx ? ",{" : "{");
+            Json.appendName(output, "number").append(idx + 1);
+            Json.appendName(output, "id").append(task.getId());
+            Json.appendName(output, "type");
+            Json.appendString(output, task.getKeyword());
+            Json.appendName(output, "isDone").append(task.isDone());
+            Json.appendName(output, "description");
+            Json.appendString(output, task.getDescription());
+            Json.appendName(output, "text");
+            Json.appendString(output, task.toString()).append('}');
+        }
+        send(exchange, STATUS_OK, output.append("]}").toString());
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        if (!isMethod(exchange, METHOD_GET)) {
+            return;
+        }
+        StringBuilder output = new StringBuilder("{");
+        Json.appendName(output, "commandCount").append(stats.getCommandCount());
+        Json.appendName(output, "throughput").append(stats.getThroughput());
+        Json.appendName(output, "types").append('[');
+        String[] commandTypes = stats.getCommandTypes();
+        for (int idx = 0; idx < commandTypes.length; idx++) {
+            LatencyHistogram histogram = stats.getHistogram(commandTypes[idx], CommandStats.Phase.TOTAL);
+            output.append(idx > 0 ? ",{" : "{");
+            Json.appendName(output, "type");
+            Json.appendString(output, commandTypes[idx]);
+            Json.appendName(output, "count").append(histogram.getCount());
+            Json.appendName(output, "throughput").append(stats.getThroughput(commandTypes[idx]));
+            Json.appendName(output, "p50Millis").append(CommandStats.toMillis(histogram.getValueAtPercentile(50)));
+            Json.appendName(output, "p99Millis").append(CommandStats.toMillis(histogram.getValueAtPercentile(99)));
+            Json.appendName(output, "maxMillis").append(CommandStats.toMillis(histogram.getMaxNanos()));
+            output.append('}');
+        }
+        send(exchange, STATUS_OK, output.append("]}").toString());
+    }
+
+    private static boolean isMethod(HttpExchange exchange, String method) throws IOException {
+        if (exchange.getRequestMethod().equals(method)) {
+            return true;
+        }
+        String message = String.format(ERROR_METHOD_NOT_ALLOWED,
+                exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+        sendError(exchange, STATUS_METHOD_NOT_ALLOWED, message);
+        return false;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair: rawQuery.split("&")) {
+            int separatorIdx = pair.indexOf('=');
+            if (separatorIdx > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separatorIdx), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separatorIdx + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static int parsePositive(Map<String, String> parameters, String name, int defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException exception) {
+            // reported below, as for numbers out of range
+        }
+        throw new IllegalArgumentException(String.format(ERROR_INVALID_PARAMETER, value, name));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder output = new StringBuilder("{");
+        Json.appendName(output, "error");
+        Json.appendString(output, message).append('}');
+        send(exchange, status, output.toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    /**
+     * Command received, waiting for the writer to run it.
+     */
+    private class PendingCommand {
+
+        private final HttpExchange exchange;
+        private final String userInput;
+        private String response;
+        private boolean isBye = false;
+        private boolean isFailed = false;
+
+        PendingCommand(HttpExchange exchange, String userInput) {
+            this.exchange = exchange;
+            this.userInput = userInput;
+        }
+
+        // runs on the writer
+        void run() {
+            try {
+                response = kayu.executeAndRespond(userInput);
+                isBye = kayu.isRecentCommandBye();
+            } catch (RuntimeException exception) {
+                exception.printStackTrace();
+                response = String.format(ERROR_UNEXPECTED, exception.getMessage());
+                isFailed = true;
+            }
+        }
+
+        // runs on a worker, after the writer has saved the change
+        void respond() throws IOException {
+            if (isFailed) {
+                sendError(exchange, STATUS_INTERNAL_ERROR, response);
+                return;
+            }
+            StringBuilder output = new StringBuilder("{");
+            Json.appendName(output, "response");
+            Json.appendString(output, response);
+            Json.appendName(output, "isBye").append(isBye);
+            send(exchange, STATUS_OK, output.append('}').toString());
+        }
+    }
+}
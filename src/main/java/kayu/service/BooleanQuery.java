@@ -0,0 +1,284 @@
+package kayu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import kayu.exception.KayuException;
+import kayu.task.Task;
+
+/**
+ * Represents a parsed boolean search over {@link kayu.task.Task} descriptions, such as
+ * <code>report AND (q3 OR q4) NOT draft type:D</code>. Adjacent terms are implicitly joined by
+ * <code>AND</code>, words match whole description words, and <code>type:</code> and <code>done:</code>
+ * terms filter on the task type and done state. Queries are evaluated over the {@link PostingList}s
+ * of a {@link PostingIndex}, smallest lists first, so selective queries only touch a few IDs.
+ */
+public class BooleanQuery {
+
+    /** Operator keyword requiring both sides to match. */
+    public static final String AND = "AND";
+
+    /** Operator keyword requiring either side to match. */
+    public static final String OR = "OR";
+
+    /** Operator keyword excluding what follows. */
+    public static final String NOT = "NOT";
+
+    // Error message formats.
+    protected static final String ERROR_UNBALANCED_PARENTHESES = "Query '%s' has unbalanced parentheses.";
+    protected static final String ERROR_MISSING_TERM = "Query '%s' is missing a term next to '%s'.";
+    protected static final String ERROR_UNKNOWN_FIELD = "'%s' is not a searchable field.";
+
+    private static final String OPEN_PARENTHESIS = "(";
+    private static final String CLOSE_PARENTHESIS = ")";
+    private static final List<String> FIELDS = Arrays.asList(PostingIndex.FIELD_TYPE, PostingIndex.FIELD_DONE);
+
+    private final Node root;
+
+    private BooleanQuery(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Checks whether <code>query</code> uses any boolean operator, parenthesis or field term, and
+     * should hence be run as a {@link BooleanQuery} rather than a plain keyword search.
+     *
+     * @param query Query String entered by user.
+     * @return Boolean true if <code>query</code> is a boolean query, else false.
+     */
+    public static boolean isBooleanQuery(String query) {
+        return tokenize(query).stream()
+                .anyMatch(token -> isOperator(token)
+                        || token.equals(OPEN_PARENTHESIS)
+                        || token.equals(CLOSE_PARENTHESIS)
+                        || isFieldTerm(token));
+    }
+
+    /**
+     * Parses <code>query</code> into a BooleanQuery.
+     *
+     * @param query Query String entered by user.
+     * @return The parsed BooleanQuery.
+     * @throws KayuException If <code>query</code> is not well formed.
+     */
+    public static BooleanQuery parse(String query) throws KayuException {
+        QueryParser parser = new QueryParser(query, tokenize(query));
+        return new BooleanQuery(parser.parse());
+    }
+
+    /**
+     * Evaluates the query against <code>index</code>.
+     *
+     * @param index {@link PostingIndex} of <code>tasks</code>.
+     * @param tasks Current {@link kayu.task.Task}s of {@link TaskList}.
+     * @return {@link PostingList} of the IDs of matching tasks.
+     */
+    PostingList evaluate(PostingIndex index, List<Task> tasks) {
+        return root.evaluate(index, tasks);
+    }
+
+    private static List<String> tokenize(String query) {
+        String spaced = query.replace(OPEN_PARENTHESIS, " ( ").replace(CLOSE_PARENTHESIS, " ) ");
+        List<String> tokens = new ArrayList<>();
+        for (String token: spaced.trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isOperator(String token) {
+        return token.equals(AND) || token.equals(OR) || token.equals(NOT);
+    }
+
+    private static boolean isFieldTerm(String token) {
+        int splitIdx = token.indexOf(PostingIndex.FIELD_SEPARATOR);
+        return splitIdx > 0 && FIELDS.contains(token.substring(0, splitIdx).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Parses tokens by recursive descent, with <code>NOT</code> binding tighter than <code>AND</code>,
+     * which binds tighter than <code>OR</code>.
+     */
+    private static class QueryParser {
+        private final String query;
+        private final List<String> tokens;
+        private int cursor = 0;
+
+        private QueryParser(String query, List<String> tokens) {
+            this.query = query;
+            this.tokens = tokens;
+        }
+
+        private Node parse() throws KayuException {
+            Node node = parseOr();
+            if (cursor < tokens.size()) {
+                throw new KayuException(String.format(ERROR_UNBALANCED_PARENTHESES, query));
+            }
+            return node;
+        }
+
+        private Node parseOr() throws KayuException {
+            List<Node> children = new ArrayList<>();
+            children.add(parseAnd());
+            while (cursor < tokens.size() && tokens.get(cursor).equals(OR)) {
+                cursor++;
+                children.add(parseAnd());
+            }
+            return (children.size() == 1) ? children.get(0) : new OrNode(children);
+        }
+
+        private Node parseAnd() throws KayuException {
+            List<Node> children = new ArrayList<>();
+            children.add(parseUnary());
+            while (cursor < tokens.size()
+                    && !tokens.get(cursor).equals(OR)
+                    && !tokens.get(cursor).equals(CLOSE_PARENTHESIS)) {
+                if (tokens.get(cursor).equals(AND)) {
+                    cursor++;
+                }
+                children.add(parseUnary());
+            }
+            return (children.size() == 1) ? children.get(0) : new AndNode(children);
+        }
+
+        private Node parseUnary() throws KayuException {
+            if (cursor >= tokens.size()) {
+                String lastToken = (cursor == 0) ? "" : tokens.get(cursor - 1);
+                throw new KayuException(String.format(ERROR_MISSING_TERM, query, lastToken));
+            }
+
+            String token = tokens.get(cursor++);
+            switch (token) {
+            case NOT:
+                return new NotNode(parseUnary());
+
+            case OPEN_PARENTHESIS:
+                Node node = parseOr();
+                if (cursor >= tokens.size() || !tokens.get(cursor).equals(CLOSE_PARENTHESIS)) {
+                    throw new KayuException(String.format(ERROR_UNBALANCED_PARENTHESES, query));
+                }
+                cursor++;
+                return node;
+
+            case CLOSE_PARENTHESIS:
+                throw new KayuException(String.format(ERROR_UNBALANCED_PARENTHESES, query));
+
+            case AND:
+            case OR:
+                throw new KayuException(String.format(ERROR_MISSING_TERM, query, token));
+
+            default:
+                return parseTerm(token);
+            }
+        }
+
+        private Node parseTerm(String token) throws KayuException {
+            int splitIdx = token.indexOf(PostingIndex.FIELD_SEPARATOR);
+            if (splitIdx > 0) {
+                String field = token.substring(0, splitIdx);
+                if (isFieldTerm(token)) {
+                    return new TermNode(PostingIndex.toFieldTerm(field, token.substring(splitIdx + 1)));
+                }
+                if (field.chars().allMatch(Character::isLetter)) {
+                    throw new KayuException(String.format(ERROR_UNKNOWN_FIELD, field));
+                }
+            }
+
+            // punctuated keywords such as 'q3-report' match tasks with all of their words
+            List<Node> words = new ArrayList<>();
+            for (String word: FuzzyIndex.toWords(token)) {
+                if (!word.isEmpty()) {
+                    words.add(new TermNode(word));
+                }
+            }
+            if (words.isEmpty()) {
+                return new TermNode(token.toLowerCase(Locale.ROOT)); // matches nothing
+            }
+            return (words.size() == 1) ? words.get(0) : new AndNode(words);
+        }
+    }
+
+    private abstract static class Node {
+        abstract PostingList evaluate(PostingIndex index, List<Task> tasks);
+    }
+
+    private static class TermNode extends Node {
+        private final String term;
+
+        private TermNode(String term) {
+            this.term = term;
+        }
+
+        @Override
+        PostingList evaluate(PostingIndex index, List<Task> tasks) {
+            return index.get(term, tasks);
+        }
+    }
+
+    private static class NotNode extends Node {
+        private final Node child;
+
+        private NotNode(Node child) {
+            this.child = child;
+        }
+
+        @Override
+        PostingList evaluate(PostingIndex index, List<Task> tasks) {
+            return index.getAll(tasks).subtract(child.evaluate(index, tasks));
+        }
+    }
+
+    private static class AndNode extends Node {
+        private final List<Node> children;
+
+        private AndNode(List<Node> children) {
+            this.children = children;
+        }
+
+        // intersects the smallest lists first, and only subtracts excluded terms from what is left
+        @Override
+        PostingList evaluate(PostingIndex index, List<Task> tasks) {
+            List<PostingList> included = new ArrayList<>();
+            List<Node> excluded = new ArrayList<>();
+            for (Node child: children) {
+                if (child instanceof NotNode) {
+                    excluded.add(((NotNode) child).child);
+                } else {
+                    included.add(child.evaluate(index, tasks));
+                }
+            }
+            included.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList result = included.isEmpty() ? index.getAll(tasks) : included.get(0);
+            for (int idx = 1; idx < included.size() && result.size() > 0; idx++) {
+                result = result.intersect(included.get(idx));
+            }
+            for (int idx = 0; idx < excluded.size() && result.size() > 0; idx++) {
+                result = result.subtract(excluded.get(idx).evaluate(index, tasks));
+            }
+            return result;
+        }
+    }
+
+    private static class OrNode extends Node {
+        private final List<Node> children;
+
+        private OrNode(List<Node> children) {
+            this.children = children;
+        }
+
+        @Override
+        PostingList evaluate(PostingIndex index, List<Task> tasks) {
+            PostingList result = PostingList.empty();
+            for (Node child: children) {
+                result = result.union(child.evaluate(index, tasks));
+            }
+            return result;
+        }
+    }
+}
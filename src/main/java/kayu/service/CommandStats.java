@@ -0,0 +1,199 @@
+package kayu.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Times every command executed, keeping a {@link LatencyHistogram} of each {@link Phase} for each type of command.
+ * Timing never waits on a lock, so reading the latencies, such as over JMX as a {@link CommandStatsMBean},
+ * never holds up the commands being timed.
+ */
+public class CommandStats implements CommandStatsMBean {
+
+    /** Name the latencies are registered under with the platform MBean server. */
+    public static final String OBJECT_NAME = "kayu:type=CommandStats";
+
+    /** Type of command that saves deferred while running other commands are timed under. */
+    public static final String DEFERRED_SAVE_TYPE = "DeferredSave";
+
+    private static final CommandStats SHARED = new CommandStats();
+
+    /**
+     * Part of running a command that is timed.
+     */
+    public enum Phase {
+        /** Parsing user input into a command. */
+        PARSE,
+        /** Executing the command, apart from saving to file. */
+        EXECUTE,
+        /** Saving the changes made to file. */
+        PERSIST,
+        /** Showing the response. */
+        RENDER,
+        /** Every phase, from user input to response. */
+        TOTAL
+    }
+
+    private final Map<String, LatencyHistogram[]> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong commandCount = new AtomicLong();
+    private volatile long startNanos = System.nanoTime();
+    private boolean isRegistered = false;
+
+    /**
+     * Initializes CommandStats with nothing timed yet.
+     */
+    public CommandStats() {
+    }
+
+    /**
+     * Returns the CommandStats shared by the whole program.
+     *
+     * @return Shared CommandStats.
+     */
+    public static CommandStats getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Registers these latencies with the platform MBean server under {@link #OBJECT_NAME}, unless already done.
+     * Failing to register only means the latencies cannot be read over JMX, so it is not reported as an error.
+     */
+    public synchronized void registerMBean() {
+        if (isRegistered) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+            isRegistered = true;
+
+        } catch (JMException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Records the latency of each {@link Phase} of a command of <code>commandType</code>.
+     *
+     * @param commandType Name of command type, such as <code>Todo</code>.
+     * @param parseNanos Nanoseconds taken to parse.
+     * @param executeNanos Nanoseconds taken to execute, apart from saving.
+     * @param persistNanos Nanoseconds taken to save.
+     * @param renderNanos Nanoseconds taken to show the response.
+     */
+    public void record(String commandType, long parseNanos, long executeNanos, long persistNanos, long renderNanos) {
+        LatencyHistogram[] phaseHistograms = histograms.computeIfAbsent(commandType, type -> createHistograms());
+        phaseHistograms[Phase.PARSE.ordinal()].record(parseNanos);
+        phaseHistograms[Phase.EXECUTE.ordinal()].record(executeNanos);
+        phaseHistograms[Phase.PERSIST.ordinal()].record(persistNanos);
+        phaseHistograms[Phase.RENDER.ordinal()].record(renderNanos);
+        phaseHistograms[Phase.TOTAL.ordinal()].record(parseNanos + executeNanos + persistNanos + renderNanos);
+        commandCount.incrementAndGet();
+    }
+
+    private static LatencyHistogram[] createHistograms() {
+        LatencyHistogram[] phaseHistograms = new LatencyHistogram[Phase.values().length];
+        for (int idx = 0; idx < phaseHistograms.length; idx++) {
+            phaseHistograms[idx] = new LatencyHistogram();
+        }
+        return phaseHistograms;
+    }
+
+    /**
+     * Returns the latencies of <code>phase</code> of commands of <code>commandType</code>.
+     *
+     * @param commandType Name of command type, from {@link #getCommandTypes()}.
+     * @param phase {@link Phase} timed.
+     * @return {@link LatencyHistogram} of the phase, which is empty if no such commands were timed.
+     */
+    public LatencyHistogram getHistogram(String commandType, Phase phase) {
+        LatencyHistogram[] phaseHistograms = histograms.get(commandType);
+        return (phaseHistograms == null) ? new LatencyHistogram() : phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of commands of <code>commandType</code> timed per second, since timing began.
+     *
+     * @param commandType Name of command type, from {@link #getCommandTypes()}.
+     * @return Commands per second.
+     */
+    public double getThroughput(String commandType) {
+        return toThroughput(getHistogram(commandType, Phase.TOTAL).getCount());
+    }
+
+    private double toThroughput(long count) {
+        double elapsedSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        return (elapsedSeconds > 0) ? count / elapsedSeconds : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getThroughput() {
+        return toThroughput(commandCount.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getCommandTypes() {
+        return histograms.keySet().stream()
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPercentileMillis(String commandType, String phase, double percentile) {
+        return toMillis(getHistogram(commandType, Phase.valueOf(phase)).getValueAtPercentile(percentile));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMaxMillis(String commandType, String phase) {
+        return toMillis(getHistogram(commandType, Phase.valueOf(phase)).getMaxNanos());
+    }
+
+    /**
+     * Converts <code>nanos</code> nanoseconds to milliseconds.
+     *
+     * @param nanos Nanoseconds.
+     * @return Milliseconds, with a fraction.
+     */
+    public static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        histograms.clear();
+        commandCount.set(0);
+        startNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,54 @@
+package kayu.service;
+
+/**
+ * Management interface of {@link CommandStats}, through which its latencies can be read over JMX,
+ * such as from JConsole, under the name {@link CommandStats#OBJECT_NAME}.
+ * Latencies are given in milliseconds.
+ */
+public interface CommandStatsMBean {
+
+    /**
+     * Returns the number of commands timed.
+     *
+     * @return Number of commands timed.
+     */
+    long getCommandCount();
+
+    /**
+     * Returns the number of commands timed per second, since timing began.
+     *
+     * @return Commands per second.
+     */
+    double getThroughput();
+
+    /**
+     * Returns the types of command timed so far, in alphabetical order.
+     *
+     * @return Names of command types, such as <code>Todo</code>.
+     */
+    String[] getCommandTypes();
+
+    /**
+     * Returns the latency of a phase that <code>percentile</code> percent of commands of a type took at most.
+     *
+     * @param commandType Name of command type, from {@link #getCommandTypes()}.
+     * @param phase Name of {@link CommandStats.Phase}, such as <code>EXECUTE</code>, or <code>TOTAL</code>.
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency in milliseconds, or 0 if no such commands were timed.
+     */
+    double getPercentileMillis(String commandType, String phase, double percentile);
+
+    /**
+     * Returns the longest latency of a phase of commands of a type.
+     *
+     * @param commandType Name of command type, from {@link #getCommandTypes()}.
+     * @param phase Name of {@link CommandStats.Phase}, such as <code>EXECUTE</code>, or <code>TOTAL</code>.
+     * @return Latency in milliseconds, or 0 if no such commands were timed.
+     */
+    double getMaxMillis(String commandType, String phase);
+
+    /**
+     * Forgets every latency timed so far, and starts measuring throughput afresh.
+     */
+    void reset();
+}
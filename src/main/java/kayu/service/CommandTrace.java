@@ -0,0 +1,160 @@
+package kayu.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Breaks down the time taken by one command into its {@link Stage}s, along with how much data it worked on,
+ * so that a slow command can be understood from its {@link SlowCommandLog} entry alone.
+ */
+public class CommandTrace {
+
+    // Entry formats.
+    private static final String ENTRY_HEADER = "%s %s %.3fms";
+    private static final String ENTRY_STAGE = " %s=%.3fms";
+    private static final String ENTRY_COUNTS = " tasks=%d notes=%d bytes=%d input=\"%s\"";
+    private static final String ENTRY_INPUT_CUT = "...";
+
+    private static final int MAX_INPUT_LENGTH = 200;
+
+    /**
+     * Stage of running a command, in the order they happen.
+     */
+    public enum Stage {
+        /** {@link kayu.parser.Parser#parseToCommand(String)}. */
+        PARSE,
+        /** {@link kayu.commands.Command} execution, apart from saving to file. */
+        EXECUTE,
+        /** Encoding items into lines to save, including writing new note contents. */
+        ENCODE,
+        /** Writing the encoded lines to file. */
+        WRITE,
+        /** Showing the response. */
+        RENDER
+    }
+
+    private final long endMillis;
+    private final String commandType;
+    private final String userInput;
+    private final long[] stageNanos = new long[Stage.values().length];
+    private int taskCount = 0;
+    private int noteCount = 0;
+    private long bytesWritten = 0;
+
+    /**
+     * Initializes a CommandTrace of a command that finished just now, with every stage taking no time.
+     *
+     * @param commandType Name of command type, such as <code>Todo</code>.
+     * @param userInput User input the command was parsed from.
+     */
+    public CommandTrace(String commandType, String userInput) {
+        this.endMillis = System.currentTimeMillis();
+        this.commandType = commandType;
+        this.userInput = userInput;
+    }
+
+    /**
+     * Returns the name of the type of command traced.
+     *
+     * @return Name of command type, such as <code>Todo</code>.
+     */
+    public String getCommandType() {
+        return commandType;
+    }
+
+    /**
+     * Sets the time taken by <code>stage</code>.
+     *
+     * @param stage {@link Stage} timed.
+     * @param nanos Nanoseconds taken.
+     */
+    public void setStageNanos(Stage stage, long nanos) {
+        stageNanos[stage.ordinal()] = nanos;
+    }
+
+    /**
+     * Returns the time taken by <code>stage</code>.
+     *
+     * @param stage {@link Stage} timed.
+     * @return Nanoseconds taken.
+     */
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * Returns the time taken by every stage together.
+     *
+     * @return Nanoseconds taken.
+     */
+    public long getTotalNanos() {
+        long totalNanos = 0;
+        for (long nanos: stageNanos) {
+            totalNanos += nanos;
+        }
+        return totalNanos;
+    }
+
+    /**
+     * Sets how much data the command worked on.
+     *
+     * @param taskCount Number of tasks held after the command.
+     * @param noteCount Number of notes held after the command.
+     * @param bytesWritten Number of bytes the command wrote to file.
+     */
+    public void setCounts(int taskCount, int noteCount, long bytesWritten) {
+        this.taskCount = taskCount;
+        this.noteCount = noteCount;
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * Returns the number of tasks held after the command.
+     *
+     * @return Number of tasks.
+     */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Returns the number of notes held after the command.
+     *
+     * @return Number of notes.
+     */
+    public int getNoteCount() {
+        return noteCount;
+    }
+
+    /**
+     * Returns the number of bytes the command wrote to file.
+     *
+     * @return Number of bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Formats this trace as a single line, starting with when the command finished, such as
+     * <code>2021-09-01T10:15:30.123 Todo 1.234ms parse=0.010ms ... tasks=3 notes=0 bytes=96 input="todo x"</code>.
+     *
+     * @return Formatted line, without a line separator.
+     */
+    public String toLogEntry() {
+        LocalDateTime endTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(endMillis), ZoneId.systemDefault());
+        StringBuilder entry = new StringBuilder(String.format(ENTRY_HEADER,
+                endTime, commandType, CommandStats.toMillis(getTotalNanos())));
+        for (Stage stage: Stage.values()) {
+            entry.append(String.format(ENTRY_STAGE,
+                    stage.name().toLowerCase(Locale.ROOT), CommandStats.toMillis(getStageNanos(stage))));
+        }
+        String input = (userInput.length() > MAX_INPUT_LENGTH)
+                ? userInput.substring(0, MAX_INPUT_LENGTH) + ENTRY_INPUT_CUT
+                : userInput;
+        entry.append(String.format(ENTRY_COUNTS, taskCount, noteCount, bytesWritten, input));
+        return entry.toString();
+    }
+}
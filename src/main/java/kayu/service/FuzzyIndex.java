@@ -0,0 +1,182 @@
+package kayu.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import kayu.task.Task;
+
+/**
+ * Indexes the words in {@link kayu.task.Task} descriptions held by {@link TaskList} for typo-tolerant
+ * lookups. The vocabulary is kept in a BK-tree, so a lookup only computes the edit distance against
+ * the few words that can still be within range, and each word maps to the tasks that contain it.
+ */
+class FuzzyIndex {
+
+    private static final String WORD_SPLIT_REGEX = "[^\\p{L}\\p{N}]+";
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private Node root;
+
+    /**
+     * Splits <code>description</code> into the lower-cased words that are indexed.
+     *
+     * @param description Description to split.
+     * @return Array of words, possibly with blank entries.
+     */
+    static String[] toWords(String description) {
+        return description.toLowerCase(Locale.ROOT).split(WORD_SPLIT_REGEX);
+    }
+
+    /**
+     * Removes every {@link kayu.task.Task} and word from the index.
+     */
+    void clear() {
+        postings.clear();
+        root = null;
+    }
+
+    /**
+     * Rebuilds the index from <code>tasks</code>, dropping words that are no longer used.
+     *
+     * @param tasks {@link kayu.task.Task}s to index.
+     */
+    void rebuild(List<Task> tasks) {
+        clear();
+        for (Task task: tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds the words in the description of <code>task</code> to the index.
+     *
+     * @param task {@link kayu.task.Task} to index.
+     */
+    void add(Task task) {
+        for (String word: toWords(task.getDescription())) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            Set<Task> postedTasks = postings.get(word);
+            if (postedTasks == null) {
+                postedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+                postings.put(word, postedTasks);
+                insertWord(word);
+            }
+            postedTasks.add(task);
+        }
+    }
+
+    /**
+     * Removes <code>task</code> from the index. Words left without any task stay in the BK-tree
+     * until the next {@link #rebuild(List)} but are skipped by lookups.
+     *
+     * @param task {@link kayu.task.Task} to remove.
+     */
+    void remove(Task task) {
+        for (String word: toWords(task.getDescription())) {
+            Set<Task> postedTasks = postings.get(word);
+            if (postedTasks != null) {
+                postedTasks.remove(task);
+                if (postedTasks.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns every {@link kayu.task.Task} containing a word within <code>maxDistance</code> edits
+     * of <code>query</code>.
+     *
+     * @param query Lower-cased word to look up.
+     * @param maxDistance Maximum edit distance allowed.
+     * @return Set of matching {@link kayu.task.Task}s, compared by identity.
+     */
+    Set<Task> findTasks(String query, int maxDistance) {
+        Set<Task> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (root == null) {
+            return matches;
+        }
+
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = computeEditDistance(query, node.word);
+            if (distance <= maxDistance && postings.containsKey(node.word)) {
+                matches.addAll(postings.get(node.word));
+            }
+
+            // by the triangle inequality, only children in this band can be in range
+            int low = distance - maxDistance;
+            int high = distance + maxDistance;
+            for (Map.Entry<Integer, Node> child: node.children.entrySet()) {
+                if (child.getKey() >= low && child.getKey() <= high) {
+                    pending.add(child.getValue());
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void insertWord(String word) {
+        if (root == null) {
+            root = new Node(word);
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = computeEditDistance(word, node.word);
+            if (distance == 0) {
+                return; // word is already in the tree from an earlier task
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    // Levenshtein distance over two rolling rows.
+    private static int computeEditDistance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int col = 0; col <= second.length(); col++) {
+            previous[col] = col;
+        }
+
+        for (int row = 1; row <= first.length(); row++) {
+            current[0] = row;
+            char firstChar = first.charAt(row - 1);
+            for (int col = 1; col <= second.length(); col++) {
+                int substitution = previous[col - 1] + ((firstChar == second.charAt(col - 1)) ? 0 : 1);
+                int deletion = previous[col] + 1;
+                int insertion = current[col - 1] + 1;
+                current[col] = Math.min(substitution, Math.min(deletion, insertion));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+}
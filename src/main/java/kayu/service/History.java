@@ -0,0 +1,183 @@
+package kayu.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import kayu.exception.KayuException;
+import kayu.note.Note;
+import kayu.task.Task;
+
+/**
+ * Keeps earlier versions of the {@link TaskList} and {@link NoteList} so that changes can be undone and redone.
+ * Both lists are backed by {@link PersistentList}s, so a version is only a pair of references to structure
+ * the lists already share, and moving between versions is a pointer swap. At most <code>depth</code>
+ * versions are kept to undo to, with the oldest dropped first.
+ */
+public class History {
+
+    /** System property setting the number of changes that can be undone, as in <code>-Dkayu.historyDepth=500</code>. */
+    public static final String DEPTH_PROPERTY = "kayu.historyDepth";
+
+    /** Number of changes that can be undone when {@link #DEPTH_PROPERTY} is not set. */
+    public static final int DEFAULT_DEPTH = 100;
+
+    // Error messages.
+    protected static final String ERROR_NOTHING_TO_UNDO = "There are no changes to undo.";
+    protected static final String ERROR_NOTHING_TO_REDO = "There are no undone changes to redo.";
+
+    // Assertion format.
+    protected static final String ASSERT_FAIL_DEPTH = "History depth should be positive.";
+
+    private final TaskList taskList;
+    private final NoteList noteList;
+    private final int depth;
+
+    private final Deque<Version> undoVersions = new ArrayDeque<>();
+    private final Deque<Version> redoVersions = new ArrayDeque<>();
+    private Version currentVersion;
+
+    /**
+     * Initializes the History of <code>taskList</code> and <code>noteList</code>, starting from their
+     * current versions.
+     *
+     * @param taskList {@link TaskList} to keep versions of.
+     * @param noteList {@link NoteList} to keep versions of.
+     * @param depth Maximum number of changes that can be undone.
+     */
+    public History(TaskList taskList, NoteList noteList, int depth) {
+        assert (depth > 0) : ASSERT_FAIL_DEPTH;
+        this.taskList = taskList;
+        this.noteList = noteList;
+        this.depth = depth;
+        this.currentVersion = captureVersion();
+    }
+
+    /**
+     * Generates the History of <code>taskList</code> and <code>noteList</code>, keeping as many changes as
+     * set by {@link #DEPTH_PROPERTY}, or {@link #DEFAULT_DEPTH} if it is not set or not a positive number.
+     * Earlier versions share most of their structure, so memory grows with the changes kept, not their number
+     * times the size of the lists.
+     *
+     * @param taskList {@link TaskList} to keep versions of.
+     * @param noteList {@link NoteList} to keep versions of.
+     * @return Generated History.
+     */
+    public static History generate(TaskList taskList, NoteList noteList) {
+        int depth;
+        try {
+            depth = Integer.parseInt(System.getProperty(DEPTH_PROPERTY, "").trim());
+        } catch (NumberFormatException exception) {
+            depth = DEFAULT_DEPTH;
+        }
+        return new History(taskList, noteList, (depth > 0) ? depth : DEFAULT_DEPTH);
+    }
+
+    /**
+     * Forgets every earlier version, starting afresh from the current versions of the lists.
+     */
+    public void reset() {
+        undoVersions.clear();
+        redoVersions.clear();
+        currentVersion = captureVersion();
+    }
+
+    /**
+     * Records the current versions of the lists as a change that can be undone, if they have
+     * changed since they were last recorded. Recording a change forgets the changes that can be redone.
+     *
+     * @return Boolean true if a change was recorded, else false.
+     */
+    public boolean record() {
+        Version version = captureVersion();
+        if (version.isSameAs(currentVersion)) {
+            return false;
+        }
+
+        undoVersions.push(currentVersion);
+        if (undoVersions.size() > depth) {
+            undoVersions.removeLast();
+        }
+        redoVersions.clear();
+        currentVersion = version;
+        return true;
+    }
+
+    /**
+     * Restores the lists to the versions before the most recent change.
+     *
+     * @throws KayuException If there are no changes to undo.
+     */
+    public void undo() throws KayuException {
+        if (undoVersions.isEmpty()) {
+            throw new KayuException(ERROR_NOTHING_TO_UNDO);
+        }
+        redoVersions.push(currentVersion);
+        restore(undoVersions.pop());
+    }
+
+    /**
+     * Restores the lists to the versions before the most recent undo.
+     *
+     * @throws KayuException If there are no undone changes to redo.
+     */
+    public void redo() throws KayuException {
+        if (redoVersions.isEmpty()) {
+            throw new KayuException(ERROR_NOTHING_TO_REDO);
+        }
+        undoVersions.push(currentVersion);
+        restore(redoVersions.pop());
+    }
+
+    /**
+     * Restores the lists to their versions as last recorded, discarding any changes made since.
+     * Unlike {@link #undo()}, the discarded changes cannot be redone.
+     */
+    public void revert() {
+        restore(currentVersion);
+    }
+
+    /**
+     * Returns the number of changes that can currently be undone.
+     *
+     * @return Number of changes that can be undone.
+     */
+    public int getUndoCount() {
+        return undoVersions.size();
+    }
+
+    /**
+     * Returns the number of undone changes that can currently be redone.
+     *
+     * @return Number of changes that can be redone.
+     */
+    public int getRedoCount() {
+        return redoVersions.size();
+    }
+
+    private Version captureVersion() {
+        return new Version(taskList.getVersion(), noteList.getVersion());
+    }
+
+    private void restore(Version version) {
+        taskList.restoreVersion(version.tasks);
+        noteList.restoreVersion(version.notes);
+        currentVersion = version;
+    }
+
+    private static final class Version {
+
+        private final List<Task> tasks;
+        private final List<Note> notes;
+
+        private Version(List<Task> tasks, List<Note> notes) {
+            this.tasks = tasks;
+            this.notes = notes;
+        }
+
+        // versions are immutable, so an unchanged list is still the very same instance
+        private boolean isSameAs(Version other) {
+            return tasks == other.tasks && notes == other.notes;
+        }
+    }
+}
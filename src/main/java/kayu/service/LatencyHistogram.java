@@ -0,0 +1,95 @@
+package kayu.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts recorded latencies in buckets of bounded relative width, in the manner of HdrHistogram, without locks.
+ * Latencies below 64 nanoseconds each have a bucket of their own, and every doubling above that is split into
+ * 32 buckets of equal width, so any percentile read back is within about 3% of the latency actually recorded.
+ * Recording only increments counters, so it costs the same however many latencies have been recorded, and
+ * any number of threads can record at once.
+ */
+public class LatencyHistogram {
+
+    /** Largest latency told apart, of about 18 minutes. Longer latencies are counted as this. */
+    public static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    // Assertion format.
+    private static final String ASSERT_FAIL_PERCENTILE = "Percentile should be between 0 and 100.";
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Counts one latency of <code>nanos</code> nanoseconds.
+     *
+     * @param nanos Latency in nanoseconds. Negative latencies are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return Number of latencies recorded.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the longest latency recorded, exactly.
+     *
+     * @return Longest latency in nanoseconds, or 0 if none are recorded.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the latency that <code>percentile</code> percent of the recorded latencies are at most,
+     * rounded up to the end of its bucket, but never past {@link #getMaxNanos()}.
+     *
+     * @param percentile Percentile between 0 and 100, such as 99 for the 99th percentile.
+     * @return Latency in nanoseconds, or 0 if none are recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        assert (percentile >= 0 && percentile <= 100) : ASSERT_FAIL_PERCENTILE;
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seenCount = 0;
+        for (int idx = 0; idx < BUCKET_COUNT; idx++) {
+            seenCount += counts.get(idx);
+            if (seenCount >= targetCount) {
+                return Math.min(highestValueAt(idx), getMaxNanos());
+            }
+        }
+        return getMaxNanos(); // latencies counted while reading are not all in the buckets yet
+    }
+
+    // the shift keeps the highest SUB_BUCKET_BITS + 1 bits of the value, which the index is made of
+    static int indexOf(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value | 1);
+        int shift = Math.max(0, magnitude - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestValueAt(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -1,10 +1,32 @@
 package kayu.service;
 
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Communicates to the user on the command line through {@link kayu.Kayu}.
+ * Messages are queued in a {@link RingBuffer} and printed by a background thread, so printing never
+ * holds up the command that produced the message. Messages below the minimum {@link Level} are ignored,
+ * long messages are cut short, and what happens when the queue is full follows the {@link OverflowPolicy}.
  */
 public class Logger {
 
+    /** Maximum message length of {@link #Logger()}, so that huge responses are not echoed in full. */
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = 2_000;
+
+    /** Maximum message length that never cuts a message short. */
+    public static final int NO_TRUNCATION = Integer.MAX_VALUE;
+
+    /** Default number of messages that can be queued. */
+    public static final int DEFAULT_CAPACITY = 1_024;
+
+    // Message formats.
+    protected static final String MESSAGE_ERROR = "Error: ";
+    protected static final String MESSAGE_TRUNCATED = "... (%d more characters)";
+    protected static final String MESSAGE_DROPPED = "(%d message(s) dropped)";
+
     private static final String LOGO = "\n"
             + " /$$   /$$  /$$$$$$  /$$     /$$ /$$   /$$\n"
             + "| $$  /$$/ /$$__  $$|  $$   /$$/| $$  | $$\n"
@@ -18,6 +40,66 @@ public class Logger {
     private static final String LINE_SPLIT = "____________________________________"
             + "_______________________________________";
 
+    private static final String THREAD_NAME = "kayu-logger";
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Importance of a message, in increasing order.
+     */
+    public enum Level {
+        INFO, ERROR, OFF
+    }
+
+    /**
+     * What to do with a message when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Drops the message, noting how many were dropped in the output. */
+        DROP,
+        /** Waits for room in the queue, so every message is printed. */
+        BLOCK
+    }
+
+    private final PrintStream output;
+    private final Level minLevel;
+    private final int maxMessageLength;
+    private final OverflowPolicy overflowPolicy;
+
+    private final RingBuffer<Entry> entries;
+    private final Thread drainer;
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile long printedCount = 0;
+    private volatile boolean isDrainerIdle = false;
+
+    /**
+     * Initializes a Logger echoing messages to the standard output, cutting long ones short at
+     * {@link #DEFAULT_MAX_MESSAGE_LENGTH} and dropping messages when the queue is full.
+     */
+    public Logger() {
+        this(System.out, Level.INFO, DEFAULT_MAX_MESSAGE_LENGTH, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Initializes a Logger printing to <code>output</code>. Output that is not flushed on every line,
+     * such as a buffered stream, is only shown once {@link #flush()} is called.
+     *
+     * @param output Stream to print to.
+     * @param minLevel Least important {@link Level} of messages printed.
+     * @param maxMessageLength Number of characters of a message printed, or {@link #NO_TRUNCATION}.
+     * @param overflowPolicy {@link OverflowPolicy} for messages logged while the queue is full.
+     */
+    public Logger(PrintStream output, Level minLevel, int maxMessageLength, OverflowPolicy overflowPolicy) {
+        this.output = output;
+        this.minLevel = minLevel;
+        this.maxMessageLength = maxMessageLength;
+        this.overflowPolicy = overflowPolicy;
+        this.entries = new RingBuffer<>(DEFAULT_CAPACITY);
+        this.drainer = new Thread(this::drain, THREAD_NAME);
+        drainer.setDaemon(true); // flush() is what keeps messages from being lost on exit
+        drainer.start();
+    }
+
     /**
      * Prints logo.
      */
@@ -31,16 +113,16 @@ public class Logger {
      * @param message Message to display within {@link #LINE_SPLIT}.
      */
     public void printMessage(String message) {
-        print(message + '\n' + LINE_SPLIT);
+        log(Level.INFO, null, message, LINE_SPLIT);
     }
 
     /**
-     * Uses the default system's println method to output the message string.
+     * Queues the message string to be printed as it is.
      *
      * @param string String to print in standard format.
      */
     public void print(String string) {
-        System.out.println(string);
+        log(Level.INFO, null, string, null);
     }
 
     /**
@@ -49,6 +131,96 @@ public class Logger {
      * @param errorMessage Error message to display.
      */
     public void printError(String errorMessage) {
-        printMessage("Error: " + errorMessage);
+        log(Level.ERROR, MESSAGE_ERROR, errorMessage, LINE_SPLIT);
+    }
+
+    /**
+     * Waits until every message queued so far has been printed, then shows them, writing out any
+     * of them still held in a buffer.
+     */
+    public void flush() {
+        long targetCount = queuedCount.get();
+        while (printedCount < targetCount) {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        output.flush();
+    }
+
+    // the message is only cut short here, and joined with its prefix and suffix as it is printed
+    private void log(Level level, String prefix, String message, String suffix) {
+        if (level.compareTo(minLevel) < 0) {
+            return;
+        }
+        Entry entry = new Entry(prefix, truncate(message), suffix);
+        while (!entries.offer(entry)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        queuedCount.incrementAndGet();
+        if (isDrainerIdle) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    private String truncate(String message) {
+        if (message.length() <= maxMessageLength) {
+            return message;
+        }
+        int cutCount = message.length() - maxMessageLength;
+        return message.substring(0, maxMessageLength) + String.format(MESSAGE_TRUNCATED, cutCount);
+    }
+
+    // runs on the drainer thread, which parks whenever the queue is empty until a message is queued
+    private void drain() {
+        long reportedDropCount = 0;
+        while (true) {
+            Entry entry = entries.poll();
+            if (entry == null) {
+                isDrainerIdle = true;
+                entry = entries.poll(); // checks again, as a message may have been queued before the flag was set
+                if (entry == null) {
+                    LockSupport.park(this);
+                    isDrainerIdle = false;
+                    continue;
+                }
+                isDrainerIdle = false;
+            }
+
+            long dropCount = droppedCount.get();
+            if (dropCount > reportedDropCount) {
+                output.println(String.format(MESSAGE_DROPPED, dropCount - reportedDropCount));
+                reportedDropCount = dropCount;
+            }
+            entry.printTo(output);
+            printedCount++;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String prefix;
+        private final String message;
+        private final String suffix;
+
+        private Entry(String prefix, String message, String suffix) {
+            this.prefix = prefix;
+            this.message = message;
+            this.suffix = suffix;
+        }
+
+        private void printTo(PrintStream output) {
+            if (prefix != null) {
+                output.print(prefix);
+            }
+            output.println(message);
+            if (suffix != null) {
+                output.println(suffix);
+            }
+        }
     }
 }
@@ -1,7 +1,14 @@
 package kayu.service;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 import kayu.exception.KayuException;
 import kayu.note.Note;
@@ -18,17 +25,43 @@ public class NoteList {
     // Assertion format.
     protected static final String ASSERT_FAIL_DESC_EMPTY = "Note cannot be empty";
 
-    private final List<Note> notes = new ArrayList<>();
+    private PersistentList<Note> notes = PersistentList.empty();
+    private final NoteSearchIndex searchIndex = new NoteSearchIndex();
+
+    // loaded notes are only indexed on the first ranked search, so their descriptions are not read at startup
+    private boolean isSearchIndexStale = false;
 
     /**
      * Returns the List of {@link kayu.note.Note}s.
      *
-     * @return A list of {@link kayu.note.Note}s.
+     * @return A read-only list of {@link kayu.note.Note}s.
      */
     public List<Note> getNotes() {
         return notes;
     }
 
+    /**
+     * Returns the current version of the {@link kayu.note.Note}s held. Versions are never changed
+     * once created, so they can be kept and restored later with {@link #restoreVersion(List)}.
+     *
+     * @return Current version of the {@link kayu.note.Note}s.
+     */
+    List<Note> getVersion() {
+        return notes;
+    }
+
+    /**
+     * Replaces the {@link kayu.note.Note}s held with an earlier <code>version</code>, in O(1) time.
+     * The search index over the notes is rebuilt the next time it is used.
+     *
+     * @param version Version obtained from {@link #getVersion()}.
+     */
+    void restoreVersion(List<Note> version) {
+        notes = PersistentList.of(version);
+        searchIndex.clear();
+        isSearchIndexStale = true;
+    }
+
     /**
      * Gets the number of {@link kayu.note.Note}s current stored.
      *
@@ -44,8 +77,7 @@ public class NoteList {
      * @param notes List of {@link kayu.note.Note} to initialise {@link #notes} with.
      */
     public void initializeNotes(List<Note> notes) {
-        this.notes.clear();
-        this.notes.addAll(notes);
+        restoreVersion(new ArrayList<>(notes));
     }
 
     /**
@@ -73,7 +105,10 @@ public class NoteList {
      */
     public void addNote(Note note) {
         assert (!note.getDescription().isBlank()) : ASSERT_FAIL_DESC_EMPTY;
-        notes.add(note);
+        notes = notes.append(note);
+        if (!isSearchIndexStale) {
+            searchIndex.add(note);
+        }
     }
 
     /**
@@ -85,7 +120,100 @@ public class NoteList {
      */
     public Note deleteNoteById(int id) throws KayuException {
         Note note = findNoteById(id);
-        notes.remove(note);
+        notes = notes.removeAt(id - 1); // 0-indexing
+        searchIndex.remove(note);
         return note;
     }
+
+    /**
+     * Deletes every {@link kayu.note.Note} in <code>ids</code> at once, with a single compaction pass
+     * over {@link #notes} unless only a few are deleted. All ids are validated before any
+     * {@link kayu.note.Note} is removed.
+     *
+     * @param ids {@link kayu.note.Note} numbers to delete.
+     * @return List of {@link kayu.note.Note}s that were deleted, in their original order.
+     * @throws KayuException If the {@link #notes} List is empty or any of <code>ids</code> is not valid.
+     */
+    public List<Note> deleteNotesById(int... ids) throws KayuException {
+        BitSet selection = new BitSet(notes.size());
+        for (int id: ids) {
+            findNoteById(id);
+            selection.set(id - 1); // 0-indexing
+        }
+
+        List<Note> removedNotes = new ArrayList<>(selection.cardinality());
+        notes = notes.removeSelected(selection, note -> {
+            removedNotes.add(note);
+            searchIndex.remove(note);
+        });
+        return removedNotes;
+    }
+
+    /**
+     * Deletes every {@link kayu.note.Note} held.
+     *
+     * @return List of {@link kayu.note.Note}s that were deleted, in their original order.
+     * @throws KayuException If the {@link #notes} List is empty.
+     */
+    public List<Note> deleteAllNotes() throws KayuException {
+        if (notes.isEmpty()) {
+            throw new KayuException(ERROR_EMPTY_NOTES);
+        }
+        List<Note> removedNotes = new ArrayList<>(notes);
+        notes = PersistentList.empty();
+        searchIndex.clear();
+        isSearchIndexStale = false;
+        return removedNotes;
+    }
+
+    /**
+     * Returns a Map of {@link kayu.note.Note} and their numberings whose descriptions match <code>pattern</code>.
+     * Notes that do not contain <code>requiredLiteral</code>, ignoring case, are skipped without matching.
+     *
+     * @param pattern Compiled regular expression to find in descriptions.
+     * @param requiredLiteral Text every match contains, or an empty String if unknown.
+     * @param deadlineNanos Time, in terms of {@link System#nanoTime()}, to give up matching at.
+     * @return A Map of {@link kayu.note.Note} whose description matches <code>pattern</code>.
+     * @throws KayuException If matching does not complete by the deadline.
+     */
+    public Map<Integer, Note> findNotesByPattern(Pattern pattern, String requiredLiteral, long deadlineNanos)
+            throws KayuException {
+
+        TimedMatcher matcher = new TimedMatcher(pattern, deadlineNanos);
+        String literal = requiredLiteral.toLowerCase(Locale.ROOT);
+        SortedMap<Integer, Note> noteMap = new TreeMap<>();
+
+        int idx = 0;
+        for (Note note: notes) {
+            String desc = note.getDescription();
+            if (desc.toLowerCase(Locale.ROOT).contains(literal) && matcher.find(desc)) {
+                noteMap.put(idx, note);
+            }
+            idx++;
+        }
+        return noteMap;
+    }
+
+    /**
+     * Returns a Map of up to <code>count</code> {@link kayu.note.Note}s and their numberings, ranked by
+     * how relevant their descriptions are to <code>query</code> using BM25, most relevant first.
+     *
+     * @param query Keywords to rank {@link kayu.note.Note}s by.
+     * @param count Maximum number of {@link kayu.note.Note}s to return.
+     * @return A Map of the most relevant {@link kayu.note.Note}s, in ranked order.
+     */
+    public Map<Integer, Note> findNotesByRelevance(String query, int count) {
+        if (isSearchIndexStale) {
+            searchIndex.rebuild(notes);
+            isSearchIndexStale = false;
+        }
+        List<Note> bestNotes = searchIndex.findBest(query, count);
+
+        // notes are held in ascending order of their order keys, so each number is found in O(log n) time
+        Map<Integer, Note> noteMap = new LinkedHashMap<>();
+        for (Note note: bestNotes) {
+            noteMap.put(notes.search(searchIndex::getOrderKey, searchIndex.getOrderKey(note)), note);
+        }
+        return noteMap;
+    }
 }
@@ -0,0 +1,172 @@
+package kayu.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import kayu.note.Note;
+
+/**
+ * Ranks the {@link kayu.note.Note}s held by {@link NoteList} against keyword queries with BM25.
+ * Keeps an inverted index from each word to the notes containing it, along with the term counts and
+ * lengths BM25 needs, which is updated as notes are added and removed. Each note is also given an
+ * order key, ascending in the order notes are held, so that the position of a ranked note can be found
+ * by a search down {@link NoteList} rather than a scan.
+ */
+class NoteSearchIndex {
+
+    // Standard BM25 parameters for term frequency saturation and length normalization.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<Note, Integer>> postings = new HashMap<>();
+    private final Map<Note, Integer> lengths = new IdentityHashMap<>();
+    private final Map<Note, Long> orderKeys = new IdentityHashMap<>();
+    private long totalLength = 0;
+    private long nextOrderKey = 0;
+
+    /**
+     * Removes every {@link kayu.note.Note} from the index.
+     */
+    void clear() {
+        postings.clear();
+        lengths.clear();
+        orderKeys.clear();
+        totalLength = 0;
+        nextOrderKey = 0;
+    }
+
+    /**
+     * Rebuilds the index from <code>notes</code>.
+     *
+     * @param notes {@link kayu.note.Note}s to index.
+     */
+    void rebuild(List<Note> notes) {
+        clear();
+        for (Note note: notes) {
+            add(note);
+        }
+    }
+
+    /**
+     * Adds the words in the description of <code>note</code> to the index. Notes must be added in the
+     * order they are held, as {@link #rebuild(List)} does and appending a note does.
+     *
+     * @param note {@link kayu.note.Note} to index.
+     */
+    void add(Note note) {
+        int length = 0;
+        for (String word: FuzzyIndex.toWords(note.getDescription())) {
+            if (!word.isEmpty()) {
+                postings.computeIfAbsent(word, key -> new IdentityHashMap<>()).merge(note, 1, Integer::sum);
+                length++;
+            }
+        }
+        lengths.put(note, length);
+        orderKeys.put(note, nextOrderKey++);
+        totalLength += length;
+    }
+
+    /**
+     * Removes <code>note</code> from the index.
+     *
+     * @param note {@link kayu.note.Note} to remove.
+     */
+    void remove(Note note) {
+        Integer length = lengths.remove(note);
+        if (length == null) {
+            return;
+        }
+        totalLength -= length;
+        orderKeys.remove(note);
+
+        for (String word: FuzzyIndex.toWords(note.getDescription())) {
+            Map<Note, Integer> termCounts = postings.get(word);
+            if (termCounts != null) {
+                termCounts.remove(note);
+                if (termCounts.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the order key of <code>note</code>, which is larger than that of every note held before it.
+     *
+     * @param note {@link kayu.note.Note} indexed.
+     * @return Order key of <code>note</code>.
+     */
+    long getOrderKey(Note note) {
+        return orderKeys.get(note);
+    }
+
+    /**
+     * Returns the <code>count</code> {@link kayu.note.Note}s that best match <code>query</code>, best first.
+     * Only notes sharing a word with <code>query</code> are scored, and the best are kept in a heap
+     * bounded to <code>count</code> entries.
+     *
+     * @param query Keywords to rank {@link kayu.note.Note}s by.
+     * @param count Maximum number of {@link kayu.note.Note}s to return.
+     * @return List of the best matching {@link kayu.note.Note}s, best first.
+     */
+    List<Note> findBest(String query, int count) {
+        Map<Note, Double> scores = new IdentityHashMap<>();
+        double averageLength = lengths.isEmpty() ? 0 : (double) totalLength / lengths.size();
+
+        for (String word: toDistinctWords(query)) {
+            Map<Note, Integer> termCounts = postings.get(word);
+            if (termCounts == null) {
+                continue;
+            }
+
+            double idf = Math.log(1 + (lengths.size() - termCounts.size() + 0.5) / (termCounts.size() + 0.5));
+            for (Map.Entry<Note, Integer> termCount: termCounts.entrySet()) {
+                double frequency = termCount.getValue();
+                double lengthRatio = lengths.get(termCount.getKey()) / averageLength;
+                double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+                scores.merge(termCount.getKey(), score, Double::sum);
+            }
+        }
+        return selectBest(scores, count);
+    }
+
+    private static Set<String> toDistinctWords(String query) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word: FuzzyIndex.toWords(query)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // keeps the weakest of the best notes at the head, so each other note costs O(log k)
+    private static List<Note> selectBest(Map<Note, Double> scores, int count) {
+        Comparator<Map.Entry<Note, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<Note, Double>> best = new PriorityQueue<>(byScore);
+
+        for (Map.Entry<Note, Double> score: scores.entrySet()) {
+            if (best.size() < count) {
+                best.add(score);
+            } else if (byScore.compare(score, best.peek()) > 0) {
+                best.poll();
+                best.add(score);
+            }
+        }
+
+        List<Note> bestNotes = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            bestNotes.add(best.poll().getKey());
+        }
+        Collections.reverse(bestNotes);
+        return bestNotes;
+    }
+}
@@ -0,0 +1,342 @@
+package kayu.service;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable List which is updated by creating new versions that share most of their structure with
+ * the version they came from. Elements are held in a size-annotated AVL tree ordered by position, so
+ * reading, replacing, appending and removing an element each take O(log n) time and only copy the
+ * O(log n) nodes on the path to it. Earlier versions stay valid, which is what {@link History} relies on.
+ *
+ * @param <T> Type of elements held.
+ */
+class PersistentList<T> extends AbstractList<T> {
+
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final Node<T> root;
+
+    private PersistentList(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns an empty PersistentList.
+     *
+     * @param <T> Type of elements held.
+     * @return An empty PersistentList.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    /**
+     * Returns a PersistentList holding <code>elements</code> in order, built balanced in O(n) time.
+     *
+     * @param elements Elements to hold.
+     * @param <T> Type of elements held.
+     * @return A PersistentList holding <code>elements</code>.
+     */
+    static <T> PersistentList<T> of(List<? extends T> elements) {
+        if (elements instanceof PersistentList) {
+            @SuppressWarnings("unchecked")
+            PersistentList<T> list = (PersistentList<T>) elements;
+            return list;
+        }
+        return new PersistentList<>(build(elements, 0, elements.size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return Node.size(root);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        Node<T> node = root;
+        while (true) {
+            int leftSize = Node.size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the element whose <code>key</code> is <code>target</code>, in O(log n) time.
+     * Elements are expected to be held in ascending order of <code>key</code>.
+     *
+     * @param key Function giving the key of an element.
+     * @param target Key to find.
+     * @return Position of the element, or -1 if not found.
+     */
+    int search(ToLongFunction<? super T> key, long target) {
+        Node<T> node = root;
+        int offset = 0;
+        while (node != null) {
+            long nodeKey = key.applyAsLong(node.value);
+            if (target < nodeKey) {
+                node = node.left;
+            } else if (target > nodeKey) {
+                offset += Node.size(node.left) + 1;
+                node = node.right;
+            } else {
+                return offset + Node.size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new version with <code>element</code> added to the end.
+     *
+     * @param element Element to add.
+     * @return New version of the PersistentList.
+     */
+    PersistentList<T> append(T element) {
+        return new PersistentList<>(insert(root, size(), element));
+    }
+
+    /**
+     * Returns a new version with the element at <code>index</code> replaced by <code>element</code>.
+     *
+     * @param index Position of the element to replace.
+     * @param element Element to replace with.
+     * @return New version of the PersistentList.
+     */
+    PersistentList<T> replace(int index, T element) {
+        checkIndex(index, size());
+        return new PersistentList<>(replace(root, index, element));
+    }
+
+    /**
+     * Returns a new version without the element at <code>index</code>.
+     *
+     * @param index Position of the element to remove.
+     * @return New version of the PersistentList.
+     */
+    PersistentList<T> removeAt(int index) {
+        checkIndex(index, size());
+        return new PersistentList<>(remove(root, index));
+    }
+
+    /**
+     * Returns a new version without the elements at the positions set in <code>selection</code>. A few
+     * elements are removed one at a time in O(k log n) time, while larger selections are removed with a
+     * single O(n) pass that keeps the rest and builds a balanced tree of them once.
+     *
+     * @param selection Positions of the elements to remove.
+     * @param onRemoved Receives each element removed, in order of position.
+     * @return New version of the PersistentList.
+     */
+    PersistentList<T> removeSelected(BitSet selection, Consumer<? super T> onRemoved) {
+        int count = selection.cardinality();
+        int size = size();
+        if ((long) count * (Integer.SIZE - Integer.numberOfLeadingZeros(size)) < size) {
+            for (int idx = selection.nextSetBit(0); idx >= 0; idx = selection.nextSetBit(idx + 1)) {
+                onRemoved.accept(get(idx));
+            }
+            PersistentList<T> list = this;
+            for (int idx = selection.length() - 1; idx >= 0; idx = selection.previousSetBit(idx - 1)) {
+                list = list.removeAt(idx); // from the back, so positions still to be removed do not shift
+            }
+            return list;
+        }
+
+        List<T> keptElements = new ArrayList<>(Math.max(size - count, 0));
+        int idx = 0;
+        for (T element: this) {
+            if (selection.get(idx++)) {
+                onRemoved.accept(element);
+            } else {
+                keptElements.add(element);
+            }
+        }
+        return new PersistentList<>(build(keptElements, 0, keptElements.size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Walks the tree in order, so a full iteration takes O(n) time rather than O(n log n).
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an Iterator over the elements from <code>fromIndex</code> onwards. Finding the first element
+     * takes O(log n) time, after which the tree is walked in order, taking O(1) time per element on average.
+     *
+     * @param fromIndex Position of the first element to iterate over.
+     * @return Iterator over the elements from <code>fromIndex</code>.
+     */
+    Iterator<T> iterator(int fromIndex) {
+        if (fromIndex < 0 || fromIndex > size()) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size());
+        }
+        // holds the nodes still to be visited whose left subtrees are done, the next one on top
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = fromIndex;
+        while (node != null) {
+            int leftSize = Node.size(node.left);
+            if (index <= leftSize) {
+                path.push(node);
+                if (index == leftSize) {
+                    break;
+                }
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> next = path.pop();
+                for (Node<T> child = next.right; child != null; child = child.left) {
+                    path.push(child);
+                }
+                return next.value;
+            }
+        };
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static <T> Node<T> build(List<? extends T> elements, int fromIdx, int toIdx) {
+        if (fromIdx >= toIdx) {
+            return null;
+        }
+        int midIdx = (fromIdx + toIdx) >>> 1;
+        return Node.of(build(elements, fromIdx, midIdx), elements.get(midIdx), build(elements, midIdx + 1, toIdx));
+    }
+
+    private static <T> Node<T> insert(Node<T> node, int index, T element) {
+        if (node == null) {
+            return Node.of(null, element, null);
+        }
+        int leftSize = Node.size(node.left);
+        if (index <= leftSize) {
+            return Node.balance(insert(node.left, index, element), node.value, node.right);
+        }
+        return Node.balance(node.left, node.value, insert(node.right, index - leftSize - 1, element));
+    }
+
+    private static <T> Node<T> replace(Node<T> node, int index, T element) {
+        int leftSize = Node.size(node.left);
+        if (index < leftSize) {
+            return Node.of(replace(node.left, index, element), node.value, node.right);
+        } else if (index == leftSize) {
+            return Node.of(node.left, element, node.right);
+        }
+        return Node.of(node.left, node.value, replace(node.right, index - leftSize - 1, element));
+    }
+
+    private static <T> Node<T> remove(Node<T> node, int index) {
+        int leftSize = Node.size(node.left);
+        if (index < leftSize) {
+            return Node.balance(remove(node.left, index), node.value, node.right);
+        } else if (index > leftSize) {
+            return Node.balance(node.left, node.value, remove(node.right, index - leftSize - 1));
+        } else if (node.right == null) {
+            return node.left;
+        }
+        // replaces the removed element with the first element on its right
+        return Node.balance(node.left, first(node.right), remove(node.right, 0));
+    }
+
+    private static <T> T first(Node<T> node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.value;
+    }
+
+    private static final class Node<T> {
+
+        private final Node<T> left;
+        private final T value;
+        private final Node<T> right;
+        private final int size;
+        private final int height;
+
+        private Node(Node<T> left, T value, Node<T> right) {
+            this.left = left;
+            this.value = value;
+            this.right = right;
+            this.size = size(left) + 1 + size(right);
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+
+        private static <T> Node<T> of(Node<T> left, T value, Node<T> right) {
+            return new Node<>(left, value, right);
+        }
+
+        private static int size(Node<?> node) {
+            return (node == null) ? 0 : node.size;
+        }
+
+        private static int height(Node<?> node) {
+            return (node == null) ? 0 : node.height;
+        }
+
+        // a single insert or removal changes heights by at most one, so one or two rotations suffice
+        private static <T> Node<T> balance(Node<T> left, T value, Node<T> right) {
+            if (height(left) > height(right) + 1) {
+                if (height(left.left) >= height(left.right)) {
+                    return of(left.left, left.value, of(left.right, value, right));
+                }
+                return of(of(left.left, left.value, left.right.left),
+                        left.right.value,
+                        of(left.right.right, value, right));
+            }
+            if (height(right) > height(left) + 1) {
+                if (height(right.right) >= height(right.left)) {
+                    return of(of(left, value, right.left), right.value, right.right);
+                }
+                return of(of(left, value, right.left.left),
+                        right.left.value,
+                        of(right.left.right, right.value, right.right));
+            }
+            return of(left, value, right);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package kayu.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import kayu.task.Task;
+
+/**
+ * Maps each description word and field value of the {@link kayu.task.Task}s held by {@link TaskList}
+ * to a {@link PostingList} of their IDs. Adding, removing or marking tasks as done only changes the
+ * lists of those tasks, while replacing the tasks wholesale marks the index as stale so that it is
+ * rebuilt, once, on the next query.
+ */
+class PostingIndex {
+
+    /** Field key for the type of a {@link kayu.task.Task}, such as <code>type:D</code>. */
+    static final String FIELD_TYPE = "type";
+
+    /** Field key for the done state of a {@link kayu.task.Task}, such as <code>done:0</code>. */
+    static final String FIELD_DONE = "done";
+
+    /** Separator between a field key and its value. */
+    static final String FIELD_SEPARATOR = ":";
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private PostingList allIds = new PostingList();
+    private boolean isStale = true;
+
+    /**
+     * Marks the index to be rebuilt before it is next used.
+     */
+    void invalidate() {
+        isStale = true;
+        postings.clear();
+        allIds = new PostingList();
+    }
+
+    /**
+     * Adds <code>task</code>, which is appended to those indexed in O(1) time per term.
+     *
+     * @param task {@link kayu.task.Task} added.
+     */
+    void add(Task task) {
+        if (isStale) {
+            return; // picked up by the next rebuild anyway
+        }
+        index(task);
+    }
+
+    /**
+     * Moves <code>doneTasks</code> from the <code>done:0</code> list to the <code>done:1</code> list,
+     * in a single pass over each.
+     *
+     * @param doneTasks {@link kayu.task.Task}s newly marked as done.
+     */
+    void markDone(List<Task> doneTasks) {
+        if (isStale || doneTasks.isEmpty()) {
+            return;
+        }
+        PostingList doneIds = new PostingList();
+        for (Task task: doneTasks) {
+            doneIds.add(task.getId());
+        }
+        String notDoneTerm = toFieldTerm(FIELD_DONE, Task.NOT_DONE);
+        String doneTerm = toFieldTerm(FIELD_DONE, Task.DONE);
+        replace(notDoneTerm, postings.getOrDefault(notDoneTerm, PostingList.empty()).subtract(doneIds));
+        replace(doneTerm, postings.getOrDefault(doneTerm, PostingList.empty()).union(doneIds));
+    }
+
+    /**
+     * Removes <code>removedTasks</code>, in a single pass over each list they are in.
+     *
+     * @param removedTasks {@link kayu.task.Task}s removed.
+     */
+    void remove(List<Task> removedTasks) {
+        if (isStale || removedTasks.isEmpty()) {
+            return;
+        }
+        Map<String, PostingList> removedIds = new HashMap<>();
+        PostingList allRemovedIds = new PostingList();
+        for (Task task: removedTasks) {
+            for (String term: toTerms(task)) {
+                removedIds.computeIfAbsent(term, key -> new PostingList()).add(task.getId());
+            }
+            allRemovedIds.add(task.getId());
+        }
+        for (Map.Entry<String, PostingList> entry: removedIds.entrySet()) {
+            String term = entry.getKey();
+            replace(term, postings.getOrDefault(term, PostingList.empty()).subtract(entry.getValue()));
+        }
+        allIds = allIds.subtract(allRemovedIds);
+    }
+
+    /**
+     * Returns the {@link PostingList} for <code>term</code>, rebuilding the index from <code>tasks</code> if stale.
+     *
+     * @param term Lower-cased word, or field term such as <code>type:d</code>.
+     * @param tasks Current {@link kayu.task.Task}s of {@link TaskList}.
+     * @return The {@link PostingList} of IDs, which must not be modified.
+     */
+    PostingList get(String term, List<Task> tasks) {
+        if (isStale) {
+            rebuild(tasks);
+        }
+        return postings.getOrDefault(term, PostingList.empty());
+    }
+
+    /**
+     * Returns the {@link PostingList} of every ID, rebuilding the index from <code>tasks</code> if stale.
+     *
+     * @param tasks Current {@link kayu.task.Task}s of {@link TaskList}.
+     * @return The {@link PostingList} of IDs, which must not be modified.
+     */
+    PostingList getAll(List<Task> tasks) {
+        if (isStale) {
+            rebuild(tasks);
+        }
+        return allIds;
+    }
+
+    /**
+     * Returns the field term for <code>field</code> and <code>value</code>, as used by {@link #get(String, List)}.
+     *
+     * @param field Field key.
+     * @param value Field value.
+     * @return Lower-cased field term.
+     */
+    static String toFieldTerm(String field, String value) {
+        return (field + FIELD_SEPARATOR + value).toLowerCase(Locale.ROOT);
+    }
+
+    private void rebuild(List<Task> tasks) {
+        postings.clear();
+        allIds = new PostingList();
+        for (Task task: tasks) {
+            index(task); // walks the tree in order, rather than looking up each position
+        }
+        isStale = false;
+    }
+
+    private void index(Task task) {
+        for (String term: toTerms(task)) {
+            postings.computeIfAbsent(term, key -> new PostingList()).add(task.getId());
+        }
+        allIds.add(task.getId());
+    }
+
+    private static List<String> toTerms(Task task) {
+        List<String> terms = new ArrayList<>();
+        for (String word: FuzzyIndex.toWords(task.getDescription())) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+        terms.add(toFieldTerm(FIELD_TYPE, task.getKeyword()));
+        terms.add(toFieldTerm(FIELD_DONE, task.isDone() ? Task.DONE : Task.NOT_DONE));
+        return terms;
+    }
+
+    // lists left empty are dropped, so that terms of removed tasks are not kept forever
+    private void replace(String term, PostingList ids) {
+        if (ids.size() == 0) {
+            postings.remove(term);
+        } else {
+            postings.put(term, ids);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package kayu.service;
+
+import java.util.Arrays;
+
+/**
+ * Represents an ascending list of {@link kayu.task.Task} IDs in {@link TaskList}, as used by
+ * {@link BooleanQuery}. IDs, unlike positions, stay the same when other tasks are deleted, so the
+ * lists only change for the tasks that do. Intersections and differences move through the longer
+ * list with skip pointers spaced about the square root of its length apart, so they cost close to
+ * the length of the shorter list.
+ */
+class PostingList {
+
+    private static final PostingList EMPTY = new PostingList(new long[0], 0);
+
+    private long[] ids;
+    private int size;
+
+    /**
+     * Initializes an empty PostingList.
+     */
+    PostingList() {
+        this(new long[4], 0);
+    }
+
+    private PostingList(long[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * Returns a shared, empty PostingList that must not be appended to.
+     *
+     * @return An empty PostingList.
+     */
+    static PostingList empty() {
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int idx) {
+        return ids[idx];
+    }
+
+    /**
+     * Adds <code>id</code> in order, skipping duplicates. IDs larger than every ID held, as those of
+     * tasks just added, are appended in O(1) time.
+     *
+     * @param id ID to add.
+     */
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            insert(id); // only IDs edited out of order in the data file are not appended
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    private void insert(long id) {
+        int idx = Arrays.binarySearch(ids, 0, size, id);
+        if (idx >= 0) {
+            return; // same word twice in one description
+        }
+        idx = -idx - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, idx, ids, idx + 1, size - idx);
+        ids[idx] = id;
+        size++;
+    }
+
+    /**
+     * Returns the IDs held by both this and <code>other</code>.
+     *
+     * @param other PostingList to intersect with.
+     * @return A new PostingList of common IDs.
+     */
+    PostingList intersect(PostingList other) {
+        PostingList shorter = (size <= other.size) ? this : other;
+        PostingList longer = (shorter == this) ? other : this;
+        PostingList result = new PostingList(new long[Math.max(shorter.size, 1)], 0);
+
+        int longIdx = 0;
+        for (int shortIdx = 0; shortIdx < shorter.size && longIdx < longer.size; shortIdx++) {
+            long id = shorter.ids[shortIdx];
+            longIdx = longer.seek(longIdx, id);
+            if (longIdx < longer.size && longer.ids[longIdx] == id) {
+                result.ids[result.size++] = id;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the IDs held by this but not by <code>other</code>.
+     *
+     * @param other PostingList of IDs to exclude.
+     * @return A new PostingList of the remaining IDs.
+     */
+    PostingList subtract(PostingList other) {
+        PostingList result = new PostingList(new long[Math.max(size, 1)], 0);
+
+        int otherIdx = 0;
+        for (int idx = 0; idx < size; idx++) {
+            long id = ids[idx];
+            otherIdx = other.seek(otherIdx, id);
+            if (otherIdx >= other.size || other.ids[otherIdx] != id) {
+                result.ids[result.size++] = id;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the IDs held by either this or <code>other</code>.
+     *
+     * @param other PostingList to merge with.
+     * @return A new PostingList of all IDs from both.
+     */
+    PostingList union(PostingList other) {
+        PostingList result = new PostingList(new long[Math.max(size + other.size, 1)], 0);
+
+        int idx = 0;
+        int otherIdx = 0;
+        while (idx < size || otherIdx < other.size) {
+            if (otherIdx >= other.size || (idx < size && ids[idx] < other.ids[otherIdx])) {
+                result.add(ids[idx++]);
+            } else if (idx >= size || other.ids[otherIdx] < ids[idx]) {
+                result.add(other.ids[otherIdx++]);
+            } else {
+                result.add(ids[idx++]);
+                otherIdx++;
+            }
+        }
+        return result;
+    }
+
+    // returns the first index from fromIdx onwards whose ID is at least target
+    private int seek(int fromIdx, long target) {
+        int skip = Math.max(1, (int) Math.sqrt(size));
+        int idx = fromIdx;
+        while (idx + skip < size && ids[idx + skip] <= target) {
+            idx += skip;
+        }
+        while (idx < size && ids[idx] < target) {
+            idx++;
+        }
+        return idx;
+    }
+}
@@ -0,0 +1,83 @@
+package kayu.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue over a fixed ring of slots, for any number of producers and a single consumer, without locks.
+ * Each slot carries a sequence number telling whether it is free to write for the current lap around the ring,
+ * or holds an element ready to read. Producers claim positions with a compare-and-set on the tail, and the
+ * consumer alone moves the head, so neither side ever blocks the other.
+ *
+ * @param <T> Type of elements held.
+ */
+class RingBuffer<T> {
+
+    // Assertion format.
+    private static final String ASSERT_FAIL_CAPACITY = "Ring buffer capacity should be a positive power of two.";
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // only read and written by the consumer
+
+    /**
+     * Initializes an empty RingBuffer.
+     *
+     * @param capacity Maximum number of elements held, which is a power of two.
+     */
+    RingBuffer(int capacity) {
+        assert (capacity > 0 && Integer.bitCount(capacity) == 1) : ASSERT_FAIL_CAPACITY;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int idx = 0; idx < capacity; idx++) {
+            sequences.set(idx, idx);
+        }
+    }
+
+    /**
+     * Adds <code>element</code> to the back of the queue, if there is room.
+     *
+     * @param element Element to add.
+     * @return Boolean true if added, or false if the queue is full.
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int idx = (int) position & mask;
+            long difference = sequences.get(idx) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[idx] = element;
+                    sequences.set(idx, position + 1); // publishes the element to the consumer
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // the slot still holds an element from the previous lap
+            } else {
+                position = tail.get(); // another producer claimed this position first
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. Must only be called by the consumer.
+     *
+     * @return Front element, or null if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        int idx = (int) head & mask;
+        if (sequences.get(idx) != head + 1) {
+            return null;
+        }
+        T element = (T) slots[idx];
+        slots[idx] = null;
+        sequences.set(idx, head + slots.length); // frees the slot for the next lap
+        head++;
+        return element;
+    }
+}
@@ -0,0 +1,130 @@
+package kayu.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+import kayu.task.Task;
+
+/**
+ * Caches the results of {@link TaskList#findTasksByKeywords(String...)} in least-recently-used order.
+ * Results are keyed on the normalized set of keywords and tagged with the generation of
+ * {@link TaskList} they were computed at, so any change that adds, removes or renumbers tasks
+ * invalidates them.
+ */
+public class SearchCache {
+
+    /** Default maximum number of results held. */
+    public static final int DEFAULT_CAPACITY = 128;
+
+    private final Map<String, CachedResult> results;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Initializes a SearchCache holding at most <code>capacity</code> results.
+     *
+     * @param capacity Maximum number of results held.
+     */
+    SearchCache(int capacity) {
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Normalizes <code>keywords</code> into a cache key, ignoring case, order, duplicates and blanks.
+     *
+     * @param keywords Keyword Strings searched for.
+     * @return Normalized key String.
+     */
+    static String toKey(String... keywords) {
+        return Arrays.stream(keywords)
+                .filter(keyword -> !keyword.isBlank())
+                .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .reduce((first, second) -> first + '\u0000' + second) // cannot appear in a keyword
+                .orElse("");
+    }
+
+    /**
+     * Returns the cached result for <code>key</code> if it was computed at <code>generation</code>.
+     *
+     * @param key Normalized keywords, from {@link #toKey(String...)}.
+     * @param generation Current generation of {@link TaskList}.
+     * @return Cached result, or null if absent or stale.
+     */
+    synchronized SortedMap<Integer, Task> get(String key, long generation) {
+        CachedResult cached = results.get(key);
+        if (cached == null || cached.generation != generation) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return cached.taskMap;
+    }
+
+    /**
+     * Caches <code>taskMap</code> as the result for <code>key</code> at <code>generation</code>.
+     *
+     * @param key Normalized keywords, from {@link #toKey(String...)}.
+     * @param generation Generation of {@link TaskList} the result was computed at.
+     * @param taskMap Result to cache, which should no longer be modified.
+     */
+    synchronized void put(String key, long generation, SortedMap<Integer, Task> taskMap) {
+        results.put(key, new CachedResult(generation, taskMap));
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return Number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to search {@link TaskList}.
+     *
+     * @return Number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return Hit rate between 0 and 1, or 0 if there were no lookups.
+     */
+    public synchronized double getHitRate() {
+        long lookupCount = hitCount + missCount;
+        return (lookupCount == 0) ? 0 : (double) hitCount / lookupCount;
+    }
+
+    /**
+     * Returns the number of results currently cached.
+     *
+     * @return Number of cached results.
+     */
+    public synchronized int getSize() {
+        return results.size();
+    }
+
+    private static class CachedResult {
+        private final long generation;
+        private final SortedMap<Integer, Task> taskMap;
+
+        private CachedResult(long generation, SortedMap<Integer, Task> taskMap) {
+            this.generation = generation;
+            this.taskMap = taskMap;
+        }
+    }
+}
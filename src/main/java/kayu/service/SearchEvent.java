@@ -0,0 +1,40 @@
+package kayu.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a search of {@link TaskList}.
+ */
+@Name("kayu.Search")
+@Label("Search")
+@Category("Kayu")
+@Description("Tasks searched for")
+@StackTrace(false)
+class SearchEvent extends Event {
+
+    static final String KIND_KEYWORDS = "Keywords";
+    static final String KIND_FUZZY_KEYWORDS = "Fuzzy Keywords";
+    static final String KIND_QUERY = "Query";
+    static final String KIND_PATTERN = "Pattern";
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Query")
+    String query;
+
+    @Label("Task Count")
+    @Description("Number of tasks searched")
+    int taskCount;
+
+    @Label("Result Count")
+    int resultCount;
+
+    @Label("Cache Hit")
+    boolean isCacheHit;
+}
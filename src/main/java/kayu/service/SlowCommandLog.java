@@ -0,0 +1,120 @@
+package kayu.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends a {@link CommandTrace} of every command that takes at least a threshold of time to a log file,
+ * so that rare slow commands can be looked into afterwards. Once the file reaches its maximum size, it is
+ * renamed with the suffix <code>.1</code>, older files are shifted up to the suffix of the last backup kept,
+ * and a new file is started.
+ */
+public class SlowCommandLog {
+
+    /** System property setting the threshold in milliseconds, where a negative threshold turns the log off. */
+    public static final String THRESHOLD_PROPERTY = "kayu.slowLogMillis";
+
+    /** Threshold when {@link #THRESHOLD_PROPERTY} is not set. */
+    public static final long DEFAULT_THRESHOLD_MILLIS = 500;
+
+    /** Threshold that turns the log off. */
+    public static final long DISABLED = -1;
+
+    private static final String DEFAULT_FILE_PATH = "data/slow.log";
+    private static final long DEFAULT_MAX_FILE_BYTES = 1 << 20;
+    private static final int DEFAULT_BACKUP_COUNT = 3;
+    private static final String BACKUP_SUFFIX = ".%d";
+
+    private final Path filePath;
+    private final long thresholdNanos;
+    private final long maxFileBytes;
+    private final int backupCount;
+
+    /**
+     * Initializes a SlowCommandLog.
+     *
+     * @param filePath Path of the log file.
+     * @param thresholdMillis Least time in milliseconds a command takes to be logged, or {@link #DISABLED}.
+     * @param maxFileBytes Size in bytes at which the log file is rotated.
+     * @param backupCount Number of rotated log files kept.
+     */
+    public SlowCommandLog(String filePath, long thresholdMillis, long maxFileBytes, int backupCount) {
+        this.filePath = Paths.get(filePath);
+        this.thresholdNanos = (thresholdMillis < 0) ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.maxFileBytes = maxFileBytes;
+        this.backupCount = backupCount;
+    }
+
+    /**
+     * Generates a SlowCommandLog writing to <code>data/slow.log</code>, with the threshold set by
+     * {@link #THRESHOLD_PROPERTY}, or {@link #DEFAULT_THRESHOLD_MILLIS} if it is not set or not a number.
+     *
+     * @return Generated SlowCommandLog.
+     */
+    public static SlowCommandLog generate() {
+        long thresholdMillis;
+        try {
+            thresholdMillis = Long.parseLong(System.getProperty(THRESHOLD_PROPERTY, "").trim());
+        } catch (NumberFormatException exception) {
+            thresholdMillis = DEFAULT_THRESHOLD_MILLIS;
+        }
+        return new SlowCommandLog(DEFAULT_FILE_PATH, thresholdMillis, DEFAULT_MAX_FILE_BYTES, DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * Returns whether a command taking <code>nanos</code> nanoseconds should be logged.
+     *
+     * @param nanos Nanoseconds taken by the command.
+     * @return Boolean true if at least the threshold, else false.
+     */
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Appends <code>trace</code> to the log file, rotating it first if it is full. Failing to write only
+     * loses the entry, so that logging never stops a command from completing.
+     *
+     * @param trace {@link CommandTrace} of a slow command.
+     */
+    public void log(CommandTrace trace) {
+        try {
+            Files.createDirectories(filePath.toAbsolutePath().getParent());
+            if (Files.exists(filePath) && Files.size(filePath) >= maxFileBytes) {
+                rotate();
+            }
+            Files.write(filePath, List.of(trace.toLogEntry()), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    // shifts each backup up by one, dropping the oldest, then makes the current file the first backup
+    private void rotate() throws IOException {
+        if (backupCount < 1) {
+            Files.delete(filePath);
+            return;
+        }
+        Files.deleteIfExists(getBackupPath(backupCount));
+        for (int number = backupCount - 1; number >= 1; number--) {
+            Path backupPath = getBackupPath(number);
+            if (Files.exists(backupPath)) {
+                Files.move(backupPath, getBackupPath(number + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(filePath, getBackupPath(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path getBackupPath(int number) {
+        return filePath.resolveSibling(filePath.getFileName() + String.format(BACKUP_SUFFIX, number));
+    }
+}
@@ -1,11 +1,24 @@
 package kayu.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import kayu.exception.KayuException;
 import kayu.task.Task;
@@ -15,30 +28,157 @@ import kayu.task.Task;
  */
 public class TaskList {
 
+    /** Longest word, in characters, that is only allowed a single typo in fuzzy searches. */
+    public static final int SINGLE_TYPO_WORD_LENGTH = 4;
+
+    /** Number of tasks from which keyword searches are scanned in parallel. */
+    public static final int PARALLEL_SCAN_THRESHOLD = 20_000;
+
     // Error message formats.
     protected static final String ERROR_INVALID_TASK = "Task number '%d' is invalid.";
     protected static final String ERROR_EMPTY_LIST = "Unable to execute as list is empty.";
     protected static final String ERROR_TASK_ALREADY_DONE = "Task number '%d' is already done.";
+    protected static final String ERROR_TASKS_ALREADY_DONE = "All selected tasks are already done.";
+    protected static final String ERROR_NO_DONE_TASKS = "There are no done tasks to remove.";
+    protected static final String ERROR_INVALID_TASK_ID = "Task ID '#%d' does not exist.";
+
+    // Assertion format.
+    protected static final String ASSERT_FAIL_WINDOW_LIMIT = "Window limit should be positive.";
+
+    // Chunks per thread of a parallel scan, so that threads finishing early can take on more.
+    private static final int SCAN_CHUNKS_PER_THREAD = 4;
+
+    private PersistentList<Task> tasks = PersistentList.empty();
+    private final UpcomingTaskHeap upcomingTasks = new UpcomingTaskHeap();
+    private final FuzzyIndex fuzzyIndex = new FuzzyIndex();
+    private final PostingIndex postingIndex = new PostingIndex();
+    private final SearchCache searchCache = new SearchCache(SearchCache.DEFAULT_CAPACITY);
+    private final Map<Long, Task> tasksById = new HashMap<>();
+
+    // IDs are handed out in increasing order, so tasks are always held in ascending order of ID.
+    private long nextId = Task.NO_ID + 1;
 
-    private final List<Task> tasks = new ArrayList<>();
+    // Bumped whenever tasks are added, removed or renumbered, to invalidate cached searches.
+    private long generation = 0;
+
+    // Set when tasks are replaced wholesale, so the heap, fuzzy and ID indexes are rebuilt only once needed.
+    private boolean areIndexesStale = false;
 
     /**
      * Returns the List of {@link kayu.task.Task}s.
      *
-     * @return A list of {@link kayu.task.Task}s.
+     * @return A read-only list of {@link kayu.task.Task}s.
      */
     public List<Task> getTasks() {
         return tasks;
     }
 
+    /**
+     * Returns the current version of the {@link kayu.task.Task}s held. Versions are never changed
+     * once created, so they can be kept and restored later with {@link #restoreVersion(List)}.
+     *
+     * @return Current version of the {@link kayu.task.Task}s.
+     */
+    List<Task> getVersion() {
+        return tasks;
+    }
+
+    /**
+     * Replaces the {@link kayu.task.Task}s held with an earlier <code>version</code>, in O(1) time.
+     * The indexes over the tasks are rebuilt the next time they are used.
+     *
+     * @param version Version obtained from {@link #getVersion()}.
+     */
+    void restoreVersion(List<Task> version) {
+        tasks = PersistentList.of(version);
+        markIndexesStale();
+    }
+
+    /**
+     * Returns a read-only window of at most <code>limit</code> {@link kayu.task.Task}s, starting from
+     * <code>startNumber</code>. The window is a view over {@link #tasks}, so obtaining it costs the
+     * same regardless of the number of tasks held.
+     *
+     * @param startNumber {@link kayu.task.Task} number to start the window from.
+     * @param limit Maximum number of {@link kayu.task.Task}s in the window.
+     * @return A read-only List of {@link kayu.task.Task}s within the window.
+     * @throws KayuException If the {@link #tasks} List is empty or <code>startNumber</code> is not valid.
+     */
+    public List<Task> getTaskWindow(int startNumber, int limit) throws KayuException {
+        assert (limit > 0) : ASSERT_FAIL_WINDOW_LIMIT;
+        getTaskByNumber(startNumber);
+
+        int fromIdx = startNumber - 1; // shift to 0-indexing
+        int toIdx = (int) Math.min((long) fromIdx + limit, tasks.size());
+        return Collections.unmodifiableList(tasks.subList(fromIdx, toIdx));
+    }
+
     /**
      * Initializes the {@link #tasks} list with the specified {@link kayu.task.Task} list.
      *
      * @param tasks List of {@link kayu.task.Task} to initialise {@link #tasks} with.
      */
     public void initializeTasks(List<Task> tasks) {
-        this.tasks.clear();
-        this.tasks.addAll(tasks);
+        initializeTasks(tasks, Task.NO_ID + 1);
+    }
+
+    /**
+     * Initializes the {@link #tasks} list with the specified {@link kayu.task.Task} list, giving tasks
+     * added later IDs from <code>nextId</code> on, or after the largest ID held if that is larger.
+     * Passing the next ID saved keeps the ID of a deleted task from being given again.
+     *
+     * @param tasks List of {@link kayu.task.Task} to initialise {@link #tasks} with.
+     * @param nextId Smallest ID to give the next {@link kayu.task.Task} added.
+     */
+    public void initializeTasks(List<Task> tasks, long nextId) {
+        this.tasks = PersistentList.of(new ArrayList<>(tasks));
+        this.nextId = Math.max(this.nextId, nextId);
+        assignMissingIds();
+        markIndexesStale();
+    }
+
+    /**
+     * Returns the ID the next {@link kayu.task.Task} added will be given, which is after every ID given
+     * so far, including those of tasks since deleted.
+     *
+     * @return ID of the next {@link kayu.task.Task} added.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    // tasks saved before IDs existed, or with repeated IDs, are given new ones after the largest ID held
+    private void assignMissingIds() {
+        long maxId = Task.NO_ID;
+        for (Task task: tasks) {
+            maxId = Math.max(maxId, task.getId());
+        }
+        nextId = Math.max(nextId, maxId + 1);
+
+        Set<Long> ids = new HashSet<>();
+        for (Task task: tasks) {
+            if (!task.hasId() || !ids.add(task.getId())) {
+                task.setId(nextId++);
+            }
+        }
+    }
+
+    private void markIndexesStale() {
+        upcomingTasks.clear();
+        fuzzyIndex.clear();
+        tasksById.clear();
+        areIndexesStale = true;
+        postingIndex.invalidate();
+        generation++;
+    }
+
+    private void refreshIndexes() {
+        if (areIndexesStale) {
+            upcomingTasks.rebuild(tasks);
+            fuzzyIndex.rebuild(tasks);
+            tasks.forEach(task -> tasksById.put(task.getId(), task));
+            areIndexesStale = false;
+        }
     }
 
     /**
@@ -57,7 +197,15 @@ public class TaskList {
      * @param newTask {@link kayu.task.Task} to save.
      */
     public void addTask(Task newTask) {
-        tasks.add(newTask);
+        newTask.setId(nextId++);
+        tasks = tasks.append(newTask);
+        if (!areIndexesStale) {
+            upcomingTasks.add(newTask);
+            fuzzyIndex.add(newTask);
+            tasksById.put(newTask.getId(), newTask);
+        }
+        postingIndex.add(newTask);
+        generation++;
     }
 
     /**
@@ -73,8 +221,9 @@ public class TaskList {
         if (selectedTask.isDone()) {
             throw new KayuException(String.format(ERROR_TASK_ALREADY_DONE, taskNumber));
         }
-        selectedTask.markAsDone();
-        return selectedTask;
+        Task doneTask = markTaskAsDone(taskNumber - 1); // shift to 0-indexing
+        postingIndex.markDone(List.of(doneTask));
+        return doneTask;
     }
 
     /**
@@ -87,10 +236,174 @@ public class TaskList {
      */
     public Task deleteTask(int taskNumber) throws KayuException {
         Task selectedTask = getTaskByNumber(taskNumber);
-        tasks.remove(selectedTask);
+        tasks = tasks.removeAt(taskNumber - 1); // shift to 0-indexing
+        upcomingTasks.remove(selectedTask);
+        fuzzyIndex.remove(selectedTask);
+        tasksById.remove(selectedTask.getId());
+        postingIndex.remove(List.of(selectedTask));
+        generation++;
         return selectedTask;
     }
 
+    /**
+     * Updates every {@link kayu.task.Task} in <code>taskNumbers</code> to 'done' in a single pass.
+     * All numbers are validated before any {@link kayu.task.Task} is updated, and tasks that are
+     * already done are skipped.
+     *
+     * @param taskNumbers {@link kayu.task.Task} numbers to mark as done.
+     * @return List of {@link kayu.task.Task}s that were newly marked as done.
+     * @throws KayuException If any of <code>taskNumbers</code> is not valid, or all are already done.
+     */
+    public List<Task> updateTasksAsDone(int... taskNumbers) throws KayuException {
+        BitSet selection = selectTaskNumbers(taskNumbers);
+        List<Task> updatedTasks = new ArrayList<>();
+
+        for (int idx = selection.nextSetBit(0); idx >= 0; idx = selection.nextSetBit(idx + 1)) {
+            if (!tasks.get(idx).isDone()) {
+                updatedTasks.add(markTaskAsDone(idx));
+            }
+        }
+        if (updatedTasks.isEmpty()) {
+            throw new KayuException(ERROR_TASKS_ALREADY_DONE);
+        }
+        postingIndex.markDone(updatedTasks);
+        return updatedTasks;
+    }
+
+    /**
+     * Updates every {@link kayu.task.Task} that is not done yet to 'done'.
+     *
+     * @return List of {@link kayu.task.Task}s that were newly marked as done.
+     * @throws KayuException If the {@link #tasks} List is empty or all tasks are already done.
+     */
+    public List<Task> updateAllTasksAsDone() throws KayuException {
+        if (tasks.isEmpty()) {
+            throw new KayuException(ERROR_EMPTY_LIST);
+        }
+        List<Task> updatedTasks = new ArrayList<>();
+        int idx = 0;
+        for (Task task: tasks) {
+            if (!task.isDone()) {
+                updatedTasks.add(markTaskAsDone(idx));
+            }
+            idx++;
+        }
+        if (updatedTasks.isEmpty()) {
+            throw new KayuException(ERROR_TASKS_ALREADY_DONE);
+        }
+        postingIndex.markDone(updatedTasks);
+        return updatedTasks;
+    }
+
+    /**
+     * Deletes every {@link kayu.task.Task} in <code>taskNumbers</code> at once, with a single compaction
+     * pass over {@link #tasks} unless only a few are deleted. All numbers are validated before any
+     * {@link kayu.task.Task} is removed.
+     *
+     * @param taskNumbers {@link kayu.task.Task} numbers to delete.
+     * @return List of {@link kayu.task.Task}s that were deleted, in their original order.
+     * @throws KayuException If any of <code>taskNumbers</code> is not valid.
+     */
+    public List<Task> deleteTasks(int... taskNumbers) throws KayuException {
+        BitSet selection = selectTaskNumbers(taskNumbers);
+        return removeSelectedTasks(selection);
+    }
+
+    /**
+     * Deletes every {@link kayu.task.Task} that is marked as done.
+     *
+     * @return List of {@link kayu.task.Task}s that were deleted, in their original order.
+     * @throws KayuException If the {@link #tasks} List is empty or has no done tasks.
+     */
+    public List<Task> deleteDoneTasks() throws KayuException {
+        if (tasks.isEmpty()) {
+            throw new KayuException(ERROR_EMPTY_LIST);
+        }
+        BitSet selection = new BitSet(tasks.size());
+        int idx = 0;
+        for (Task task: tasks) {
+            selection.set(idx++, task.isDone());
+        }
+        if (selection.isEmpty()) {
+            throw new KayuException(ERROR_NO_DONE_TASKS);
+        }
+        return removeSelectedTasks(selection);
+    }
+
+    /**
+     * Deletes every {@link kayu.task.Task} held.
+     *
+     * @return List of {@link kayu.task.Task}s that were deleted, in their original order.
+     * @throws KayuException If the {@link #tasks} List is empty.
+     */
+    public List<Task> deleteAllTasks() throws KayuException {
+        if (tasks.isEmpty()) {
+            throw new KayuException(ERROR_EMPTY_LIST);
+        }
+        List<Task> deletedTasks = new ArrayList<>(tasks);
+        tasks = PersistentList.empty();
+        upcomingTasks.clear();
+        fuzzyIndex.clear();
+        tasksById.clear();
+        postingIndex.invalidate();
+        generation++;
+        return deletedTasks;
+    }
+
+    // done tasks are copies, so that earlier versions of the list keep the task as it was,
+    // and the caller moves them to the done postings at once
+    private Task markTaskAsDone(int idx) {
+        Task task = tasks.get(idx);
+        Task doneTask = task.copy();
+        doneTask.markAsDone();
+        tasks = tasks.replace(idx, doneTask);
+
+        upcomingTasks.remove(task);
+        fuzzyIndex.remove(task);
+        if (!areIndexesStale) {
+            fuzzyIndex.add(doneTask);
+            tasksById.put(doneTask.getId(), doneTask);
+        }
+        generation++; // cached searches still hold the task as it was
+        return doneTask;
+    }
+
+    /**
+     * Returns up to <code>count</code> undone {@link kayu.task.Deadline}s and {@link kayu.task.Event}s,
+     * soonest first. Backed by a heap maintained on every update, so this takes O(k log k) time
+     * regardless of the number of tasks held.
+     *
+     * @param count Maximum number of {@link kayu.task.Task}s to return.
+     * @return List of the upcoming {@link kayu.task.Task}s, soonest first.
+     */
+    public List<Task> getUpcomingTasks(int count) {
+        refreshIndexes();
+        return upcomingTasks.peekSoonest(count);
+    }
+
+    // validates all task numbers up front so that bulk updates are all-or-nothing
+    private BitSet selectTaskNumbers(int... taskNumbers) throws KayuException {
+        BitSet selection = new BitSet(tasks.size());
+        for (int taskNumber: taskNumbers) {
+            getTaskByNumber(taskNumber);
+            selection.set(taskNumber - 1); // shift to 0-indexing
+        }
+        return selection;
+    }
+
+    private List<Task> removeSelectedTasks(BitSet selection) {
+        List<Task> removedTasks = new ArrayList<>(selection.cardinality());
+        tasks = tasks.removeSelected(selection, task -> {
+            removedTasks.add(task);
+            upcomingTasks.remove(task);
+            fuzzyIndex.remove(task);
+            tasksById.remove(task.getId());
+        });
+        postingIndex.remove(removedTasks);
+        generation++;
+        return removedTasks;
+    }
+
     /**
      * Gets the {@link kayu.task.Task} based on the input <code>taskNumber</code>.
      *
@@ -109,34 +422,256 @@ public class TaskList {
         return tasks.get(taskNumber - 1); // shift to 0-indexing
     }
 
+    /**
+     * Gets the {@link kayu.task.Task} with the ID <code>id</code>, in O(1) time.
+     *
+     * @param id ID of the {@link kayu.task.Task} to obtain.
+     * @return Associated {@link kayu.task.Task}.
+     * @throws KayuException If no {@link kayu.task.Task} has the ID <code>id</code>.
+     */
+    public Task getTaskById(long id) throws KayuException {
+        refreshIndexes();
+        Task task = tasksById.get(id);
+        if (task == null) {
+            throw new KayuException(String.format(ERROR_INVALID_TASK_ID, id));
+        }
+        return task;
+    }
+
+    /**
+     * Gets the current number of the {@link kayu.task.Task} with the ID <code>id</code>. As tasks are
+     * held in ascending order of ID, the number is found by a search down {@link #tasks} in O(log n) time.
+     *
+     * @param id ID of the {@link kayu.task.Task} to find.
+     * @return Number of the associated {@link kayu.task.Task}.
+     * @throws KayuException If no {@link kayu.task.Task} has the ID <code>id</code>.
+     */
+    public int getTaskNumberById(long id) throws KayuException {
+        return findIndex(getTaskById(id)) + 1; // shift to 1-indexing
+    }
+
+    // tasks are held in ascending order of ID, so a task held is found by a search down the tree
+    private int findIndex(Task task) {
+        int idx = tasks.search(Task::getId, task.getId());
+        if (idx < 0) {
+            idx = indexOfTask(task); // only if IDs were edited out of order in the data file
+        }
+        return idx;
+    }
+
+    private int indexOfTask(Task task) {
+        int idx = 0;
+        for (Task heldTask: tasks) {
+            if (heldTask == task) {
+                return idx;
+            }
+            idx++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the {@link SearchCache} in front of {@link #findTasksByKeywords(String...)}.
+     *
+     * @return The {@link SearchCache} used, for its metrics.
+     */
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+
     /**
      * Returns a Map of {@link kayu.task.Task} and their numberings based on
-     * the <code>keyword</code> parameter.
+     * the <code>keyword</code> parameter. Repeated searches are answered from {@link #searchCache}
+     * until tasks are added or removed.
      *
      * @param keywords Keyword Strings to find in {@link kayu.task.Task}s.
-     * @return A Map of {@link kayu.task.Task} that has similar description to <code>keyword</code>.
+     * @return A read-only Map of {@link kayu.task.Task} that has similar description to <code>keyword</code>.
      */
     public Map<Integer, Task> findTasksByKeywords(String... keywords) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        String cacheKey = SearchCache.toKey(keywords);
+        SortedMap<Integer, Task> cachedTaskMap = searchCache.get(cacheKey, generation);
+        if (cachedTaskMap != null) {
+            emitSearchEvent(event, SearchEvent.KIND_KEYWORDS, cachedTaskMap.size(), true, keywords);
+            return cachedTaskMap;
+        }
+
+        SortedMap<Integer, Task> taskMap = Collections.unmodifiableSortedMap(scanForKeywords(keywords));
+        searchCache.put(cacheKey, generation, taskMap);
+        emitSearchEvent(event, SearchEvent.KIND_KEYWORDS, taskMap.size(), false, keywords);
+        return taskMap;
+    }
+
+    // the query is only joined if a Flight Recorder recording is on
+    private void emitSearchEvent(SearchEvent event, String kind, int resultCount, boolean isCacheHit,
+            String... queryParts) {
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.query = String.join(" ", queryParts);
+            event.taskCount = tasks.size();
+            event.resultCount = resultCount;
+            event.isCacheHit = isCacheHit;
+            event.commit();
+        }
+    }
+
+    // Checks every keyword in a single pass per task. Large lists are split into chunks that are
+    // scanned in parallel on the fork-join pool searching, by default the common pool, with the
+    // matches merged back in order.
+    // Each chunk walks the tree in order from its start, so the scan stays linear in the number of tasks.
+    private SortedMap<Integer, Task> scanForKeywords(String... keywords) {
         SortedMap<Integer, Task> taskMap = new TreeMap<>();
+        String[] keys = Arrays.stream(keywords)
+                .filter(key -> !key.isBlank()) // in case parsed keywords has blanks
+                .map(key -> key.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toArray(String[]::new);
+        if (keys.length == 0) {
+            return taskMap;
+        }
 
-        for (String key: keywords) {
-            addTasksToSearchMap(taskMap, key);
+        PersistentList<Task> version = tasks;
+        int chunkCount = 1;
+        IntStream chunks = IntStream.range(0, chunkCount);
+        if (version.size() >= PARALLEL_SCAN_THRESHOLD) {
+            chunkCount = getScanParallelism() * SCAN_CHUNKS_PER_THREAD;
+            chunks = IntStream.range(0, chunkCount).parallel();
         }
+        int chunkSize = (version.size() + chunkCount - 1) / chunkCount;
+        chunks.mapToObj(chunk -> scanChunk(version, chunk * chunkSize, chunkSize, keys))
+                .collect(Collectors.toList())
+                .forEach(taskMap::putAll);
         return taskMap;
     }
 
-    private void addTasksToSearchMap(Map<Integer, Task> taskMap, String key) {
-        if (key.isBlank()) {
-            return; // in case parsed keywords has blanks
+    // a search run within another fork-join pool, such as to measure scaling, is split for that pool
+    private static int getScanParallelism() {
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+        return pool.getParallelism();
+    }
+
+    private static SortedMap<Integer, Task> scanChunk(PersistentList<Task> version, int fromIdx, int length,
+            String... keys) {
+
+        SortedMap<Integer, Task> taskMap = new TreeMap<>();
+        int toIdx = (int) Math.min((long) fromIdx + length, version.size());
+        if (fromIdx >= toIdx) {
+            return taskMap;
+        }
+        Iterator<Task> iterator = version.iterator(fromIdx);
+        for (int idx = fromIdx; idx < toIdx; idx++) {
+            Task task = iterator.next();
+            if (containsAnyKey(task, keys)) {
+                taskMap.put(idx, task);
+            }
         }
+        return taskMap;
+    }
 
-        key = key.toLowerCase(Locale.ROOT);
-        for (int idx = 0; idx < tasks.size(); idx++) {
-            Task task = tasks.get(idx);
-            String desc = task.getDescription().toLowerCase(Locale.ROOT);
+    private static boolean containsAnyKey(Task task, String... keys) {
+        String desc = task.getDescription().toLowerCase(Locale.ROOT);
+        for (String key: keys) {
             if (desc.contains(key)) {
-                taskMap.put(idx, task);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a Map of {@link kayu.task.Task} and their numberings whose descriptions contain a word
+     * within a small edit distance of any of the <code>keywords</code>. Words of up to
+     * {@link #SINGLE_TYPO_WORD_LENGTH} characters allow one typo, longer words allow two.
+     *
+     * @param keywords Keyword Strings to find in {@link kayu.task.Task}s, allowing for typos.
+     * @return A Map of {@link kayu.task.Task} that has a description similar to any of <code>keywords</code>.
+     */
+    public Map<Integer, Task> findTasksByFuzzyKeywords(String... keywords) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        refreshIndexes();
+        Set<Task> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String key: keywords) {
+            for (String word: FuzzyIndex.toWords(key)) {
+                if (!word.isEmpty()) {
+                    int maxDistance = (word.length() <= SINGLE_TYPO_WORD_LENGTH) ? 1 : 2;
+                    matches.addAll(fuzzyIndex.findTasks(word, maxDistance));
+                }
+            }
+        }
+
+        // each match is numbered in O(log n) time, rather than walking the list up to the last match
+        SortedMap<Integer, Task> taskMap = new TreeMap<>();
+        for (Task task: matches) {
+            taskMap.put(findIndex(task), task);
+        }
+        emitSearchEvent(event, SearchEvent.KIND_FUZZY_KEYWORDS, taskMap.size(), false, keywords);
+        return taskMap;
+    }
+
+    /**
+     * Returns a Map of {@link kayu.task.Task} and their numberings that match a {@link BooleanQuery}.
+     *
+     * @param query Boolean query String, such as <code>report AND (q3 OR q4) NOT draft type:D</code>.
+     * @return A Map of {@link kayu.task.Task} that matches <code>query</code>.
+     * @throws KayuException If <code>query</code> is not well formed.
+     */
+    public Map<Integer, Task> findTasksByQuery(String query) throws KayuException {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        BooleanQuery booleanQuery = BooleanQuery.parse(query);
+        PostingList ids = booleanQuery.evaluate(postingIndex, tasks);
+
+        SortedMap<Integer, Task> taskMap = new TreeMap<>();
+        for (int idx = 0; idx < ids.size(); idx++) {
+            Task task = getTaskById(ids.get(idx));
+            taskMap.put(findIndex(task), task);
+        }
+        emitSearchEvent(event, SearchEvent.KIND_QUERY, taskMap.size(), false, query);
+        return taskMap;
+    }
+
+    /**
+     * Returns a Map of {@link kayu.task.Task} and their numberings whose descriptions match <code>pattern</code>.
+     * When every match must contain <code>requiredLiteral</code>, only the tasks found by a keyword
+     * search for it are matched against <code>pattern</code>.
+     *
+     * @param pattern Compiled regular expression to find in descriptions.
+     * @param requiredLiteral Text every match contains, or an empty String if unknown.
+     * @param deadlineNanos Time, in terms of {@link System#nanoTime()}, to give up matching at.
+     * @return A Map of {@link kayu.task.Task} whose description matches <code>pattern</code>.
+     * @throws KayuException If matching does not complete by the deadline.
+     */
+    public Map<Integer, Task> findTasksByPattern(Pattern pattern, String requiredLiteral, long deadlineNanos)
+            throws KayuException {
+
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        TimedMatcher matcher = new TimedMatcher(pattern, deadlineNanos);
+        SortedMap<Integer, Task> taskMap = new TreeMap<>();
+
+        if (requiredLiteral.isBlank()) {
+            int idx = 0;
+            for (Task task: tasks) {
+                addIfMatching(taskMap, idx++, task, matcher);
+            }
+        } else {
+            for (Map.Entry<Integer, Task> candidate: findTasksByKeywords(requiredLiteral).entrySet()) {
+                addIfMatching(taskMap, candidate.getKey(), candidate.getValue(), matcher);
             }
         }
+        emitSearchEvent(event, SearchEvent.KIND_PATTERN, taskMap.size(), false, pattern.pattern());
+        return taskMap;
+    }
+
+    private static void addIfMatching(Map<Integer, Task> taskMap, int idx, Task task, TimedMatcher matcher)
+            throws KayuException {
+
+        if (matcher.find(task.getDescription())) {
+            taskMap.put(idx, task);
+        }
     }
 }
@@ -0,0 +1,96 @@
+package kayu.service;
+
+import java.util.regex.Pattern;
+
+import kayu.exception.KayuException;
+
+/**
+ * Matches {@link Pattern}s against descriptions until a deadline. {@link java.util.regex.Matcher}s
+ * cannot be interrupted, so the text is wrapped in a {@link CharSequence} that gives up once the
+ * deadline passes, which stops patterns that backtrack catastrophically.
+ */
+class TimedMatcher {
+
+    // Error message formats.
+    protected static final String ERROR_PATTERN_TIMEOUT = "Pattern '%s' took too long to match and was stopped.";
+
+    // Number of characters read between checks of the clock.
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final Pattern pattern;
+    private final long deadlineNanos;
+    private int readsUntilCheck = CHECK_INTERVAL;
+
+    /**
+     * Initializes a TimedMatcher for <code>pattern</code> that gives up at <code>deadlineNanos</code>.
+     *
+     * @param pattern {@link Pattern} to match.
+     * @param deadlineNanos Deadline in terms of {@link System#nanoTime()}.
+     */
+    TimedMatcher(Pattern pattern, long deadlineNanos) {
+        this.pattern = pattern;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Checks whether <code>pattern</code> can be found in <code>text</code>.
+     *
+     * @param text Text to search.
+     * @return Boolean true if found, else false.
+     * @throws KayuException If the deadline passes while matching.
+     */
+    boolean find(String text) throws KayuException {
+        try {
+            return pattern.matcher(new TimedCharSequence(text)).find();
+        } catch (TimeoutException exception) {
+            throw new KayuException(String.format(ERROR_PATTERN_TIMEOUT, pattern.pattern()));
+        }
+    }
+
+    private void checkDeadline() {
+        if (--readsUntilCheck > 0) {
+            return;
+        }
+        readsUntilCheck = CHECK_INTERVAL;
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new TimeoutException();
+        }
+    }
+
+    private class TimedCharSequence implements CharSequence {
+        private final String text;
+
+        private TimedCharSequence(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkDeadline();
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new TimedCharSequence(text.substring(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static class TimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private TimeoutException() {
+            super(null, null, false, false); // no stack trace needed
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package kayu.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import kayu.task.Deadline;
+import kayu.task.Event;
+import kayu.task.Task;
+
+/**
+ * Indexes the undone {@link kayu.task.Deadline}s and {@link kayu.task.Event}s held by {@link TaskList}
+ * in a binary min-heap ordered by their date and time. Each {@link kayu.task.Task} remembers its slot
+ * in the heap so that it can be removed in O(log n) once done or deleted.
+ */
+class UpcomingTaskHeap {
+
+    private final List<Task> heap = new ArrayList<>();
+    private final List<LocalDateTime> dueDateTimes = new ArrayList<>();
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+
+    /**
+     * Returns the number of {@link kayu.task.Task}s indexed.
+     *
+     * @return Number of tasks indexed.
+     */
+    int size() {
+        return heap.size();
+    }
+
+    /**
+     * Removes every {@link kayu.task.Task} from the heap.
+     */
+    void clear() {
+        heap.clear();
+        dueDateTimes.clear();
+        positions.clear();
+    }
+
+    /**
+     * Rebuilds the heap from <code>tasks</code> in O(n).
+     *
+     * @param tasks {@link kayu.task.Task}s to index.
+     */
+    void rebuild(List<Task> tasks) {
+        clear();
+        for (Task task: tasks) {
+            LocalDateTime dueDateTime = getDueDateTime(task);
+            if (dueDateTime != null && !task.isDone()) {
+                positions.put(task, heap.size());
+                heap.add(task);
+                dueDateTimes.add(dueDateTime);
+            }
+        }
+        for (int idx = heap.size() / 2 - 1; idx >= 0; idx--) {
+            siftDown(idx);
+        }
+    }
+
+    /**
+     * Adds <code>task</code> to the heap if it is an undone {@link kayu.task.Deadline} or {@link kayu.task.Event}.
+     *
+     * @param task {@link kayu.task.Task} to index.
+     */
+    void add(Task task) {
+        LocalDateTime dueDateTime = getDueDateTime(task);
+        if (dueDateTime == null || task.isDone() || positions.containsKey(task)) {
+            return;
+        }
+        int idx = heap.size();
+        positions.put(task, idx);
+        heap.add(task);
+        dueDateTimes.add(dueDateTime);
+        siftUp(idx);
+    }
+
+    /**
+     * Removes <code>task</code> from the heap, if present.
+     *
+     * @param task {@link kayu.task.Task} to remove.
+     */
+    void remove(Task task) {
+        Integer idx = positions.remove(task);
+        if (idx == null) {
+            return;
+        }
+
+        int lastIdx = heap.size() - 1;
+        Task lastTask = heap.remove(lastIdx);
+        LocalDateTime lastDueDateTime = dueDateTimes.remove(lastIdx);
+        if (idx == lastIdx) {
+            return;
+        }
+        place(idx, lastTask, lastDueDateTime);
+        siftDown(idx);
+        siftUp(idx);
+    }
+
+    /**
+     * Returns the <code>count</code> {@link kayu.task.Task}s due soonest, in order, in O(k log k)
+     * by only exploring the heap nodes that can still be among the soonest.
+     *
+     * @param count Maximum number of {@link kayu.task.Task}s to return.
+     * @return List of the soonest {@link kayu.task.Task}s.
+     */
+    List<Task> peekSoonest(int count) {
+        List<Task> soonest = new ArrayList<>(Math.min(count, heap.size()));
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(Comparator.comparing(dueDateTimes::get));
+        if (!heap.isEmpty()) {
+            frontier.add(0);
+        }
+
+        while (soonest.size() < count && !frontier.isEmpty()) {
+            int idx = frontier.poll();
+            soonest.add(heap.get(idx));
+            addIfPresent(frontier, 2 * idx + 1);
+            addIfPresent(frontier, 2 * idx + 2);
+        }
+        return soonest;
+    }
+
+    private void addIfPresent(PriorityQueue<Integer> frontier, int idx) {
+        if (idx < heap.size()) {
+            frontier.add(idx);
+        }
+    }
+
+    private void siftUp(int idx) {
+        Task task = heap.get(idx);
+        LocalDateTime dueDateTime = dueDateTimes.get(idx);
+
+        while (idx > 0) {
+            int parentIdx = (idx - 1) / 2;
+            if (!dueDateTime.isBefore(dueDateTimes.get(parentIdx))) {
+                break;
+            }
+            place(idx, heap.get(parentIdx), dueDateTimes.get(parentIdx));
+            idx = parentIdx;
+        }
+        place(idx, task, dueDateTime);
+    }
+
+    private void siftDown(int idx) {
+        Task task = heap.get(idx);
+        LocalDateTime dueDateTime = dueDateTimes.get(idx);
+        int half = heap.size() / 2;
+
+        while (idx < half) {
+            int childIdx = 2 * idx + 1;
+            int rightIdx = childIdx + 1;
+            if (rightIdx < heap.size() && dueDateTimes.get(rightIdx).isBefore(dueDateTimes.get(childIdx))) {
+                childIdx = rightIdx;
+            }
+            if (!dueDateTimes.get(childIdx).isBefore(dueDateTime)) {
+                break;
+            }
+            place(idx, heap.get(childIdx), dueDateTimes.get(childIdx));
+            idx = childIdx;
+        }
+        place(idx, task, dueDateTime);
+    }
+
+    private void place(int idx, Task task, LocalDateTime dueDateTime) {
+        heap.set(idx, task);
+        dueDateTimes.set(idx, dueDateTime);
+        positions.put(task, idx);
+    }
+
+    // only Deadlines and Events have a date and time to be ordered by
+    private static LocalDateTime getDueDateTime(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            return LocalDateTime.of(deadline.getByDate(), deadline.getByTime());
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            return LocalDateTime.of(event.getAtDate(), event.getAtTime());
+        }
+        return null;
+    }
+}
@@ -1,20 +1,65 @@
 package kayu.storage;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 import kayu.exception.StorageException;
 import kayu.note.Note;
 
 /**
  * Handles the reading and writing of {@link kayu.note.Note} into files.
+ * The notes file only holds an index of content hashes, one per line. Each distinct description is
+ * stored once, compressed, in a blob file named by its hash, and is read only when the note is first used.
+ * Every blob the index refers to is checked to exist when loading, so that a missing one fails the load
+ * rather than a later command.
  */
 public class NoteStorage extends Storage<Note> {
 
     protected static final String ERROR_EMPTY_NOTE_DESC = "Note cannot have an empty description.";
+    protected static final String ERROR_UNABLE_TO_LOAD_NOTE = "Note content %s cannot be loaded.";
+    protected static final String ERROR_UNABLE_TO_SAVE_NOTE = "Note content cannot be saved.";
+
+    // Prefix of index lines which refer to a blob, rather than holding the description itself.
+    protected static final String HASH_PREFIX = "@sha256:";
 
     // Default task file directory.
     private static final String DEFAULT_FILE_PATH = "data/notes.txt";
 
+    // Folder, within the notes file directory, holding the compressed descriptions.
+    private static final String BLOB_DIRECTORY_NAME = "note-blobs";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final Pattern HASH_FORMAT = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path blobDirectory;
+
+    // hashes of notes already loaded or saved, so unchanged notes are never read or hashed again
+    private final Map<Note, String> knownHashes = new WeakHashMap<>();
+
+    // hashes in the notes file as last loaded or saved, so blobs are only swept once one is no longer referred to
+    private Set<String> savedHashes = new HashSet<>();
+
     private NoteStorage(String directoryPath, String filePath) {
         super(directoryPath, filePath);
+        this.blobDirectory = Paths.get(directoryPath, BLOB_DIRECTORY_NAME);
     }
 
     /**
@@ -41,11 +86,33 @@ public class NoteStorage extends Storage<Note> {
      * {@inheritDoc}
      */
     @Override
+    protected List<Note> decodeAll(List<String> lines) throws StorageException {
+        savedHashes.clear();
+        return super.decodeAll(lines);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Lines which are not hashes are read as descriptions, as written by earlier versions,
+     * and are moved into blobs on the next save.
+     */
+    @Override
     protected Note decode(String encoded) throws StorageException {
         if (encoded.isBlank()) {
             throw new StorageException(ERROR_EMPTY_NOTE_DESC);
         }
-        return new Note(encoded);
+        String hash = encoded.substring(Math.min(HASH_PREFIX.length(), encoded.length()));
+        if (!encoded.startsWith(HASH_PREFIX) || !HASH_FORMAT.matcher(hash).matches()) {
+            return new Note(encoded);
+        }
+        if (!Files.isRegularFile(blobDirectory.resolve(hash))) {
+            throw new StorageException(String.format(ERROR_UNABLE_TO_LOAD_NOTE, hash));
+        }
+
+        savedHashes.add(hash);
+        Note note = new Note(() -> readBlob(hash));
+        knownHashes.put(note, hash);
+        return note;
     }
 
     /**
@@ -53,6 +120,109 @@ public class NoteStorage extends Storage<Note> {
      */
     @Override
     protected String encode(Note decoded) {
-        return decoded.toString();
+        String hash = knownHashes.get(decoded);
+        if (hash == null) {
+            hash = writeBlob(decoded.getDescription());
+            knownHashes.put(decoded, hash);
+        }
+        savedHashes.add(hash);
+        return HASH_PREFIX + hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If a hash saved before is no longer referred to, blobs no longer referred to by any
+     * {@link kayu.note.Note} are deleted afterwards.
+     */
+    @Override
+    protected void write(List<Note> list) throws StorageException {
+        Set<String> previousHashes = savedHashes;
+        savedHashes = new HashSet<>();
+        super.write(list);
+        if (!savedHashes.containsAll(previousHashes)) {
+            deleteUnusedBlobs();
+        }
+    }
+
+    private String readBlob(String hash) throws StorageException {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(blobDirectory.resolve(hash)))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+
+        } catch (IOException exception) {
+            throw new StorageException(String.format(ERROR_UNABLE_TO_LOAD_NOTE, hash));
+        }
+    }
+
+    // identical descriptions share one blob, so a blob that exists is never written again
+    private String writeBlob(String description) throws StorageException {
+        byte[] content = description.getBytes(StandardCharsets.UTF_8);
+        String hash = hash(content);
+        Path blob = blobDirectory.resolve(hash);
+        if (Files.exists(blob)) {
+            return hash;
+        }
+
+        try {
+            Files.createDirectories(blobDirectory);
+            Path tempBlob = blobDirectory.resolve(hash + TEMP_FILE_SUFFIX);
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(tempBlob))) {
+                output.write(content);
+            }
+            Files.move(tempBlob, blob, StandardCopyOption.REPLACE_EXISTING);
+            countBytesWritten(Files.size(blob));
+            return hash;
+
+        } catch (IOException exception) {
+            throw new StorageException(ERROR_UNABLE_TO_SAVE_NOTE);
+        }
+    }
+
+    private void deleteUnusedBlobs() throws StorageException {
+        if (!Files.isDirectory(blobDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> blobs = Files.newDirectoryStream(blobDirectory)) {
+            Set<Path> unusedBlobs = new HashSet<>();
+            for (Path blob: blobs) {
+                if (!savedHashes.contains(blob.getFileName().toString())) {
+                    unusedBlobs.add(blob);
+                }
+            }
+            forgetUnsavedNotes();
+            for (Path blob: unusedBlobs) {
+                Files.delete(blob);
+            }
+        } catch (IOException exception) {
+            throw new StorageException(ERROR_UNABLE_TO_SAVE);
+        }
+    }
+
+    // notes still held elsewhere are read in before their blob goes, and are written afresh if saved again
+    private void forgetUnsavedNotes() throws StorageException {
+        Iterator<Map.Entry<Note, String>> entries = knownHashes.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Note, String> entry = entries.next();
+            Note note = entry.getKey();
+            if (note != null && !savedHashes.contains(entry.getValue())) {
+                note.getDescription();
+                entries.remove();
+            }
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte value: digest) {
+                hex.append(Character.forDigit((value >> 4) & 0xF, 16))
+                        .append(Character.forDigit(value & 0xF, 16));
+            }
+            return hex.toString();
+
+        } catch (NoSuchAlgorithmException exception) {
+            throw new AssertionError(exception); // every Java platform supports SHA-256
+        }
     }
 }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,11 +24,21 @@ public abstract class Storage<T> {
 
     // Assert error templates.
     protected static final String ASSERT_FAIL_IMPROPER_FILEPATH = "Filepath specified is not legitimate.";
+    protected static final String ASSERT_FAIL_NOT_DEFERRING = "Saves should be deferred before being committed.";
 
     // Default task file directory.
     private final String directoryPath;
     private final String filePath;
 
+    // while deferring, only the most recent list saved is kept, to be written once when committed
+    private int deferDepth = 0;
+    private List<T> deferredList;
+    private final List<List<T>> outerDeferredLists = new ArrayList<>();
+
+    private long writeNanos = 0;
+    private long encodeNanos = 0;
+    private long bytesWritten = 0;
+
     /**
      * Initializes the {@link kayu.storage.Storage}.
      *
@@ -54,9 +65,21 @@ public abstract class Storage<T> {
      * @throws StorageException If unable to read/write to file.
      */
     public List<T> load() throws StorageException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
         initializeDirectoryAndFile();
         List<String> lines = readFile();
-        return decodeAll(lines);
+        List<T> list = decodeAll(lines);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = StorageEvent.OPERATION_LOAD;
+            event.filePath = filePath;
+            event.itemCount = list.size();
+            event.bytes = new File(filePath).length();
+            event.commit();
+        }
+        return list;
     }
 
     private void initializeDirectoryAndFile() throws StorageException {
@@ -93,7 +116,7 @@ public abstract class Storage<T> {
         }
     }
 
-    private List<T> decodeAll(List<String> lines) throws StorageException {
+    protected List<T> decodeAll(List<String> lines) throws StorageException {
         return lines.stream()
                 .map(this::decode)
                 .collect(Collectors.toList());
@@ -101,7 +124,7 @@ public abstract class Storage<T> {
 
     protected abstract T decode(String encoded) throws StorageException;
 
-    private List<String> encodeAll(List<T> list) {
+    protected List<String> encodeAll(List<T> list) {
         return list.stream()
                 .map(this::encode)
                 .collect(Collectors.toList());
@@ -111,15 +134,135 @@ public abstract class Storage<T> {
 
     /**
      * Saves the current list of {@link kayu.task.Task} into file memory.
+     * While saves are deferred, <code>list</code> is only held until {@link #commitSaves()},
+     * so it should not be changed afterwards.
      *
      * @param list List of {@link kayu.task.Task} to write to file.
      * @throws StorageException If unable to read/write to file.
      */
     public void save(List<T> list) throws StorageException {
+        if (deferDepth > 0) {
+            deferredList = list;
+            return;
+        }
+        timedWrite(list);
+    }
+
+    /**
+     * Defers every save until {@link #commitSaves()} or {@link #discardSaves()}, so that a run of
+     * changes is written to file once, rather than once per change. Deferrals can be nested, and
+     * each is ended by exactly one commit or discard. Only the outermost commit writes to file.
+     */
+    public void deferSaves() {
+        if (deferDepth > 0) {
+            outerDeferredLists.add(deferredList);
+        }
+        deferDepth++;
+    }
+
+    /**
+     * Ends the innermost deferral, keeping the lists saved during it. If it is the outermost deferral,
+     * the most recent list saved, if any, is written to file.
+     *
+     * @throws StorageException If unable to read/write to file.
+     */
+    public void commitSaves() throws StorageException {
+        assert (deferDepth > 0) : ASSERT_FAIL_NOT_DEFERRING;
+        deferDepth--;
+        if (deferDepth > 0) {
+            outerDeferredLists.remove(outerDeferredLists.size() - 1);
+            return;
+        }
+
+        List<T> list = deferredList;
+        deferredList = null;
+        if (list != null) {
+            timedWrite(list);
+        }
+    }
+
+    /**
+     * Ends the innermost deferral, forgetting the lists saved during it, so the file is left as it
+     * was when the deferral began.
+     */
+    public void discardSaves() {
+        assert (deferDepth > 0) : ASSERT_FAIL_NOT_DEFERRING;
+        deferDepth--;
+        deferredList = (deferDepth > 0) ? outerDeferredLists.remove(outerDeferredLists.size() - 1) : null;
+    }
+
+    /**
+     * Returns the total time spent writing to file, so that the time a command spends saving can be
+     * told apart from the rest of its execution.
+     *
+     * @return Nanoseconds spent writing to file since this Storage was initialized.
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    /**
+     * Returns the part of {@link #getWriteNanos()} spent encoding items into lines, rather than writing them.
+     *
+     * @return Nanoseconds spent encoding since this Storage was initialized.
+     */
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * Returns the total size of the files written.
+     *
+     * @return Number of bytes written since this Storage was initialized.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Adds <code>byteCount</code> bytes written to a file other than the one this Storage saves to.
+     *
+     * @param byteCount Number of bytes written.
+     */
+    protected void countBytesWritten(long byteCount) {
+        bytesWritten += byteCount;
+    }
+
+    private void timedWrite(List<T> list) throws StorageException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        long startBytesWritten = bytesWritten;
+        try {
+            write(list);
+        } finally {
+            writeNanos += System.nanoTime() - startNanos;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = StorageEvent.OPERATION_WRITE;
+            event.filePath = filePath;
+            event.itemCount = list.size();
+            event.bytes = bytesWritten - startBytesWritten;
+            event.commit();
+        }
+    }
+
+    /**
+     * Encodes <code>list</code> and writes it to file, replacing its contents.
+     *
+     * @param list List of {@link kayu.task.Task} to write to file.
+     * @throws StorageException If unable to read/write to file.
+     */
+    protected void write(List<T> list) throws StorageException {
         try {
             Path filePath = Paths.get(this.filePath);
+            long startNanos = System.nanoTime();
             List<String> lines = this.encodeAll(list);
+            encodeNanos += System.nanoTime() - startNanos;
             Files.write(filePath, lines);
+            bytesWritten += Files.size(filePath);
 
         } catch (IOException exception) {
             throw new StorageException(ERROR_UNABLE_TO_SAVE);
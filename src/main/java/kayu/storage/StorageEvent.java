@@ -0,0 +1,35 @@
+package kayu.storage;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning {@link Storage} loading or writing a whole file.
+ */
+@Name("kayu.Storage")
+@Label("Storage")
+@Category("Kayu")
+@Description("Data file loaded or written")
+class StorageEvent extends Event {
+
+    static final String OPERATION_LOAD = "Load";
+    static final String OPERATION_WRITE = "Write";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("File Path")
+    String filePath;
+
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Bytes")
+    @Description("Bytes read or written, including note contents written")
+    @DataAmount
+    long bytes;
+}
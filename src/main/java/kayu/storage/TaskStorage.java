@@ -3,6 +3,8 @@ package kayu.storage;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import kayu.exception.StorageException;
 import kayu.task.Deadline;
@@ -20,6 +22,16 @@ public class TaskStorage extends Storage<Task> {
     // Default task file directory.
     private static final String DEFAULT_FILE_PATH = "data/tasks.txt";
 
+    // Number of fields encoded for each kind of task, before its optional ID.
+    private static final int TODO_FIELD_COUNT = 3;
+    private static final int DATED_FIELD_COUNT = 5;
+
+    // Keyword of the optional first line, holding the ID the next task added is given.
+    private static final String NEXT_ID_KEYWORD = "N";
+
+    // kept even when the task holding the largest ID is deleted, so that its ID is never given again
+    private long nextId = Task.NO_ID + 1;
+
     private TaskStorage(String directoryPath, String filePath) {
         super(directoryPath, filePath);
     }
@@ -44,13 +56,64 @@ public class TaskStorage extends Storage<Task> {
         return new TaskStorage(directoryPath, filePath);
     }
 
+    /**
+     * Returns the ID the next {@link kayu.task.Task} added should be given, as last loaded or saved.
+     *
+     * @return ID after every ID given so far.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Sets the ID the next {@link kayu.task.Task} added should be given, to be saved with the tasks.
+     * It is never lowered, so that an ID given before is not given again.
+     *
+     * @param nextId ID after every ID given so far.
+     */
+    public void setNextId(long nextId) {
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
     /**
      * {@inheritDoc}
+     * A first line holding the next ID, which files of earlier versions lack, is read into {@link #getNextId()}.
+     */
+    @Override
+    protected List<Task> decodeAll(List<String> lines) throws StorageException {
+        String nextIdPrefix = NEXT_ID_KEYWORD + Task.SPLIT_TEMPLATE;
+        if (lines.isEmpty() || !lines.get(0).startsWith(nextIdPrefix)) {
+            return super.decodeAll(lines);
+        }
+        setNextId(decodeId(lines.get(0).substring(nextIdPrefix.length())));
+        return super.decodeAll(lines.subList(1, lines.size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Entries without an ID, as written by earlier versions, are decoded without one.
      */
     @Override
     protected Task decode(String encoded) throws StorageException {
         String[] taskAsArray = encoded.split(Task.SPLIT_TEMPLATE);
+        Task task = decodeDetails(taskAsArray, encoded);
+        int fieldCount = task.getKeyword().equals(Todo.KEYWORD) ? TODO_FIELD_COUNT : DATED_FIELD_COUNT;
+        if (taskAsArray.length > fieldCount) {
+            task.setId(decodeId(taskAsArray[fieldCount]));
+        }
+        return task;
+    }
+
+    // fields that are not IDs were always ignored, so are still decoded as a task without one
+    private static long decodeId(String encodedId) {
+        try {
+            return Math.max(Long.parseLong(encodedId), Task.NO_ID);
+        } catch (NumberFormatException exception) {
+            return Task.NO_ID;
+        }
+    }
 
+    private Task decodeDetails(String[] taskAsArray, String encoded) throws StorageException {
         try {
             String keyword = taskAsArray[0];
             boolean isDone = taskAsArray[1].equals(Task.DONE);
@@ -85,6 +148,23 @@ public class TaskStorage extends Storage<Task> {
      */
     @Override
     protected String encode(Task decoded) {
-        return decoded.toEncodedString();
+        String encoded = decoded.toEncodedString();
+        return decoded.hasId() ? encoded + Task.SPLIT_TEMPLATE + decoded.getId() : encoded;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The next ID is written first, once any ID has been given.
+     */
+    @Override
+    protected List<String> encodeAll(List<Task> list) {
+        List<String> lines = super.encodeAll(list);
+        if (nextId == Task.NO_ID + 1) {
+            return lines;
+        }
+        List<String> linesWithNextId = new ArrayList<>(lines.size() + 1);
+        linesWithNextId.add(NEXT_ID_KEYWORD + Task.SPLIT_TEMPLATE + nextId);
+        linesWithNextId.addAll(lines);
+        return linesWithNextId;
     }
 }
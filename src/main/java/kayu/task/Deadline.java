@@ -64,17 +64,19 @@ public class Deadline extends Task {
     }
 
     /**
-     * Provides a formatted String of the {@link #KEYWORD} field.
-     *
-     * @return Formatted String for field {@link #KEYWORD}.
+     * {@inheritDoc}
      */
-    private String getFormattedBy() {
-        return "("
-                + SPLIT_WORD
-                + ": "
-                + byDate
-                + " " + byTime
-                + ")";
+    @Override
+    public String getKeyword() {
+        return KEYWORD;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Task copyDetails() {
+        return new Deadline(getDescription(), isDone(), byDate, byTime);
     }
 
     /**
@@ -95,7 +97,11 @@ public class Deadline extends Task {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
-        return '[' + KEYWORD + ']' + super.toString() + "\n   " + getFormattedBy();
+    public void renderTo(StringBuilder output) {
+        output.append('[').append(KEYWORD).append(']');
+        super.renderTo(output);
+        output.append("\n   (").append(SPLIT_WORD).append(": ");
+        renderDateTime(output, byDate, byTime);
+        output.append(')');
     }
 }
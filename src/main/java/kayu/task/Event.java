@@ -64,17 +64,19 @@ public class Event extends Task {
     }
 
     /**
-     * Provides a formatted String of the {@link #KEYWORD} field.
-     *
-     * @return Formatted String for field {@link #KEYWORD}.
+     * {@inheritDoc}
      */
-    private String getFormattedAt() {
-        return "("
-                + SPLIT_WORD
-                + ": "
-                + atDate
-                + " " + atTime
-                + ")";
+    @Override
+    public String getKeyword() {
+        return KEYWORD;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Task copyDetails() {
+        return new Event(getDescription(), isDone(), atDate, atTime);
     }
 
     /**
@@ -95,7 +97,11 @@ public class Event extends Task {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
-        return '[' + KEYWORD + ']' + super.toString() + "\n   " + getFormattedAt();
+    public void renderTo(StringBuilder output) {
+        output.append('[').append(KEYWORD).append(']');
+        super.renderTo(output);
+        output.append("\n   (").append(SPLIT_WORD).append(": ");
+        renderDateTime(output, atDate, atTime);
+        output.append(')');
     }
 }
@@ -1,5 +1,8 @@
 package kayu.task;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 /**
  * Represents the abstract class that acts as a base for all tasks handled by {@link kayu.Kayu}.
  */
@@ -14,8 +17,25 @@ public abstract class Task {
     /** Not done state for encoding/decoding. */
     public static final String NOT_DONE = "0";
 
+    /** ID of a Task that has not been assigned one yet. */
+    public static final long NO_ID = 0;
+
+    // Extra characters rendered around the description, used to size a rendering up front.
+    private static final int RENDERED_LENGTH_ESTIMATE = 40;
+
+    // Two-digit renderings of 0 to 99, so date and time fields are written without formatting them.
+    private static final char[] DIGIT_PAIRS = new char[200];
+
+    static {
+        for (int value = 0; value < 100; value++) {
+            DIGIT_PAIRS[value * 2] = (char) ('0' + value / 10);
+            DIGIT_PAIRS[value * 2 + 1] = (char) ('0' + value % 10);
+        }
+    }
+
     private final String description;
     private boolean isDone;
+    private long id = NO_ID;
 
     /**
      * Initializes a new Task instance.
@@ -48,6 +68,58 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns the keyword identifying the type of the Task, as used for encoding.
+     *
+     * @return Keyword of the Task type as a String.
+     */
+    public abstract String getKeyword();
+
+    /**
+     * Returns the ID of the Task, which stays the same however the Task is renumbered.
+     *
+     * @return ID of the Task, or {@link #NO_ID} if not assigned yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Updates the ID of the Task instance.
+     *
+     * @param id New positive ID.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Checks if the Task has been assigned an ID.
+     *
+     * @return Boolean true if assigned an ID, else false.
+     */
+    public boolean hasId() {
+        return id != NO_ID;
+    }
+
+    /**
+     * Returns a new Task with the same ID, details and completion state as this Task.
+     *
+     * @return Copy of this Task.
+     */
+    public Task copy() {
+        Task copy = copyDetails();
+        copy.id = id;
+        return copy;
+    }
+
+    /**
+     * Returns a new Task with the same details and completion state as this Task.
+     *
+     * @return Copy of this Task, without an ID.
+     */
+    protected abstract Task copyDetails();
+
     /**
      * Returns the completion state of the Task.
      *
@@ -90,11 +162,56 @@ public abstract class Task {
         return ((isDone) ? DONE : NOT_DONE) + SPLIT_TEMPLATE + description;
     }
 
+    /**
+     * Appends the String representation of this Task, as given by {@link #toString()}, to <code>output</code>.
+     * Each part is appended in place, so no intermediate Strings are created.
+     *
+     * @param output StringBuilder to append to.
+     */
+    public void renderTo(StringBuilder output) {
+        output.append(getStatusIcon()).append(' ').append(description);
+    }
+
+    /**
+     * Appends <code>date</code> and <code>time</code> to <code>output</code>, as their own toString
+     * methods give them. Dates with four-digit years and times in whole minutes, which are all those
+     * entered through commands, are written from precomputed digit pairs directly.
+     *
+     * @param output StringBuilder to append to.
+     * @param date Date to append.
+     * @param time Time to append.
+     */
+    protected static void renderDateTime(StringBuilder output, LocalDate date, LocalTime time) {
+        int year = date.getYear();
+        if (year >= 0 && year <= 9999) {
+            appendDigitPair(output, year / 100);
+            appendDigitPair(output, year % 100);
+            appendDigitPair(output.append('-'), date.getMonthValue());
+            appendDigitPair(output.append('-'), date.getDayOfMonth());
+        } else {
+            output.append(date);
+        }
+        output.append(' ');
+
+        if (time.getSecond() == 0 && time.getNano() == 0) {
+            appendDigitPair(output, time.getHour());
+            appendDigitPair(output.append(':'), time.getMinute());
+        } else {
+            output.append(time);
+        }
+    }
+
+    private static void appendDigitPair(StringBuilder output, int value) {
+        output.append(DIGIT_PAIRS, value * 2, 2);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String toString() {
-        return getStatusIcon() + ' ' + description;
+        StringBuilder output = new StringBuilder(description.length() + RENDERED_LENGTH_ESTIMATE);
+        renderTo(output);
+        return output.toString();
     }
 }
@@ -28,6 +28,22 @@ public class Todo extends Task {
         super(description);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getKeyword() {
+        return KEYWORD;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Task copyDetails() {
+        return new Todo(getDescription(), isDone());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -40,7 +56,8 @@ public class Todo extends Task {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
-        return '[' + KEYWORD + ']' + super.toString();
+    public void renderTo(StringBuilder output) {
+        output.append('[').append(KEYWORD).append(']');
+        super.renderTo(output);
     }
 }
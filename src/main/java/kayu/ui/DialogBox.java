@@ -59,6 +59,15 @@ public class DialogBox extends HBox {
         setAlignment(Pos.TOP_LEFT);
     }
 
+    /**
+     * Replaces the text shown, such as when a response arrives for a DialogBox created in advance.
+     *
+     * @param text Text to show.
+     */
+    public void setText(String text) {
+        dialog.setText(text);
+    }
+
     /**
      * Creates the respective user DialogBox for render.
      *
@@ -67,7 +76,11 @@ public class DialogBox extends HBox {
      * @return A DialogBox representing the user's input.
      */
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        DialogEvent event = new DialogEvent();
+        event.begin();
+        DialogBox db = new DialogBox(text, img);
+        emitDialogEvent(event, DialogEvent.SPEAKER_USER, text);
+        return db;
     }
 
     /**
@@ -78,8 +91,20 @@ public class DialogBox extends HBox {
      * @return A DialogBox representing Kayu's response text.
      */
     public static DialogBox getKayuDialog(String text, Image img) {
+        DialogEvent event = new DialogEvent();
+        event.begin();
         DialogBox db = new DialogBox(text, img);
         db.flip();
+        emitDialogEvent(event, DialogEvent.SPEAKER_KAYU, text);
         return db;
     }
+
+    private static void emitDialogEvent(DialogEvent event, String speaker, String text) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.speaker = speaker;
+            event.textLength = text.length();
+            event.commit();
+        }
+    }
 }
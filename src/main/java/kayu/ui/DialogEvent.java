@@ -0,0 +1,28 @@
+package kayu.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the creation of a {@link DialogBox}, including loading its layout.
+ */
+@Name("kayu.Dialog")
+@Label("Dialog")
+@Category({"Kayu", "UI"})
+@Description("Dialog box created")
+@StackTrace(false)
+class DialogEvent extends Event {
+
+    static final String SPEAKER_USER = "User";
+    static final String SPEAKER_KAYU = "Kayu";
+
+    @Label("Speaker")
+    String speaker;
+
+    @Label("Text Length")
+    int textLength;
+}
@@ -4,6 +4,7 @@ import static kayu.KayuInterface.ASSERT_FAIL_ABSENT_IMAGE;
 
 import java.io.InputStream;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -11,6 +12,7 @@ import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
+import kayu.CommandExecutor;
 import kayu.Kayu;
 
 /**
@@ -22,6 +24,9 @@ public class MainWindow extends AnchorPane {
     private static final String KAYU_IMAGE_PATH = "/images/duke.png";
     private static final String USER_IMAGE_PATH = "/images/user.png";
 
+    // Shown in place of a response until it arrives.
+    private static final String PENDING_RESPONSE = "...";
+
     @FXML
     private ScrollPane scrollPane;
 
@@ -34,7 +39,7 @@ public class MainWindow extends AnchorPane {
     @FXML
     private Button sendButton;
 
-    private Kayu kayu;
+    private CommandExecutor commandExecutor;
     private Image userImage;
     private Image kayuImage;
 
@@ -64,29 +69,32 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Initializes the Kayu program.
+     * Initializes the Kayu program, which loads its data in the background.
      */
     private void initialiseKayu() {
-        kayu = new Kayu();
-        kayu.initialize();
-        createKayuDialog(kayu.getGreeting());
+        commandExecutor = new CommandExecutor(new Kayu(), Platform::runLater);
+        DialogBox greetingDialog = createKayuDialog(PENDING_RESPONSE);
+        commandExecutor.initialize(greetingDialog::setText);
+    }
+
+    /**
+     * Stops running commands, once those already entered have run.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
     }
 
     /**
      * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * the dialog container. Clears the user input after processing. The command runs in the background, so the reply
+     * shows {@link #PENDING_RESPONSE} until it is ready, and further commands can be entered meanwhile.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = kayu.executeAndRespond(input);
-
         createUserDialog(input);
-        createKayuDialog(response);
-
-        if (kayu.isRecentCommandBye()) {
-            kayu.exit();
-        }
+        DialogBox kayuDialog = createKayuDialog(PENDING_RESPONSE);
+        commandExecutor.submit(input, kayuDialog::setText);
     }
 
     private void createUserDialog(String input) {
@@ -95,8 +103,9 @@ public class MainWindow extends AnchorPane {
         userInput.clear();
     }
 
-    private void createKayuDialog(String response) {
+    private DialogBox createKayuDialog(String response) {
         DialogBox kayuDialog = DialogBox.getKayuDialog(response, kayuImage);
         dialogContainer.getChildren().add(kayuDialog);
+        return kayuDialog;
     }
 }
@@ -0,0 +1,279 @@
+package kayu.workload;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import kayu.server.KayuServer;
+import kayu.service.CommandStats;
+import kayu.service.LatencyHistogram;
+
+/**
+ * Loads a {@link KayuServer} with requests from several connections at once, for a given time, then reports
+ * the throughput and latency percentiles. Each connection sends a run of requests without waiting for their
+ * responses, or pipelines them, then reads every response before sending the next run. Requests either add
+ * a todo of words drawn as by {@link WorkloadGenerator}, or list a window of the tasks, in a given mix.
+ * Latency is measured from when the run a request is in was sent, so it includes the time spent behind the
+ * requests before it. Running it as a program loads a server already serving, as in
+ * <code>java -cp kayu.jar kayu.workload.LoadTestClient --port 8080 --connections 8 --depth 4</code>.
+ */
+public class LoadTestClient {
+
+    // Usage and report messages of the program.
+    protected static final String MESSAGE_USAGE = "Usage: LoadTestClient [--host HOST] [--port PORT]"
+            + " [--connections COUNT] [--depth COUNT] [--seconds COUNT] [--mix READS:WRITES] [--seed SEED]";
+    protected static final String MESSAGE_SENT =
+            "Sent %d request(s) in %.3f s, at %.1f request(s)/s, of which %d failed.";
+    protected static final String MESSAGE_LATENCIES =
+            "Latency in ms: p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f.";
+    protected static final String ERROR_INVALID_COUNT = "Connections, depth and seconds should be positive.";
+    protected static final String ERROR_INVALID_MIX = "Mix weights should not be negative, nor all 0.";
+    protected static final String ERROR_INVALID_RESPONSE = "Response is not valid HTTP: %s";
+
+    private static final String OPTION_HOST = "--host";
+    private static final String OPTION_PORT = "--port";
+    private static final String OPTION_CONNECTIONS = "--connections";
+    private static final String OPTION_DEPTH = "--depth";
+    private static final String OPTION_SECONDS = "--seconds";
+    private static final String OPTION_MIX = "--mix";
+    private static final String OPTION_SEED = "--seed";
+    private static final List<String> VALUE_OPTIONS = List.of(OPTION_HOST, OPTION_PORT, OPTION_CONNECTIONS,
+            OPTION_DEPTH, OPTION_SECONDS, OPTION_MIX, OPTION_SEED);
+    private static final String DEFAULT_HOST = "127.0.0.1";
+    private static final long DEFAULT_CONNECTIONS = 8;
+    private static final long DEFAULT_DEPTH = 1;
+    private static final long DEFAULT_SECONDS = 10;
+    private static final double DEFAULT_READ_WEIGHT = 9;
+    private static final double DEFAULT_WRITE_WEIGHT = 1;
+
+    private static final int WINDOW_LIMIT = 20;
+    private static final int WINDOW_STARTS = 1_000;
+    private static final int DESCRIPTION_WORDS = 3;
+    private static final String CONTENT_LENGTH_HEADER = "content-length:";
+    private static final int STATUS_ERROR_MIN = 400;
+
+    private final String host;
+    private final int port;
+    private final int connectionCount;
+    private final int depth;
+    private final double readRatio;
+    private final String[] vocabulary;
+    private final long seed;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong failedCount = new AtomicLong();
+    private long elapsedNanos = 0;
+
+    /**
+     * Initializes a LoadTestClient loading the server at <code>host</code> and <code>port</code>.
+     *
+     * @param host Host name or address of the server.
+     * @param port Port of the server.
+     * @param connectionCount Number of connections sending requests at once.
+     * @param depth Number of requests each connection sends before reading their responses.
+     * @param readRatio Ratio of requests listing tasks, rather than adding them, between 0 and 1.
+     * @param seed Seed of the requests, so that the same requests are sent for the same seed.
+     */
+    public LoadTestClient(String host, int port, int connectionCount, int depth, double readRatio, long seed) {
+        if (connectionCount <= 0 || depth <= 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_COUNT);
+        }
+        if (!(readRatio >= 0 && readRatio <= 1)) {
+            throw new IllegalArgumentException(ERROR_INVALID_MIX);
+        }
+        this.host = host;
+        this.port = port;
+        this.connectionCount = connectionCount;
+        this.depth = depth;
+        this.readRatio = readRatio;
+        this.vocabulary = new WorkloadGenerator(seed).getVocabulary();
+        this.seed = seed;
+    }
+
+    /**
+     * Sends requests from every connection for <code>durationMillis</code> milliseconds, then waits for the
+     * responses still due.
+     *
+     * @param durationMillis Milliseconds to send requests for.
+     * @throws IOException If a connection fails.
+     */
+    public void run(long durationMillis) throws IOException {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        List<Thread> threads = new ArrayList<>();
+        List<IOException> failures = new ArrayList<>();
+        for (int idx = 0; idx < connectionCount; idx++) {
+            Random random = new Random(seed + idx);
+            Thread thread = new Thread(() -> {
+                try {
+                    drive(random, deadlineNanos);
+                } catch (IOException exception) {
+                    synchronized (failures) {
+                        failures.add(exception);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread: threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+    }
+
+    private void drive(Random random, long deadlineNanos) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream output = new BufferedOutputStream(socket.getOutputStream());
+            InputStream input = new BufferedInputStream(socket.getInputStream());
+            while (System.nanoTime() < deadlineNanos) {
+                for (int idx = 0; idx < depth; idx++) {
+                    output.write(nextRequest(random));
+                }
+                output.flush();
+                long sentNanos = System.nanoTime();
+                for (int idx = 0; idx < depth; idx++) {
+                    if (readResponse(input) >= STATUS_ERROR_MIN) {
+                        failedCount.incrementAndGet();
+                    }
+                    latencies.record(System.nanoTime() - sentNanos);
+                }
+            }
+        }
+    }
+
+    private byte[] nextRequest(Random random) {
+        String request;
+        if (random.nextDouble() < readRatio) {
+            request = "GET " + KayuServer.TASKS_PATH + "?start=" + (random.nextInt(WINDOW_STARTS) + 1)
+                    + "&limit=" + WINDOW_LIMIT + " HTTP/1.1\r\nHost: " + host + "\r\n\r\n";
+        } else {
+            StringBuilder userInput = new StringBuilder("todo");
+            for (int idx = 0; idx < DESCRIPTION_WORDS; idx++) {
+                userInput.append(' ').append(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            byte[] body = userInput.toString().getBytes(StandardCharsets.UTF_8);
+            request = "POST " + KayuServer.COMMANDS_PATH + " HTTP/1.1\r\nHost: " + host
+                    + "\r\nContent-Length: " + body.length + "\r\n\r\n" + userInput;
+        }
+        return request.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // reads the status line and headers, then skips the body, returning the status code
+    private static int readResponse(InputStream input) throws IOException {
+        String statusLine = readLine(input);
+        int contentLength = 0;
+        String header;
+        while (!(header = readLine(input)).isEmpty()) {
+            if (header.toLowerCase().startsWith(CONTENT_LENGTH_HEADER)) {
+                contentLength = Integer.parseInt(header.substring(CONTENT_LENGTH_HEADER.length()).strip());
+            }
+        }
+        if (input.readNBytes(contentLength).length < contentLength) {
+            throw new EOFException();
+        }
+        try {
+            return Integer.parseInt(statusLine.split(" ")[1]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+            throw new IOException(String.format(ERROR_INVALID_RESPONSE, statusLine));
+        }
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int value;
+        while ((value = input.read()) != '\n') {
+            if (value == -1) {
+                throw new EOFException();
+            }
+            if (value != '\r') {
+                line.write(value);
+            }
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the latencies of the requests sent.
+     *
+     * @return {@link LatencyHistogram} of the requests sent.
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Summarizes the throughput and latency percentiles of the requests sent.
+     *
+     * @return Summary String.
+     */
+    public String getReport() {
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        long count = latencies.getCount();
+        double throughput = (elapsedSeconds > 0) ? count / elapsedSeconds : 0;
+        return String.format(MESSAGE_SENT, count, elapsedSeconds, throughput, failedCount.get()) + '\n'
+                + String.format(MESSAGE_LATENCIES,
+                        CommandStats.toMillis(latencies.getValueAtPercentile(50)),
+                        CommandStats.toMillis(latencies.getValueAtPercentile(90)),
+                        CommandStats.toMillis(latencies.getValueAtPercentile(99)),
+                        CommandStats.toMillis(latencies.getValueAtPercentile(99.9)),
+                        CommandStats.toMillis(latencies.getMaxNanos()));
+    }
+
+    /**
+     * Loads a server for the time given, then prints the report.
+     *
+     * @param args Options, as in {@link #MESSAGE_USAGE}.
+     */
+    public static void main(String[] args) {
+        LoadTestClient client;
+        long seconds;
+        try {
+            WorkloadOptions options = new WorkloadOptions(args, VALUE_OPTIONS, List.of());
+            seconds = options.getLong(OPTION_SECONDS, DEFAULT_SECONDS);
+            if (seconds <= 0) {
+                throw new IllegalArgumentException(ERROR_INVALID_COUNT);
+            }
+            double[] mix = options.has(OPTION_MIX)
+                    ? options.getNumbers(OPTION_MIX, 2)
+                    : new double[] {DEFAULT_READ_WEIGHT, DEFAULT_WRITE_WEIGHT};
+            client = new LoadTestClient(options.get(OPTION_HOST, DEFAULT_HOST),
+                    (int) options.getLong(OPTION_PORT, KayuServer.DEFAULT_PORT),
+                    (int) options.getLong(OPTION_CONNECTIONS, DEFAULT_CONNECTIONS),
+                    (int) options.getLong(OPTION_DEPTH, DEFAULT_DEPTH),
+                    (mix[0] < 0 || mix[1] < 0) ? Double.NaN : mix[0] / (mix[0] + mix[1]),
+                    options.getLong(OPTION_SEED, WorkloadGenerator.DEFAULT_SEED));
+
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+            System.out.println(MESSAGE_USAGE);
+            return;
+        }
+
+        try {
+            client.run(TimeUnit.SECONDS.toMillis(seconds));
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+        System.out.println(client.getReport());
+    }
+}
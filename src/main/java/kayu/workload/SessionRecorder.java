@@ -0,0 +1,93 @@
+package kayu.workload;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the commands of a session, each with when it was entered, to a file that {@link SessionReplayer}
+ * can replay. Each line holds the milliseconds since recording began and the user input, separated by a tab.
+ * Lines are written as commands are entered, so the session is kept however the program ends.
+ */
+public class SessionRecorder {
+
+    /** System property setting the file to record sessions to. Nothing is recorded when it is not set. */
+    public static final String FILE_PROPERTY = "kayu.recordSession";
+
+    /** Separates the time of a command from its user input. */
+    public static final char FIELD_SEPARATOR = '\t';
+
+    private final long startNanos = System.nanoTime();
+    private BufferedWriter writer;
+
+    /**
+     * Initializes a SessionRecorder writing to <code>filePath</code>, replacing any session in it,
+     * or recording nothing if <code>filePath</code> is null.
+     *
+     * @param filePath Path of the file to record to, or null.
+     * @throws IOException If unable to create the file.
+     */
+    public SessionRecorder(String filePath) throws IOException {
+        if (filePath == null) {
+            return;
+        }
+        Path path = Paths.get(filePath).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    // records nothing
+    private SessionRecorder() {
+    }
+
+    /**
+     * Generates a SessionRecorder writing to the file set by {@link #FILE_PROPERTY}, if it is set.
+     * If the file cannot be created, nothing is recorded.
+     *
+     * @return Generated SessionRecorder.
+     */
+    public static SessionRecorder generate() {
+        try {
+            return new SessionRecorder(System.getProperty(FILE_PROPERTY));
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            return new SessionRecorder();
+        }
+    }
+
+    /**
+     * Returns whether commands are being recorded.
+     *
+     * @return Boolean true if recording, else false.
+     */
+    public boolean isRecording() {
+        return writer != null;
+    }
+
+    /**
+     * Records <code>userInput</code> as entered just now. If the file cannot be written to,
+     * recording stops, so that the session itself carries on.
+     *
+     * @param userInput User input entered.
+     */
+    public void record(String userInput) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(Long.toString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+            writer.write(FIELD_SEPARATOR);
+            writer.write(userInput);
+            writer.newLine();
+            writer.flush();
+
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package kayu.workload;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import kayu.Kayu;
+import kayu.commands.StatsCommand;
+import kayu.service.CommandStats;
+import kayu.service.LatencyHistogram;
+import kayu.service.Logger;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+
+/**
+ * Replays a session recorded by {@link SessionRecorder} against {@link Kayu}, then reports the throughput and
+ * latency percentiles. Commands are replayed either as fast as possible, or paced as they were recorded. When
+ * paced, latency is measured from when a command was due rather than when it began, so that a slow command
+ * also counts against the commands held up behind it. Running it as a program replays against the data in a
+ * directory other than that of the user, as in
+ * <code>java -cp kayu.jar kayu.workload.SessionReplayer session.txt --directory replay --paced</code>.
+ */
+public class SessionReplayer {
+
+    // Usage and report messages of the program.
+    protected static final String MESSAGE_USAGE =
+            "Usage: SessionReplayer SESSION-FILE [--directory DIR] [--paced]";
+    protected static final String MESSAGE_REPLAYED = "Replayed %d command(s) in %.3f s, at %.1f command(s)/s.";
+    protected static final String MESSAGE_LATENCIES =
+            "Latency in ms: p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f.";
+    protected static final String ERROR_ONE_SESSION_FILE = "One session file should be given.";
+    protected static final String ERROR_INVALID_ENTRY = "Line %d is not a recorded command: %s";
+
+    private static final String OPTION_DIRECTORY = "--directory";
+    private static final String OPTION_PACED = "--paced";
+    private static final String DEFAULT_DIRECTORY = "replay";
+    private static final String TASK_FILE_NAME = "tasks.txt";
+    private static final String NOTE_FILE_NAME = "notes.txt";
+
+    private final Kayu kayu;
+    private final boolean isPaced;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private int commandCount = 0;
+    private long elapsedNanos = 0;
+
+    /**
+     * Initializes a SessionReplayer replaying against <code>kayu</code>, which should already be initialized.
+     *
+     * @param kayu {@link Kayu} to replay against.
+     * @param isPaced Whether to pace commands as recorded, rather than replaying as fast as possible.
+     */
+    public SessionReplayer(Kayu kayu, boolean isPaced) {
+        this.kayu = kayu;
+        this.isPaced = isPaced;
+    }
+
+    /**
+     * Reads a session recorded by {@link SessionRecorder}.
+     *
+     * @param filePath Path of the recorded session.
+     * @return Recorded commands, in the order entered.
+     * @throws IOException If unable to read the file.
+     * @throws IllegalArgumentException If a line is not a recorded command.
+     */
+    public static List<Entry> readSession(String filePath) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+        for (int idx = 0; idx < lines.size(); idx++) {
+            String line = lines.get(idx);
+            int separatorIdx = line.indexOf(SessionRecorder.FIELD_SEPARATOR);
+            try {
+                long offsetMillis = Long.parseLong(line.substring(0, separatorIdx));
+                entries.add(new Entry(offsetMillis, line.substring(separatorIdx + 1)));
+            } catch (NumberFormatException | StringIndexOutOfBoundsException exception) {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_ENTRY, idx + 1, line));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Replays <code>entries</code> in order, stopping after a {@link kayu.commands.ByeCommand}.
+     *
+     * @param entries Recorded commands.
+     */
+    public void replay(List<Entry> entries) {
+        long startNanos = System.nanoTime();
+        long firstOffsetMillis = entries.isEmpty() ? 0 : entries.get(0).offsetMillis;
+        for (Entry entry: entries) {
+            long dueNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(entry.offsetMillis - firstOffsetMillis);
+            if (isPaced) {
+                waitUntil(dueNanos);
+            }
+            long commandStartNanos = isPaced ? dueNanos : System.nanoTime();
+            kayu.executeAndRespond(entry.userInput);
+            latencies.record(System.nanoTime() - commandStartNanos);
+            commandCount++;
+            if (kayu.isRecentCommandBye()) {
+                break;
+            }
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    private static void waitUntil(long dueNanos) {
+        long remainingNanos;
+        while ((remainingNanos = dueNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+
+    /**
+     * Returns the latencies of the commands replayed.
+     *
+     * @return {@link LatencyHistogram} of the commands replayed.
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Summarizes the throughput and latency percentiles of the commands replayed.
+     *
+     * @return Summary String.
+     */
+    public String getReport() {
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        double throughput = (elapsedSeconds > 0) ? commandCount / elapsedSeconds : 0;
+        return String.format(MESSAGE_REPLAYED, commandCount, elapsedSeconds, throughput) + '\n'
+                + String.format(MESSAGE_LATENCIES,
+                        CommandStats.toMillis(latencies.getValueAtPercentile(50)),
+                        CommandStats.toMillis(latencies.getValueAtPercentile(90)),
+                        CommandStats.toMillis(latencies.getValueAtPercentile(99)),
+                        CommandStats.toMillis(latencies.getValueAtPercentile(99.9)),
+                        CommandStats.toMillis(latencies.getMaxNanos()));
+    }
+
+    /**
+     * Replays a recorded session against the data in a directory, then prints the report,
+     * followed by the latencies of each type of command as shown by {@link StatsCommand}.
+     *
+     * @param args Options, as in {@link #MESSAGE_USAGE}.
+     */
+    public static void main(String[] args) {
+        List<Entry> entries;
+        String directory;
+        boolean isPaced;
+        try {
+            WorkloadOptions options = new WorkloadOptions(args, List.of(OPTION_DIRECTORY), List.of(OPTION_PACED));
+            if (options.getArguments().size() != 1) {
+                throw new IllegalArgumentException(ERROR_ONE_SESSION_FILE);
+            }
+            entries = readSession(options.getArguments().get(0));
+            directory = options.get(OPTION_DIRECTORY, DEFAULT_DIRECTORY);
+            isPaced = options.has(OPTION_PACED);
+
+        } catch (IllegalArgumentException | IOException exception) {
+            System.out.println(exception.getMessage());
+            System.out.println(MESSAGE_USAGE);
+            return;
+        }
+
+        // responses are not shown, so that printing them is not what is measured
+        Logger quietLogger = new Logger(new PrintStream(OutputStream.nullOutputStream()), Logger.Level.OFF,
+                Logger.NO_TRUNCATION, Logger.OverflowPolicy.DROP);
+        Kayu kayu = new Kayu(quietLogger,
+                TaskStorage.generate(Paths.get(directory, TASK_FILE_NAME).toString()),
+                NoteStorage.generate(Paths.get(directory, NOTE_FILE_NAME).toString()));
+        kayu.initialize();
+
+        SessionReplayer replayer = new SessionReplayer(kayu, isPaced);
+        replayer.replay(entries);
+        System.out.println(replayer.getReport());
+        System.out.println(kayu.executeAndRespond(StatsCommand.COMMAND_WORD));
+    }
+
+    /**
+     * Command recorded in a session.
+     */
+    public static class Entry {
+
+        private final long offsetMillis;
+        private final String userInput;
+
+        /**
+         * Initializes an Entry.
+         *
+         * @param offsetMillis Milliseconds since recording began when the command was entered.
+         * @param userInput User input entered.
+         */
+        public Entry(long offsetMillis, String userInput) {
+            this.offsetMillis = offsetMillis;
+            this.userInput = userInput;
+        }
+
+        /**
+         * Returns the user input entered.
+         *
+         * @return User input String.
+         */
+        public String getUserInput() {
+            return userInput;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package kayu.workload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import kayu.note.Note;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+import kayu.task.Deadline;
+import kayu.task.Event;
+import kayu.task.Task;
+import kayu.task.Todo;
+
+/**
+ * Generates synthetic {@link Task}s and {@link Note}s for trying Kayu out at scale, the same ones every time
+ * for the same seed and settings, apart from dates, which are spread over a year either side of today.
+ * Descriptions are made of words from a vocabulary drawn with a Zipf skew, so a few words are common and
+ * most are rare, as in real task lists. Running it as a program writes <code>tasks.txt</code> and
+ * <code>notes.txt</code> to a directory, as in
+ * <code>java -cp kayu.jar kayu.workload.WorkloadGenerator --tasks 1000000 --directory data</code>.
+ */
+public class WorkloadGenerator {
+
+    /** Seed used when none is given. */
+    public static final long DEFAULT_SEED = 2103;
+
+    // Usage and error messages of the program.
+    protected static final String MESSAGE_USAGE = "Usage: WorkloadGenerator [--directory DIR] [--tasks COUNT]"
+            + " [--notes COUNT] [--mix TODO:DEADLINE:EVENT] [--words MIN:MAX] [--vocabulary SIZE]"
+            + " [--skew EXPONENT] [--done RATIO] [--seed SEED]";
+    protected static final String MESSAGE_GENERATED = "Generated %d task(s) and %d note(s) in %s.";
+    protected static final String ERROR_UNABLE_TO_CREATE_DIRECTORY = "Directory %s cannot be created.";
+    protected static final String ERROR_INVALID_MIX = "Task mix weights should not be negative, nor all 0.";
+    protected static final String ERROR_INVALID_WORDS =
+            "Word counts should be at least 1, the most no less than the least.";
+    protected static final String ERROR_INVALID_VOCABULARY =
+            "Vocabulary should have a word or more, and a skew of 0 or more.";
+    protected static final String ERROR_INVALID_DONE_RATIO = "Done ratio should be between 0 and 1.";
+
+    private static final String OPTION_DIRECTORY = "--directory";
+    private static final String OPTION_TASKS = "--tasks";
+    private static final String OPTION_NOTES = "--notes";
+    private static final String OPTION_MIX = "--mix";
+    private static final String OPTION_WORDS = "--words";
+    private static final String OPTION_VOCABULARY = "--vocabulary";
+    private static final String OPTION_SKEW = "--skew";
+    private static final String OPTION_DONE = "--done";
+    private static final String OPTION_SEED = "--seed";
+    private static final List<String> VALUE_OPTIONS = List.of(OPTION_DIRECTORY, OPTION_TASKS, OPTION_NOTES,
+            OPTION_MIX, OPTION_WORDS, OPTION_VOCABULARY, OPTION_SKEW, OPTION_DONE, OPTION_SEED);
+
+    private static final String DEFAULT_DIRECTORY = "data";
+    private static final String TASK_FILE_NAME = "tasks.txt";
+    private static final String NOTE_FILE_NAME = "notes.txt";
+    private static final long DEFAULT_TASK_COUNT = 1_000;
+    private static final long DEFAULT_NOTE_COUNT = 100;
+    private static final int DEFAULT_VOCABULARY_SIZE = 1_000;
+    private static final double DEFAULT_SKEW = 1.0;
+    private static final double DEFAULT_DONE_RATIO = 0.3;
+
+    private static final String[] SYLLABLES = {
+        "ka", "yu", "ro", "mi", "ta", "no", "se", "li", "pa", "du", "ke", "zo", "ba", "ri", "chi", "mo"
+    };
+    private static final int NOTE_WORDS_FACTOR = 4;
+    private static final int DAYS_SPREAD = 730;
+
+    private final Random random;
+    private int todoWeight = 6;
+    private int deadlineWeight = 2;
+    private int eventWeight = 2;
+    private int minWords = 3;
+    private int maxWords = 6;
+    private double doneRatio = DEFAULT_DONE_RATIO;
+    private String[] vocabulary;
+    private double[] cumulativeWeights;
+
+    /**
+     * Initializes a WorkloadGenerator with a mix of 60% todos, 20% deadlines and 20% events, of 3 to 6 words
+     * from a vocabulary of 1,000 words with a Zipf skew of 1, and 30% of tasks done.
+     *
+     * @param seed Seed of the random choices, so that the same seed generates the same workload.
+     */
+    public WorkloadGenerator(long seed) {
+        this.random = new Random(seed);
+        setVocabulary(DEFAULT_VOCABULARY_SIZE, DEFAULT_SKEW);
+    }
+
+    /**
+     * Sets the relative number of each type of task generated.
+     *
+     * @param todoWeight Weight of {@link Todo}s.
+     * @param deadlineWeight Weight of {@link Deadline}s.
+     * @param eventWeight Weight of {@link Event}s.
+     * @throws IllegalArgumentException If out of range.
+     */
+    public void setMix(int todoWeight, int deadlineWeight, int eventWeight) {
+        if (todoWeight < 0 || deadlineWeight < 0 || eventWeight < 0 || todoWeight + deadlineWeight + eventWeight == 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_MIX);
+        }
+        this.todoWeight = todoWeight;
+        this.deadlineWeight = deadlineWeight;
+        this.eventWeight = eventWeight;
+    }
+
+    /**
+     * Sets the number of words in a task description. Note descriptions are 4 times as long.
+     *
+     * @param minWords Least number of words.
+     * @param maxWords Most number of words.
+     * @throws IllegalArgumentException If out of range.
+     */
+    public void setDescriptionWords(int minWords, int maxWords) {
+        if (minWords < 1 || maxWords < minWords) {
+            throw new IllegalArgumentException(ERROR_INVALID_WORDS);
+        }
+        this.minWords = minWords;
+        this.maxWords = maxWords;
+    }
+
+    /**
+     * Sets the vocabulary that descriptions are made of. The word of rank <code>r</code>, counting from 1,
+     * is drawn with a weight of <code>1 / r^skew</code>, so a skew of 0 draws every word equally often.
+     *
+     * @param size Number of words.
+     * @param skew Zipf exponent, of at least 0.
+     * @throws IllegalArgumentException If out of range.
+     */
+    public void setVocabulary(int size, double skew) {
+        if (size < 1 || skew < 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_VOCABULARY);
+        }
+        vocabulary = new String[size];
+        cumulativeWeights = new double[size];
+        double totalWeight = 0;
+        for (int rank = 0; rank < size; rank++) {
+            vocabulary[rank] = toWord(rank);
+            totalWeight += 1 / Math.pow(rank + 1, skew);
+            cumulativeWeights[rank] = totalWeight;
+        }
+    }
+
+    /**
+     * Sets the share of tasks that are done.
+     *
+     * @param doneRatio Ratio between 0 and 1.
+     * @throws IllegalArgumentException If out of range.
+     */
+    public void setDoneRatio(double doneRatio) {
+        if (doneRatio < 0 || doneRatio > 1) {
+            throw new IllegalArgumentException(ERROR_INVALID_DONE_RATIO);
+        }
+        this.doneRatio = doneRatio;
+    }
+
+    /**
+     * Returns the vocabulary descriptions are made of, from the most to the least common word.
+     *
+     * @return Words of the vocabulary.
+     */
+    public String[] getVocabulary() {
+        return vocabulary.clone();
+    }
+
+    /**
+     * Generates <code>count</code> tasks, continuing from the tasks and notes generated before.
+     *
+     * @param count Number of tasks to generate.
+     * @return Generated tasks.
+     */
+    public List<Task> generateTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        int totalWeight = todoWeight + deadlineWeight + eventWeight;
+        for (int idx = 0; idx < count; idx++) {
+            String description = generateDescription(minWords, maxWords);
+            boolean isDone = random.nextDouble() < doneRatio;
+            int kind = random.nextInt(totalWeight);
+            if (kind < todoWeight) {
+                tasks.add(new Todo(description, isDone));
+            } else if (kind < todoWeight + deadlineWeight) {
+                tasks.add(new Deadline(description, isDone, generateDate(), generateTime()));
+            } else {
+                tasks.add(new Event(description, isDone, generateDate(), generateTime()));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Generates <code>count</code> notes, continuing from the tasks and notes generated before.
+     *
+     * @param count Number of notes to generate.
+     * @return Generated notes.
+     */
+    public List<Note> generateNotes(int count) {
+        List<Note> notes = new ArrayList<>(count);
+        for (int idx = 0; idx < count; idx++) {
+            notes.add(new Note(generateDescription(minWords * NOTE_WORDS_FACTOR, maxWords * NOTE_WORDS_FACTOR)));
+        }
+        return notes;
+    }
+
+    private String generateDescription(int minCount, int maxCount) {
+        StringBuilder description = new StringBuilder();
+        int wordCount = minCount + random.nextInt(maxCount - minCount + 1);
+        for (int word = 0; word < wordCount; word++) {
+            if (word > 0) {
+                description.append(' ');
+            }
+            description.append(drawWord());
+        }
+        return description.toString();
+    }
+
+    private String drawWord() {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int rank = Arrays.binarySearch(cumulativeWeights, target);
+        return vocabulary[(rank >= 0) ? rank : Math.min(-rank - 1, vocabulary.length - 1)];
+    }
+
+    private LocalDate generateDate() {
+        return LocalDate.now().plusDays(random.nextInt(DAYS_SPREAD) - DAYS_SPREAD / 2);
+    }
+
+    private LocalTime generateTime() {
+        return LocalTime.of(random.nextInt(24), random.nextInt(4) * 15);
+    }
+
+    // spells the rank out in base SYLLABLES.length, so that every rank has a distinct, pronounceable word
+    private static String toWord(int rank) {
+        StringBuilder word = new StringBuilder();
+        int remaining = rank;
+        do {
+            word.append(SYLLABLES[remaining % SYLLABLES.length]);
+            remaining /= SYLLABLES.length;
+        } while (remaining > 0);
+        return word.toString();
+    }
+
+    /**
+     * Writes a generated workload to <code>tasks.txt</code> and <code>notes.txt</code>, replacing them.
+     *
+     * @param args Options, as in {@link #MESSAGE_USAGE}.
+     */
+    public static void main(String[] args) {
+        WorkloadGenerator generator;
+        String directory;
+        int taskCount;
+        int noteCount;
+        try {
+            WorkloadOptions options = new WorkloadOptions(args, VALUE_OPTIONS, List.of());
+            directory = options.get(OPTION_DIRECTORY, DEFAULT_DIRECTORY);
+            taskCount = (int) options.getLong(OPTION_TASKS, DEFAULT_TASK_COUNT);
+            noteCount = (int) options.getLong(OPTION_NOTES, DEFAULT_NOTE_COUNT);
+            generator = new WorkloadGenerator(options.getLong(OPTION_SEED, DEFAULT_SEED));
+            configure(generator, options);
+
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+            System.out.println(MESSAGE_USAGE);
+            return;
+        }
+
+        try {
+            Files.createDirectories(Paths.get(directory));
+        } catch (IOException exception) {
+            System.out.println(String.format(ERROR_UNABLE_TO_CREATE_DIRECTORY, directory));
+            return;
+        }
+        List<Task> tasks = generator.generateTasks(taskCount);
+        List<Note> notes = generator.generateNotes(noteCount);
+        TaskStorage.generate(Paths.get(directory, TASK_FILE_NAME).toString()).save(tasks);
+        NoteStorage.generate(Paths.get(directory, NOTE_FILE_NAME).toString()).save(notes);
+        System.out.println(String.format(MESSAGE_GENERATED, taskCount, noteCount, directory));
+    }
+
+    private static void configure(WorkloadGenerator generator, WorkloadOptions options) {
+        generator.setVocabulary((int) options.getLong(OPTION_VOCABULARY, DEFAULT_VOCABULARY_SIZE),
+                options.getDouble(OPTION_SKEW, DEFAULT_SKEW));
+        generator.setDoneRatio(options.getDouble(OPTION_DONE, DEFAULT_DONE_RATIO));
+        if (options.has(OPTION_MIX)) {
+            double[] weights = options.getNumbers(OPTION_MIX, 3);
+            generator.setMix((int) weights[0], (int) weights[1], (int) weights[2]);
+        }
+        if (options.has(OPTION_WORDS)) {
+            double[] bounds = options.getNumbers(OPTION_WORDS, 2);
+            generator.setDescriptionWords((int) bounds[0], (int) bounds[1]);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package kayu.workload;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the options a workload program is run with, given as pairs of an option and its value, such as
+ * <code>--tasks 1000</code>, or as options alone for flags, such as <code>--paced</code>.
+ * Values made of several numbers separate them with colons, such as <code>--mix 6:2:2</code>.
+ */
+class WorkloadOptions {
+
+    // Error message format.
+    protected static final String ERROR_INVALID_OPTION = "'%s' is not a valid option.";
+    protected static final String ERROR_INVALID_VALUE = "'%s' is not a valid value for option '%s'.";
+
+    private static final String OPTION_PREFIX = "--";
+    private static final String VALUE_SEPARATOR = ":";
+
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> arguments;
+
+    /**
+     * Reads the options in <code>args</code>. Arguments that are not options, nor values of options,
+     * are kept in order as {@link #getArguments()}.
+     *
+     * @param args Command line arguments.
+     * @param valueOptions Options followed by a value.
+     * @param flagOptions Options not followed by a value.
+     * @throws IllegalArgumentException If an option is unknown or is missing its value.
+     */
+    WorkloadOptions(String[] args, List<String> valueOptions, List<String> flagOptions) {
+        List<String> arguments = new ArrayList<>();
+        for (int idx = 0; idx < args.length; idx++) {
+            String arg = args[idx];
+            if (!arg.startsWith(OPTION_PREFIX)) {
+                arguments.add(arg);
+            } else if (flagOptions.contains(arg)) {
+                values.put(arg, "");
+            } else if (valueOptions.contains(arg) && idx + 1 < args.length) {
+                values.put(arg, args[++idx]);
+            } else {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_OPTION, arg));
+            }
+        }
+        this.arguments = arguments;
+    }
+
+    List<String> getArguments() {
+        return arguments;
+    }
+
+    boolean has(String option) {
+        return values.containsKey(option);
+    }
+
+    String get(String option, String defaultValue) {
+        return values.getOrDefault(option, defaultValue);
+    }
+
+    long getLong(String option, long defaultValue) {
+        if (!has(option)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(values.get(option));
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_VALUE, values.get(option), option));
+        }
+    }
+
+    double getDouble(String option, double defaultValue) {
+        return has(option) ? getNumbers(option, 1)[0] : defaultValue;
+    }
+
+    /**
+     * Returns the <code>count</code> numbers of the value of <code>option</code>, which should be given.
+     *
+     * @param option Option given.
+     * @param count Number of colon-separated numbers the value should have.
+     * @return Numbers of the value.
+     * @throws IllegalArgumentException If the value does not have <code>count</code> numbers.
+     */
+    double[] getNumbers(String option, int count) {
+        String value = values.get(option);
+        String[] parts = value.split(VALUE_SEPARATOR);
+        if (parts.length != count) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_VALUE, value, option));
+        }
+        double[] numbers = new double[count];
+        try {
+            for (int idx = 0; idx < count; idx++) {
+                numbers[idx] = Double.parseDouble(parts[idx]);
+            }
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_VALUE, value, option));
+        }
+        return numbers;
+    }
+}
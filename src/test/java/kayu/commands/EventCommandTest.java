@@ -66,7 +66,7 @@ public class EventCommandTest {
 
     @AfterEach
     public void tearDown() throws StorageException {
-        taskStorage.save(new ArrayList<>());
+        TaskStorage.generate(TASK_FILE_PATH).save(new ArrayList<>()); // without the next ID given here
         noteStorage.save(new ArrayList<>());
     }
 
@@ -0,0 +1,86 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_IMPROPER_FORMATTING;
+import static kayu.commands.CommandMessage.ERROR_INVALID_LIMIT;
+import static kayu.commands.CommandMessage.ERROR_INVALID_PAGE;
+import static kayu.commands.CommandMessage.MESSAGE_LIST_NEXT_WINDOW;
+import static kayu.commands.CommandMessage.MESSAGE_LIST_WINDOW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+import kayu.service.TaskList;
+import kayu.task.Task;
+import kayu.task.Todo;
+
+public class ListCommandTest {
+
+    private final TaskList taskList = new TaskList();
+
+    @Test
+    public void testListFitsInOneWindow_noFooter() throws KayuException {
+        initializeTasks(10);
+        String response = list("");
+        assertTrue(response.endsWith("\n10. [T][ ] mock 10 (#10)"));
+        assertFalse(response.contains("Showing"));
+    }
+
+    @Test
+    public void testListPageBoundary() throws KayuException {
+        initializeTasks(120);
+        String response = list("2");
+        assertTrue(response.contains("\n51. [T][ ] mock 51 (#51)\n"));
+        assertTrue(response.contains("\n100. [T][ ] mock 100 (#100)"));
+        assertFalse(response.contains("mock 50 "));
+        assertFalse(response.contains("mock 101 "));
+        assertTrue(response.endsWith(String.format(MESSAGE_LIST_WINDOW, 51, 100, 120)
+                + String.format(MESSAGE_LIST_NEXT_WINDOW, 101, ListCommand.PAGE_SIZE)));
+
+        response = list("3"); // the last page has no hint for more
+        assertTrue(response.endsWith("(#120)" + String.format(MESSAGE_LIST_WINDOW, 101, 120, 120)));
+
+        KayuException exception = assertThrows(KayuException.class, () -> list("4"));
+        assertEquals(String.format(ERROR_INVALID_PAGE, 4, 3), exception.getMessage());
+    }
+
+    @Test
+    public void testListFromWithLimit_nextHint() throws KayuException {
+        initializeTasks(120);
+        String response = list(ListCommand.KEY_FROM + " 119 " + ListCommand.KEY_LIMIT + " 1");
+        assertTrue(response.contains("119. [T][ ] mock 119 (#119)"));
+        assertTrue(response.endsWith(String.format(MESSAGE_LIST_WINDOW, 119, 119, 120)
+                + String.format(MESSAGE_LIST_NEXT_WINDOW, 120, 1)));
+    }
+
+    @Test
+    public void testListInvalidWindows_exceptionThrown() {
+        initializeTasks(120);
+        assertThrows(KayuException.class, () -> list(ListCommand.KEY_FROM + " 121"));
+
+        KayuException exception = assertThrows(KayuException.class, () -> list(ListCommand.KEY_LIMIT + " 0"));
+        assertEquals(String.format(ERROR_INVALID_LIMIT, 0), exception.getMessage());
+
+        exception = assertThrows(KayuException.class, () -> list("--to 5"));
+        assertEquals(String.format(ERROR_IMPROPER_FORMATTING, ListCommand.COMMAND_WORD, "--to"),
+                exception.getMessage());
+    }
+
+    private void initializeTasks(int count) {
+        List<Task> tasks = IntStream.rangeClosed(1, count)
+                .mapToObj(num -> new Todo("mock " + num))
+                .collect(Collectors.toList());
+        taskList.initializeTasks(tasks);
+    }
+
+    private String list(String params) throws KayuException {
+        return new ListCommand(params).execute(taskList, null, null, null);
+    }
+}
@@ -0,0 +1,32 @@
+package kayu.commands;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.service.TaskList;
+import kayu.task.Deadline;
+import kayu.task.Todo;
+
+public class NextCommandTest {
+
+    @Test
+    public void testExecuteShowsListNumbers() throws KayuException, StorageException {
+        TaskList taskList = new TaskList();
+        taskList.initializeTasks(List.of());
+        taskList.addTask(new Todo("not upcoming"));
+        taskList.addTask(new Deadline("later", LocalDate.parse("2021-09-02"), LocalTime.parse("18:00")));
+        taskList.addTask(new Deadline("sooner", LocalDate.parse("2021-09-01"), LocalTime.parse("18:00")));
+
+        String response = new NextCommand("2").execute(taskList, null, null, null);
+        int soonerIdx = response.indexOf("\n3. [D][ ] sooner");
+        int laterIdx = response.indexOf("\n2. [D][ ] later");
+        assertTrue(soonerIdx >= 0 && soonerIdx < laterIdx);
+    }
+}
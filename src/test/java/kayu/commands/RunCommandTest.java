@@ -0,0 +1,133 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.ERROR_NO_HISTORY;
+import static kayu.commands.CommandMessage.MESSAGE_RAN_COMMANDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+import kayu.service.History;
+import kayu.service.NoteList;
+import kayu.service.TaskList;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+import kayu.task.Task;
+
+public class RunCommandTest {
+
+    private static final String DIRECTORY_PATH = "src/test/resources/run_command_test";
+    private static final String TASK_FILE_PATH = DIRECTORY_PATH + "/tasks.txt";
+    private static final String NOTE_FILE_PATH = DIRECTORY_PATH + "/notes.txt";
+    private static final String SCRIPT_PATH = DIRECTORY_PATH + "/script.txt";
+
+    private final TaskList taskList = new TaskList();
+    private final NoteList noteList = new NoteList();
+    private final History history = new History(taskList, noteList, History.DEFAULT_DEPTH);
+    private TaskStorage taskStorage;
+    private NoteStorage noteStorage;
+
+    @BeforeEach
+    public void setUp() {
+        taskStorage = TaskStorage.generate(TASK_FILE_PATH);
+        noteStorage = NoteStorage.generate(NOTE_FILE_PATH);
+        taskList.initializeTasks(taskStorage.load());
+        noteList.initializeNotes(noteStorage.load());
+        history.reset();
+    }
+
+    @AfterEach
+    public void reset() throws IOException {
+        try (Stream<Path> paths = Files.walk(Paths.get(DIRECTORY_PATH))) {
+            for (Path path: paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testRunSkipsFailedLines() throws Exception {
+        writeScript("todo first", "", "done 5", "note a note", "todo second", "bye", "todo unrun");
+        String response = run(SCRIPT_PATH);
+
+        assertTrue(response.startsWith(String.format(MESSAGE_RAN_COMMANDS, 5, SCRIPT_PATH, 1)));
+        assertTrue(response.contains("Line 3: "));
+        assertEquals(2, taskList.getCurrentCapacity());
+        assertEquals(2, TaskStorage.generate(TASK_FILE_PATH).load().size());
+        assertEquals(1, Files.readAllLines(Paths.get(NOTE_FILE_PATH)).size());
+
+        // the whole file is undone as a single change
+        assertTrue(history.record());
+        history.undo();
+        assertEquals(0, taskList.getCurrentCapacity());
+    }
+
+    @Test
+    public void testRunRollsBackOnFailure() throws Exception {
+        writeScript("todo first", "note a note", "deadline no date", "todo second");
+
+        assertThrows(KayuException.class, () -> run(SCRIPT_PATH + " " + RunCommand.KEY_ROLLBACK));
+        assertEquals(0, taskList.getCurrentCapacity());
+        assertEquals(0, noteList.getCurrentCapacity());
+        assertTrue(Files.readAllLines(Paths.get(TASK_FILE_PATH)).isEmpty());
+
+        // saves are no longer deferred afterwards
+        new TodoCommand("after").execute(taskList, taskStorage, noteList, noteStorage);
+        assertEquals(1, TaskStorage.generate(TASK_FILE_PATH).load().size());
+    }
+
+    @Test
+    public void testRunCannotBeNested() throws Exception {
+        writeScript("run " + SCRIPT_PATH, "undo");
+        String response = run(SCRIPT_PATH);
+
+        assertTrue(response.contains(String.format(ERROR_NO_HISTORY, RunCommand.COMMAND_WORD)));
+        assertTrue(response.contains(String.format(ERROR_NO_HISTORY, UndoCommand.COMMAND_WORD)));
+    }
+
+    @Test
+    public void testRunEndsDeferralOnUncheckedException() throws Exception {
+        TaskList failingTaskList = new TaskList() {
+            @Override
+            public void addTask(Task newTask) {
+                throw new IllegalStateException();
+            }
+        };
+        History failingHistory = new History(failingTaskList, noteList, History.DEFAULT_DEPTH);
+        writeScript("note kept", "todo fails", "note unrun");
+
+        assertThrows(IllegalStateException.class, () -> new RunCommand(SCRIPT_PATH)
+                .execute(failingTaskList, taskStorage, noteList, noteStorage, failingHistory));
+        assertEquals(1, NoteStorage.generate(NOTE_FILE_PATH).load().size()); // changes before the line are kept
+
+        // saves are no longer deferred afterwards
+        new NoteCommand("after").execute(taskList, taskStorage, noteList, noteStorage);
+        assertEquals(2, NoteStorage.generate(NOTE_FILE_PATH).load().size());
+    }
+
+    @Test
+    public void testRunMissingFile() {
+        assertThrows(KayuException.class, () -> run(DIRECTORY_PATH + "/missing.txt"));
+    }
+
+    private void writeScript(String... lines) throws IOException {
+        Files.write(Paths.get(SCRIPT_PATH), List.of(lines));
+    }
+
+    private String run(String params) throws KayuException {
+        return new RunCommand(params).execute(taskList, taskStorage, noteList, noteStorage, history);
+    }
+}
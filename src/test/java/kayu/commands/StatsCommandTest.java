@@ -0,0 +1,37 @@
+package kayu.commands;
+
+import static kayu.commands.CommandMessage.MESSAGE_NO_STATS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+import kayu.exception.StorageException;
+import kayu.service.CommandStats;
+import kayu.service.TaskList;
+
+public class StatsCommandTest {
+
+    @Test
+    public void testExecute() throws KayuException, StorageException {
+        CommandStats stats = new CommandStats();
+        assertEquals(MESSAGE_NO_STATS, new StatsCommand(stats).execute(null, null, null, null));
+
+        stats.record("Todo", 1_000, 2_000_000, 3_000_000, 4_000);
+        stats.record("Todo", 1_000, 2_000_000, 3_000_000, 4_000);
+        stats.record("List", 1_000, 5_000_000, 0, 8_000);
+        TaskList taskList = new TaskList();
+        taskList.findTasksByKeywords("report");
+        taskList.findTasksByKeywords("REPORT");
+        String response = new StatsCommand(stats).execute(taskList, null, null, null);
+
+        assertTrue(response.contains("\nList: 1 command(s)"));
+        assertTrue(response.contains("\nTodo: 2 command(s)"));
+        assertTrue(response.indexOf("List") < response.indexOf("Todo"));
+        assertTrue(response.contains("\n  persist  3.000 / 3.000 / 3.000"));
+        assertTrue(response.endsWith("\nKeyword search cache: 1 hit(s), 1 miss(es), 50.0% hit rate, 1 result(s) held"));
+        assertEquals(3, stats.getCommandCount());
+        assertEquals(5.005, stats.getMaxMillis("Todo", "TOTAL"), 0.001);
+    }
+}
@@ -0,0 +1,99 @@
+package kayu.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DateTimeRecognizerTest {
+
+    private static final int FUZZ_ROUNDS = 200_000;
+
+    // fields and separators that inputs are built from, around the shapes of the accepted formats
+    private static final String[] DATE_FIELDS = {"2021", "2020", "0000", "0001", "+12020", "+0002021", "+2020",
+        "+1000000000", "12020", "05", "5", "10", "13", "00", "29", "31", "32", "02", "001", "1", "+1", "x"};
+    private static final String[] DATE_SEPARATORS = {"-", "/", "", " ", "+"};
+    private static final String[] TIME_FIELDS = {"09", "12", "00", "13", "23", "24", "30", "59", "60", "7", "-1"};
+    private static final String[] TIME_SEPARATORS = {":", "", " ", "."};
+    private static final String[] TIME_PERIODS = {"", "", " AM", " PM", "AM", "  PM", " A", " XM"};
+
+    private final DateTimeFormat dateTimeFormat = DateTimeFormat.generateInstance();
+
+    @Test
+    public void testRecognizeDate() {
+        assertEquals(LocalDate.parse("2020-10-05"), DateTimeRecognizer.recognizeDate("2020-10-05"));
+        assertEquals(LocalDate.parse("2020-01-05"), DateTimeRecognizer.recognizeDate("2020/1/05"));
+        assertEquals(LocalDate.parse("2020-10-05"), DateTimeRecognizer.recognizeDate("05-10-2020"));
+        assertEquals(LocalDate.parse("2021-02-28"), DateTimeRecognizer.recognizeDate("31/2/2021"));
+        assertNull(DateTimeRecognizer.recognizeDate("2020-10-5"));
+        assertNull(DateTimeRecognizer.recognizeDate("2020-10/05"));
+    }
+
+    @Test
+    public void testRecognizeTime() {
+        assertEquals(LocalTime.parse("09:30"), DateTimeRecognizer.recognizeTime("0930"));
+        assertEquals(LocalTime.parse("21:30"), DateTimeRecognizer.recognizeTime("09:30 PM"));
+        assertEquals(LocalTime.parse("00:15"), DateTimeRecognizer.recognizeTime("12:15 AM"));
+        assertEquals(LocalTime.MIDNIGHT, DateTimeRecognizer.recognizeTime("24:00"));
+        assertNull(DateTimeRecognizer.recognizeTime("9:30"));
+        assertNull(DateTimeRecognizer.recognizeTime("13:00 PM"));
+    }
+
+    @Test
+    public void testRecognizeDateMatchesFormats() {
+        Random random = new Random(39);
+        for (int round = 0; round < FUZZ_ROUNDS; round++) {
+            String input = generateDate(random);
+            LocalDate expected = parseWithFormats(input, dateTimeFormat.getDateFormats(), LocalDate::from);
+            assertEquals(expected, DateTimeRecognizer.recognizeDate(input), input);
+        }
+    }
+
+    @Test
+    public void testRecognizeTimeMatchesFormats() {
+        Random random = new Random(39);
+        for (int round = 0; round < FUZZ_ROUNDS; round++) {
+            String input = generateTime(random);
+            LocalTime expected = parseWithFormats(input, dateTimeFormat.getTimeFormats(), LocalTime::from);
+            assertEquals(expected, DateTimeRecognizer.recognizeTime(input), input);
+        }
+    }
+
+    // mostly well-separated fields, as a separator differing from the first is rarely accepted
+    private static String generateDate(Random random) {
+        String separator = pick(random, DATE_SEPARATORS);
+        String secondSeparator = (random.nextInt(8) == 0) ? pick(random, DATE_SEPARATORS) : separator;
+        return pick(random, DATE_FIELDS) + separator + pick(random, DATE_FIELDS)
+                + secondSeparator + pick(random, DATE_FIELDS);
+    }
+
+    private static String generateTime(Random random) {
+        return pick(random, TIME_FIELDS) + pick(random, TIME_SEPARATORS) + pick(random, TIME_FIELDS)
+                + pick(random, TIME_PERIODS);
+    }
+
+    private static String pick(Random random, String... pieces) {
+        return pieces[random.nextInt(pieces.length)];
+    }
+
+    // the formats were always used with English AM/PM markers
+    private static <T> T parseWithFormats(String input, List<DateTimeFormatter> formatters, TemporalQuery<T> query) {
+        for (DateTimeFormatter formatter: formatters) {
+            try {
+                return formatter.withLocale(Locale.ENGLISH).parse(input, query);
+            } catch (DateTimeParseException exception) {
+                // skip this and attempt to parse with the next possible format
+            }
+        }
+        return null;
+    }
+}
@@ -15,7 +15,9 @@ import kayu.commands.EventCommand;
 import kayu.commands.FindCommand;
 import kayu.commands.InvalidCommand;
 import kayu.commands.ListCommand;
+import kayu.commands.RedoCommand;
 import kayu.commands.TodoCommand;
+import kayu.commands.UndoCommand;
 
 public class ParserTest {
 
@@ -39,6 +41,37 @@ public class ParserTest {
         assertTrue(command.getCommandParams().isEmpty());
     }
 
+    @Test
+    public void testParseWithListWindow() {
+        String params = ListCommand.KEY_FROM + " 51 " + ListCommand.KEY_LIMIT + " 10";
+        String input = ListCommand.COMMAND_WORD + ' ' + params;
+        Command command = parser.parseToCommand(input);
+
+        assertTrue(command instanceof ListCommand);
+        assertEquals(params, command.getCommandParams());
+    }
+
+    @Test
+    public void testParseWithSurroundingWhitespace() {
+        Command command = parser.parseToCommand(" \t" + DoneCommand.COMMAND_WORD + " 3 \n");
+
+        assertTrue(command instanceof DoneCommand);
+        assertEquals("3", command.getCommandParams());
+    }
+
+    @Test
+    public void testParseWithUndo() {
+        assertTrue(parser.parseToCommand(UndoCommand.COMMAND_WORD) instanceof UndoCommand);
+        assertTrue(parser.parseToCommand(RedoCommand.COMMAND_WORD) instanceof RedoCommand);
+    }
+
+    @Test
+    public void testParseWithPartialCommandWord() {
+        assertTrue(parser.parseToCommand("lis") instanceof InvalidCommand);
+        assertTrue(parser.parseToCommand("list-notesx") instanceof InvalidCommand);
+        assertTrue(parser.parseToCommand(DoneCommand.COMMAND_WORD) instanceof InvalidCommand);
+    }
+
     @Test
     public void testParseWithDone() {
         String numberString = String.format("%d", 10);
@@ -0,0 +1,56 @@
+package kayu.parser;
+
+import static kayu.parser.PatternCache.ERROR_INVALID_PATTERN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+
+public class PatternCacheTest {
+
+    private final PatternCache patternCache = new PatternCache(2);
+
+    @Test
+    public void testCompileIsCached() throws KayuException {
+        assertSame(patternCache.compile("q[34] report"), patternCache.compile("q[34] report"));
+    }
+
+    @Test
+    public void compile_invalidRegex_exceptionThrown() {
+        String regex = "report[";
+        try {
+            patternCache.compile(regex);
+            fail();
+
+        } catch (KayuException exception) {
+            assertEquals(String.format(ERROR_INVALID_PATTERN, regex), exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testExtractRequiredLiteral() {
+        assertEquals("report", PatternCache.extractRequiredLiteral("report\\d+"));
+        assertEquals("meet", PatternCache.extractRequiredLiteral("meet(ing)?s"));
+        assertEquals("colo", PatternCache.extractRequiredLiteral("colou?r"));
+        assertEquals("b.cde", PatternCache.extractRequiredLiteral("a.b\\.cde"));
+        assertEquals(" report", PatternCache.extractRequiredLiteral("q[34] report"));
+    }
+
+    @Test
+    public void extractRequiredLiteral_escapeWithArgument_argumentLeftOut() {
+        String[] regexes = {"\\x41bc", "\\x{41}bc", "\\u0041bc", "\\0101bc", "\\cAbc", "[\\x5d]bc",
+            "\\N{LATIN CAPITAL LETTER A}bc", "\\p{Lu}bc", "\\pLbc", "(x)\\k<x>?bc", "(x)\\1?bc"};
+        for (String regex: regexes) {
+            assertEquals("bc", PatternCache.extractRequiredLiteral(regex), regex);
+        }
+    }
+
+    @Test
+    public void extractRequiredLiteral_alternation_noLiteral() {
+        assertEquals("", PatternCache.extractRequiredLiteral("report|draft"));
+        assertEquals("", PatternCache.extractRequiredLiteral("(?x)re port"));
+    }
+}
@@ -0,0 +1,129 @@
+package kayu.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kayu.Kayu;
+import kayu.service.Logger;
+import kayu.storage.NoteStorage;
+import kayu.storage.TaskStorage;
+
+public class KayuServerTest {
+
+    private static final String TASK_FILE_PATH = "src/test/resources/kayu_server_test_tasks.txt";
+    private static final String NOTE_FILE_PATH = "src/test/resources/kayu_server_test_notes.txt";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private KayuServer server;
+
+    @BeforeEach
+    public void start() throws IOException {
+        Logger quietLogger = new Logger(new PrintStream(OutputStream.nullOutputStream()), Logger.Level.OFF,
+                Logger.NO_TRUNCATION, Logger.OverflowPolicy.DROP);
+        Kayu kayu = new Kayu(quietLogger, TaskStorage.generate(TASK_FILE_PATH), NoteStorage.generate(NOTE_FILE_PATH));
+        server = new KayuServer(kayu, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+        server.start();
+    }
+
+    @AfterEach
+    public void stop() throws IOException {
+        server.stop();
+        Files.deleteIfExists(Paths.get(TASK_FILE_PATH));
+        Files.deleteIfExists(Paths.get(NOTE_FILE_PATH));
+    }
+
+    @Test
+    public void testCommandsThenTasks() throws IOException, InterruptedException {
+        HttpResponse<String> response = post("todo read \"book\"");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"response\":\"Got it. I've added this TODO task:\\n"));
+        assertTrue(response.body().endsWith(",\"isBye\":false}"));
+        post("deadline return book /by 2021-09-01 1800");
+        post("done 1");
+
+        assertTrue(Files.readString(Paths.get(TASK_FILE_PATH)).contains("read \"book\"")); // saved before answered
+        response = get(KayuServer.TASKS_PATH + "?start=1&limit=1");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"total\":2,\"tasks\":[{\"number\":1,\"id\":1,\"type\":\"T\",\"isDone\":true,"
+                + "\"description\":\"read \\\"book\\\"\",\"text\":\"[T][X] read \\\"book\\\"\"}]}", response.body());
+        response = get(KayuServer.TASKS_PATH + "?start=3");
+        assertEquals("{\"total\":2,\"tasks\":[]}", response.body());
+    }
+
+    @Test
+    public void testInvalidRequests() throws IOException, InterruptedException {
+        assertEquals(400, get(KayuServer.TASKS_PATH + "?limit=0").statusCode());
+        assertEquals(404, get("/nothing").statusCode());
+        assertEquals(405, get(KayuServer.COMMANDS_PATH).statusCode());
+        assertTrue(get(KayuServer.STATS_PATH).body().startsWith("{\"commandCount\":"));
+    }
+
+    @Test
+    public void testPipelinedRequests() throws IOException {
+        StringBuilder requests = new StringBuilder();
+        for (String userInput: new String[] {"todo first", "todo second", "list"}) {
+            requests.append("POST ").append(KayuServer.COMMANDS_PATH).append(" HTTP/1.1\r\nHost: localhost\r\n")
+                    .append("Content-Length: ").append(userInput.length()).append("\r\n\r\n").append(userInput);
+        }
+        requests.append("GET ").append(KayuServer.TASKS_PATH).append(" HTTP/1.1\r\nHost: localhost\r\n")
+                .append("Connection: close\r\n\r\n");
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.getOutputStream().write(requests.toString().getBytes(StandardCharsets.UTF_8));
+            InputStream input = socket.getInputStream();
+            ByteArrayOutputStream responses = new ByteArrayOutputStream();
+            input.transferTo(responses);
+
+            String output = responses.toString(StandardCharsets.UTF_8);
+            int firstIdx = output.indexOf("[T][ ] first\\nNow you have 1 task(s)");
+            int secondIdx = output.indexOf("[T][ ] second\\nNow you have 2 task(s)");
+            int listIdx = output.indexOf("1. [T][ ] first (#1)\\n2. [T][ ] second (#2)");
+            int tasksIdx = output.indexOf("{\"total\":2,");
+            assertTrue(firstIdx >= 0 && firstIdx < secondIdx && secondIdx < listIdx && listIdx < tasksIdx);
+        }
+    }
+
+    @Test
+    public void testAppendString() {
+        StringBuilder output = new StringBuilder("{");
+        Json.appendName(output, "a");
+        Json.appendString(output, "quote \" slash \\ tab \t bell \u0007");
+        Json.appendName(output, "b").append(1);
+        assertEquals("{\"a\":\"quote \\\" slash \\\\ tab \\t bell \\u0007\",\"b\":1", output.toString());
+    }
+
+    private HttpResponse<String> post(String userInput) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(KayuServer.COMMANDS_PATH))
+                .POST(HttpRequest.BodyPublishers.ofString(userInput))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(pathAndQuery)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + pathAndQuery);
+    }
+}
@@ -0,0 +1,126 @@
+package kayu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+import kayu.note.Note;
+import kayu.task.Task;
+import kayu.task.Todo;
+
+public class HistoryTest {
+
+    private TaskList taskList;
+    private NoteList noteList;
+    private History history;
+
+    @BeforeEach
+    public void setUp() {
+        taskList = new TaskList();
+        noteList = new NoteList();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            tasks.add(new Todo("mock " + i));
+        }
+        taskList.initializeTasks(tasks);
+        history = new History(taskList, noteList, 3);
+    }
+
+    @Test
+    public void testUndoAndRedo() throws KayuException {
+        taskList.deleteTask(2);
+        assertTrue(history.record());
+        taskList.updateTaskAsDone(1);
+        noteList.addNote(new Note("a note"));
+        assertTrue(history.record());
+
+        history.undo();
+        assertEquals(4, taskList.getCurrentCapacity());
+        assertFalse(taskList.getTasks().get(0).isDone());
+        assertEquals(0, noteList.getCurrentCapacity());
+
+        history.undo();
+        assertEquals("mock 2", taskList.getTasks().get(1).getDescription());
+        assertThrows(KayuException.class, () -> history.undo());
+
+        history.redo();
+        history.redo();
+        assertTrue(taskList.getTasks().get(0).isDone());
+        assertEquals("a note", noteList.getNotes().get(0).getDescription());
+        assertThrows(KayuException.class, () -> history.redo());
+    }
+
+    @Test
+    public void testRecordUnchanged() throws KayuException {
+        taskList.findTasksByKeywords("mock");
+        assertFalse(history.record());
+        assertThrows(KayuException.class, () -> history.undo());
+    }
+
+    @Test
+    public void testRecordClearsRedo() throws KayuException {
+        taskList.deleteTask(1);
+        history.record();
+        history.undo();
+        taskList.deleteTask(5);
+        history.record();
+
+        assertEquals(0, history.getRedoCount());
+        assertEquals(1, history.getUndoCount());
+    }
+
+    @Test
+    public void testDepthBound() throws KayuException {
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new Todo("extra " + i));
+            history.record();
+        }
+        assertEquals(3, history.getUndoCount());
+
+        history.undo();
+        history.undo();
+        history.undo();
+        assertEquals(7, taskList.getCurrentCapacity());
+    }
+
+    @Test
+    public void testGenerateReadsDepthProperty() {
+        try {
+            System.setProperty(History.DEPTH_PROPERTY, "2");
+            history = History.generate(taskList, noteList);
+            for (int i = 0; i < 5; i++) {
+                taskList.addTask(new Todo("extra " + i));
+                history.record();
+            }
+            assertEquals(2, history.getUndoCount());
+
+            System.setProperty(History.DEPTH_PROPERTY, "none");
+            history = History.generate(taskList, noteList);
+            for (int i = 0; i < History.DEFAULT_DEPTH + 1; i++) {
+                taskList.addTask(new Todo("extra " + i));
+                history.record();
+            }
+            assertEquals(History.DEFAULT_DEPTH, history.getUndoCount());
+        } finally {
+            System.clearProperty(History.DEPTH_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testIndexesFollowRestoredVersion() throws KayuException {
+        taskList.deleteTask(3);
+        history.record();
+        history.undo();
+
+        assertTrue(taskList.findTasksByFuzzyKeywords("mock").containsValue(taskList.getTasks().get(2)));
+        assertEquals(5, taskList.findTasksByQuery("mock AND NOT done:1").size());
+    }
+}
@@ -0,0 +1,77 @@
+package kayu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public class LoggerTest {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final PrintStream output = new PrintStream(bytes, false);
+
+    @Test
+    public void testPrintInOrder() {
+        Logger logger = new Logger(output, Logger.Level.INFO, Logger.NO_TRUNCATION, Logger.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 5_000; i++) {
+            logger.print("line " + i);
+        }
+        logger.flush();
+
+        String[] lines = bytes.toString().split(System.lineSeparator());
+        assertEquals(5_000, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals("line " + i, lines[i]);
+        }
+    }
+
+    @Test
+    public void testLevelAndTruncation() {
+        Logger logger = new Logger(output, Logger.Level.ERROR, 10, Logger.OverflowPolicy.BLOCK);
+        logger.printMessage("not printed");
+        logger.printError("0123456789abc");
+        logger.flush();
+
+        String printed = bytes.toString();
+        assertFalse(printed.contains("not printed"));
+        String expected = Logger.MESSAGE_ERROR + "0123456789" + String.format(Logger.MESSAGE_TRUNCATED, 3);
+        assertTrue(printed.startsWith(expected));
+    }
+
+    @Test
+    public void testDropWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        PrintStream blockedOutput = new PrintStream(bytes, false) {
+            @Override
+            public void println(String string) {
+                awaitQuietly(release);
+                super.println(string);
+            }
+        };
+        Logger logger = new Logger(blockedOutput, Logger.Level.INFO, Logger.NO_TRUNCATION, Logger.OverflowPolicy.DROP);
+        int count = Logger.DEFAULT_CAPACITY * 3;
+        for (int i = 0; i < count; i++) {
+            logger.print("line " + i); // does not wait, although nothing can be printed yet
+        }
+        release.countDown();
+        logger.flush();
+
+        List<String> lines = List.of(bytes.toString().split(System.lineSeparator()));
+        assertTrue(lines.size() < count);
+        assertTrue(lines.stream().anyMatch(line -> line.endsWith("message(s) dropped)")));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
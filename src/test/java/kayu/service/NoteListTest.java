@@ -0,0 +1,63 @@
+package kayu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.KayuException;
+import kayu.note.Note;
+
+public class NoteListTest {
+
+    private NoteList noteList;
+
+    @BeforeEach
+    public void setUp() {
+        noteList = new NoteList();
+        List<Note> notes = new ArrayList<>();
+        notes.add(new Note("project meeting notes"));
+        notes.add(new Note("grocery list: milk, eggs"));
+        notes.add(new Note("project project project deadline"));
+        notes.add(new Note("meeting with the project team about the project plan and other matters"));
+        noteList.initializeNotes(notes);
+    }
+
+    @Test
+    public void testFindNotesByRelevance() {
+        Map<Integer, Note> noteMap = noteList.findNotesByRelevance("project", 2);
+        assertEquals(2, noteMap.size());
+
+        // most mentions of 'project' first, then the short note mentioning it
+        assertEquals(List.of(2, 0), new ArrayList<>(noteMap.keySet()));
+    }
+
+    @Test
+    public void testFindNotesByRelevanceAfterUpdates() throws KayuException {
+        noteList.deleteNoteById(3);
+        noteList.addNote(new Note("milk tea"));
+
+        Map<Integer, Note> noteMap = noteList.findNotesByRelevance("milk", 10);
+        assertEquals(2, noteMap.size());
+        assertTrue(noteMap.containsKey(1)); // grocery list
+        assertTrue(noteMap.containsKey(3)); // milk tea, after renumbering
+        assertTrue(noteList.findNotesByRelevance("deadline", 10).isEmpty());
+    }
+
+    @Test
+    public void testFindNotesByRelevanceAfterIndexedUpdates() throws KayuException {
+        noteList.findNotesByRelevance("project", 1); // builds the index, so the updates below change it in place
+        noteList.deleteNotesById(1, 2);
+        noteList.addNote(new Note("project retrospective"));
+
+        Map<Integer, Note> noteMap = noteList.findNotesByRelevance("project", 10);
+        assertEquals(3, noteMap.size());
+        assertEquals("project project project deadline", noteMap.get(0).getDescription());
+        assertEquals("project retrospective", noteMap.get(2).getDescription());
+    }
+}
@@ -0,0 +1,92 @@
+package kayu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentListTest {
+
+    @Test
+    public void testMatchesArrayList() {
+        Random random = new Random(36);
+        List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> actual = PersistentList.empty();
+
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation <= 1) {
+                expected.add(i);
+                actual = actual.append(i);
+            } else if (operation == 2) {
+                int idx = random.nextInt(expected.size());
+                expected.set(idx, -i);
+                actual = actual.replace(idx, -i);
+            } else {
+                int idx = random.nextInt(expected.size());
+                expected.remove(idx);
+                actual = actual.removeAt(idx);
+            }
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected, new ArrayList<>(actual));
+    }
+
+    @Test
+    public void testEarlierVersionsUnchanged() {
+        PersistentList<String> first = PersistentList.of(List.of("a", "b", "c"));
+        PersistentList<String> second = first.removeAt(1).append("d").replace(0, "z");
+
+        assertEquals(List.of("a", "b", "c"), first);
+        assertEquals(List.of("z", "c", "d"), second);
+    }
+
+    @Test
+    public void testRemoveSelected() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(i);
+        }
+        PersistentList<Integer> list = PersistentList.of(elements);
+
+        for (int step: new int[] {250, 3}) { // a few removed one at a time, then many in one pass
+            BitSet selection = new BitSet();
+            List<Integer> expectedRemoved = new ArrayList<>();
+            List<Integer> expectedKept = new ArrayList<>();
+            for (int idx = 0; idx < list.size(); idx++) {
+                if (idx % step == 1) {
+                    selection.set(idx);
+                    expectedRemoved.add(list.get(idx));
+                } else {
+                    expectedKept.add(list.get(idx));
+                }
+            }
+
+            List<Integer> removed = new ArrayList<>();
+            PersistentList<Integer> kept = list.removeSelected(selection, removed::add);
+            assertEquals(expectedRemoved, removed);
+            assertEquals(expectedKept, kept);
+            assertEquals(expectedKept, new ArrayList<>(kept));
+            list = kept;
+        }
+    }
+
+    @Test
+    public void testIteratorFromIndex() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(i);
+        }
+        PersistentList<Integer> list = PersistentList.of(elements).removeAt(50).append(100);
+
+        for (int fromIdx = 0; fromIdx <= list.size(); fromIdx++) {
+            List<Integer> iterated = new ArrayList<>();
+            list.iterator(fromIdx).forEachRemaining(iterated::add);
+            assertEquals(list.subList(fromIdx, list.size()), iterated);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kayu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        assertNull(buffer.poll());
+        assertTrue(buffer.offer("a"));
+        assertTrue(buffer.offer("b"));
+        assertFalse(buffer.offer("c"));
+
+        assertEquals("a", buffer.poll());
+        assertTrue(buffer.offer("c"));
+        assertEquals("b", buffer.poll());
+        assertEquals("c", buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void testManyProducers() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int producerCount = 4;
+        int perProducer = 10_000;
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < producerCount; producer++) {
+            int offset = producer * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        // each producer's elements come out in the order it offered them
+        int[] nextExpected = new int[producerCount];
+        int received = 0;
+        while (received < producerCount * perProducer) {
+            Integer element = buffer.poll();
+            if (element == null) {
+                continue;
+            }
+            int producer = element / perProducer;
+            assertEquals(nextExpected[producer]++, element % perProducer);
+            received++;
+        }
+        for (Thread thread: producers) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,73 @@
+package kayu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SlowCommandLogTest {
+
+    private static final String DIRECTORY_PATH = "src/test/resources/slow_command_log_test";
+    private static final String FILE_PATH = DIRECTORY_PATH + "/slow.log";
+
+    @AfterEach
+    public void reset() throws IOException {
+        if (!Files.exists(Paths.get(DIRECTORY_PATH))) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(Paths.get(DIRECTORY_PATH))) {
+            for (Path path: paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testLogEntry() throws IOException {
+        SlowCommandLog slowLog = new SlowCommandLog(FILE_PATH, 5, 1 << 20, 1);
+        CommandTrace trace = new CommandTrace("Todo", "todo read book");
+        trace.setStageNanos(CommandTrace.Stage.EXECUTE, 2_000_000);
+        trace.setStageNanos(CommandTrace.Stage.WRITE, 4_000_000);
+        trace.setCounts(3, 1, 96);
+
+        assertEquals(6_000_000, trace.getTotalNanos());
+        assertFalse(slowLog.isSlow(4_999_999));
+        assertTrue(slowLog.isSlow(trace.getTotalNanos()));
+        slowLog.log(trace);
+
+        List<String> lines = Files.readAllLines(Paths.get(FILE_PATH));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains(" Todo 6.000ms parse=0.000ms execute=2.000ms encode=0.000ms write=4.000ms "));
+        assertTrue(lines.get(0).endsWith(" tasks=3 notes=1 bytes=96 input=\"todo read book\""));
+    }
+
+    @Test
+    public void testRotation() throws IOException {
+        SlowCommandLog slowLog = new SlowCommandLog(FILE_PATH, 0, 1, 2);
+        for (int i = 0; i < 4; i++) {
+            slowLog.log(new CommandTrace("Todo", "todo " + i)); // every entry fills the file
+        }
+
+        assertTrue(Files.readAllLines(Paths.get(FILE_PATH)).get(0).endsWith("\"todo 3\""));
+        assertTrue(Files.readAllLines(Paths.get(FILE_PATH + ".1")).get(0).endsWith("\"todo 2\""));
+        assertTrue(Files.readAllLines(Paths.get(FILE_PATH + ".2")).get(0).endsWith("\"todo 1\""));
+        assertFalse(Files.exists(Paths.get(FILE_PATH + ".3")));
+    }
+
+    @Test
+    public void testDisabled() {
+        SlowCommandLog slowLog = new SlowCommandLog(FILE_PATH, SlowCommandLog.DISABLED, 1 << 20, 1);
+        assertFalse(slowLog.isSlow(Long.MAX_VALUE - 1));
+    }
+}
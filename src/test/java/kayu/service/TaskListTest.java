@@ -2,20 +2,38 @@ package kayu.service;
 
 import static kayu.service.TaskList.ERROR_EMPTY_LIST;
 import static kayu.service.TaskList.ERROR_INVALID_TASK;
+import static kayu.service.TaskList.ERROR_NO_DONE_TASKS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import kayu.commands.DeleteCommand;
+import kayu.commands.DeleteNoteCommand;
+import kayu.commands.DoneCommand;
 import kayu.exception.KayuException;
 import kayu.exception.StorageException;
+import kayu.parser.PatternCache;
+import kayu.note.Note;
+import kayu.task.Deadline;
+import kayu.task.Event;
 import kayu.task.Task;
 import kayu.task.Todo;
 
@@ -38,6 +56,71 @@ public class TaskListTest {
         assertEquals(10, taskList.getCurrentCapacity());
     }
 
+    @Test
+    public void updateTasksAsDone_selectionStartsPastEnd_exceptionThrown() {
+        assertThrows(KayuException.class, () -> new DoneCommand("11,1").execute(taskList, null, null, null));
+        assertThrows(KayuException.class, () -> new DeleteCommand("2-3,11-12").execute(taskList, null, null, null));
+
+        NoteList noteList = new NoteList();
+        noteList.initializeNotes(List.of(new Note("only note")));
+        assertThrows(KayuException.class, () -> new DeleteNoteCommand("2,1").execute(null, null, noteList, null));
+        assertEquals(1, noteList.getCurrentCapacity());
+        assertEquals(10, taskList.getCurrentCapacity());
+        assertFalse(taskList.getTasks().get(0).isDone());
+    }
+
+    @Test
+    public void updateTasksAsDone_selectionOfMaxInteger_exceptionThrown() {
+        String maxNumber = String.valueOf(Integer.MAX_VALUE);
+        assertThrows(KayuException.class, () -> new DoneCommand(maxNumber + ",1").execute(taskList, null, null, null));
+        assertThrows(KayuException.class, () -> new DoneCommand("2000000000,1").execute(taskList, null, null, null));
+        assertThrows(KayuException.class, () -> new DoneCommand("1-" + maxNumber).execute(taskList, null, null, null));
+        assertFalse(taskList.getTasks().get(0).isDone());
+    }
+
+    @Test
+    public void findTasksByKeywords_parallelScan_matchesSequentialScan() {
+        List<Task> tasks = IntStream.range(0, TaskList.PARALLEL_SCAN_THRESHOLD + 7)
+                .mapToObj(num -> new Todo((num % 3 == 0) ? "match " + num : "other " + num))
+                .collect(Collectors.toList());
+        taskList.initializeTasks(tasks);
+
+        // every third task, and then every task, so that matches fall on both sides of each chunk edge
+        for (String keyword: new String[] {"match", "t"}) {
+            SortedMap<Integer, Task> expected = new TreeMap<>();
+            for (int idx = 0; idx < tasks.size(); idx++) {
+                if (tasks.get(idx).getDescription().contains(keyword)) {
+                    expected.put(idx, tasks.get(idx));
+                }
+            }
+
+            assertEquals(expected, taskList.findTasksByKeywords(keyword, "unmatched"));
+            ForkJoinPool pool = new ForkJoinPool(3); // chunked differently from the common pool
+            try {
+                Map<Integer, Task> taskMap = pool.submit(() -> taskList.findTasksByKeywords(keyword)).join();
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(taskMap.keySet()));
+                assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(taskMap.values()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testGetTaskWindow() throws KayuException {
+        List<Task> window = taskList.getTaskWindow(9, 5); // cut short at the end of the list
+        assertEquals(2, window.size());
+        assertEquals("mock 9", window.get(0).getDescription());
+        assertEquals("mock 10", window.get(1).getDescription());
+        assertEquals(10, taskList.getTaskWindow(1, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void getTaskWindow_startPastEnd_exceptionThrown() {
+        KayuException exception = assertThrows(KayuException.class, () -> taskList.getTaskWindow(11, 1));
+        assertEquals(String.format(ERROR_INVALID_TASK, 11), exception.getMessage());
+    }
+
     @Test
     public void testAddTask() {
         int prevSize = taskList.getCurrentCapacity();
@@ -98,4 +181,224 @@ public class TaskListTest {
             assertEquals(ERROR_EMPTY_LIST, exception.getMessage());
         }
     }
+
+    @Test
+    public void testDeleteMultipleTasks() throws KayuException {
+        List<Task> deletedTasks = taskList.deleteTasks(2, 3, 4, 9);
+        assertEquals(4, deletedTasks.size());
+        assertEquals("mock 2", deletedTasks.get(0).getDescription());
+        assertEquals("mock 9", deletedTasks.get(3).getDescription());
+
+        List<Task> remainingTasks = taskList.getTasks();
+        assertEquals(6, remainingTasks.size());
+        assertEquals("mock 1", remainingTasks.get(0).getDescription());
+        assertEquals("mock 5", remainingTasks.get(1).getDescription());
+        assertEquals("mock 10", remainingTasks.get(5).getDescription());
+    }
+
+    @Test
+    public void deleteTasks_oneTaskNumberIsInvalid_nothingDeleted() {
+        try {
+            taskList.deleteTasks(1, 2, 11);
+            fail();
+
+        } catch (KayuException exception) {
+            assertEquals(String.format(ERROR_INVALID_TASK, 11), exception.getMessage());
+            assertEquals(10, taskList.getCurrentCapacity());
+        }
+    }
+
+    @Test
+    public void testMarkMultipleTasksAsDone() throws KayuException {
+        taskList.updateTaskAsDone(3);
+        List<Task> updatedTasks = taskList.updateTasksAsDone(1, 2, 3);
+        assertEquals(2, updatedTasks.size());
+        assertTrue(taskList.getTasks().get(0).isDone());
+        assertTrue(taskList.getTasks().get(1).isDone());
+    }
+
+    @Test
+    public void testDeleteDoneTasks() throws KayuException {
+        taskList.updateTasksAsDone(1, 5, 10);
+        List<Task> deletedTasks = taskList.deleteDoneTasks();
+        assertEquals(3, deletedTasks.size());
+        assertEquals(7, taskList.getCurrentCapacity());
+        assertTrue(taskList.getTasks().stream().noneMatch(Task::isDone));
+    }
+
+    @Test
+    public void deleteDoneTasks_noTaskIsDone_exceptionThrown() {
+        try {
+            taskList.deleteDoneTasks();
+            fail();
+
+        } catch (KayuException exception) {
+            assertEquals(ERROR_NO_DONE_TASKS, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetUpcomingTasks() throws KayuException {
+        Task lateDeadline = new Deadline("late", LocalDate.parse("2021-03-01"), LocalTime.parse("10:00"));
+        Task earlyEvent = new Event("early", LocalDate.parse("2021-01-01"), LocalTime.parse("09:00"));
+        Task middleDeadline = new Deadline("middle", LocalDate.parse("2021-02-01"), LocalTime.parse("08:00"));
+        taskList.addTask(lateDeadline);
+        taskList.addTask(earlyEvent);
+        taskList.addTask(middleDeadline);
+
+        List<Task> upcomingTasks = taskList.getUpcomingTasks(2);
+        assertEquals(2, upcomingTasks.size());
+        assertEquals(earlyEvent, upcomingTasks.get(0));
+        assertEquals(middleDeadline, upcomingTasks.get(1));
+
+        taskList.updateTaskAsDone(12); // early event
+        taskList.deleteTask(13); // middle deadline
+        upcomingTasks = taskList.getUpcomingTasks(5);
+        assertEquals(1, upcomingTasks.size());
+        assertEquals(lateDeadline, upcomingTasks.get(0));
+    }
+
+    @Test
+    public void testFindTasksByFuzzyKeywords() throws KayuException {
+        taskList.addTask(new Todo("weekly team meeting"));
+        taskList.addTask(new Todo("call the client"));
+        taskList.addTask(new Todo("Meetings, meetings!"));
+
+        Map<Integer, Task> taskMap = taskList.findTasksByFuzzyKeywords("meetng");
+        assertEquals(2, taskMap.size());
+        assertTrue(taskMap.containsKey(10)); // weekly team meeting
+        assertTrue(taskMap.containsKey(12)); // meetings
+
+        taskList.deleteTask(11); // weekly team meeting
+        taskMap = taskList.findTasksByFuzzyKeywords("meetng");
+        assertEquals(1, taskMap.size());
+        assertTrue(taskMap.containsKey(11)); // meetings, renumbered
+
+        taskList.updateTaskAsDone(12);
+        taskMap = taskList.findTasksByFuzzyKeywords("meetng");
+        assertTrue(taskMap.get(11).isDone()); // the done copy, at the same number
+    }
+
+    @Test
+    public void testFindTasksByKeywordsIsCached() throws KayuException {
+        SearchCache searchCache = taskList.getSearchCache();
+        Map<Integer, Task> taskMap = taskList.findTasksByKeywords("mock", "1");
+        assertEquals(10, taskMap.size());
+        assertEquals(0, searchCache.getHitCount());
+
+        // keyword order and case do not matter
+        assertEquals(taskMap, taskList.findTasksByKeywords("1", "MOCK"));
+        assertEquals(1, searchCache.getHitCount());
+
+        taskList.deleteTask(1);
+        assertEquals(9, taskList.findTasksByKeywords("mock", "1").size());
+        assertEquals(1, searchCache.getHitCount());
+        assertEquals(2, searchCache.getMissCount());
+    }
+
+    @Test
+    public void findTasksByKeywords_afterDone_showsDoneTask() throws KayuException {
+        assertFalse(taskList.findTasksByKeywords("mock").get(0).isDone());
+        taskList.updateTaskAsDone(1);
+        assertTrue(taskList.findTasksByKeywords("mock").get(0).isDone());
+
+        taskList.updateAllTasksAsDone();
+        assertTrue(taskList.findTasksByKeywords("mock").get(9).isDone());
+    }
+
+    @Test
+    public void findTasksByPattern_escapeWithArgument_found() throws KayuException {
+        taskList.addTask(new Todo("Abc task"));
+        String regex = "\\x41bc";
+        Map<Integer, Task> taskMap = taskList.findTasksByPattern(Pattern.compile(regex),
+                PatternCache.extractRequiredLiteral(regex), System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, taskMap.size());
+        assertTrue(taskMap.containsKey(10));
+    }
+
+    @Test
+    public void testFindTasksByQuery() throws KayuException {
+        taskList.addTask(new Todo("q3 report"));
+        taskList.addTask(new Todo("q4 report draft"));
+        taskList.addTask(new Deadline("q4 report", LocalDate.parse("2021-01-01"), LocalTime.parse("10:00")));
+        taskList.addTask(new Todo("q1 report"));
+
+        Map<Integer, Task> taskMap = taskList.findTasksByQuery("report AND (q3 OR q4) NOT draft");
+        assertEquals(2, taskMap.size());
+        assertTrue(taskMap.containsKey(10)); // q3 report
+        assertTrue(taskMap.containsKey(12)); // q4 report deadline
+
+        taskList.updateTaskAsDone(11);
+        taskMap = taskList.findTasksByQuery("report done:0 NOT type:D");
+        assertEquals(2, taskMap.size());
+        assertTrue(taskMap.containsKey(11)); // q4 report draft
+        assertTrue(taskMap.containsKey(13)); // q1 report
+    }
+
+    @Test
+    public void findTasksByQuery_afterDeletesAndDone_matchesCurrentNumbers() throws KayuException {
+        taskList.addTask(new Todo("q3 report"));
+        taskList.addTask(new Todo("q4 report"));
+        taskList.findTasksByQuery("report"); // builds the index, so later changes update it in place
+
+        taskList.deleteTask(1);
+        taskList.deleteTasks(1, 2);
+        Map<Integer, Task> taskMap = taskList.findTasksByQuery("report done:0");
+        assertEquals(2, taskMap.size());
+        assertEquals("q3 report", taskMap.get(7).getDescription());
+        assertEquals("q4 report", taskMap.get(8).getDescription());
+
+        taskList.updateTasksAsDone(8, 9);
+        assertTrue(taskList.findTasksByQuery("report done:0").isEmpty());
+        assertEquals(2, taskList.findTasksByQuery("report NOT done:0").size());
+
+        taskList.deleteTask(8);
+        taskMap = taskList.findTasksByQuery("report");
+        assertEquals(1, taskMap.size());
+        assertEquals("q4 report", taskMap.get(7).getDescription());
+    }
+
+    @Test
+    public void findTasksByQuery_unbalancedParentheses_exceptionThrown() {
+        String query = "report AND (q3 OR q4";
+        try {
+            taskList.findTasksByQuery(query);
+            fail();
+
+        } catch (KayuException exception) {
+            String expected = String.format(BooleanQuery.ERROR_UNBALANCED_PARENTHESES, query);
+            assertEquals(expected, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testTaskIdsStableAcrossDeletes() throws KayuException {
+        long id = taskList.getTasks().get(7).getId();
+        taskList.deleteTask(2);
+        taskList.deleteTasks(1, 4);
+
+        assertEquals(5, taskList.getTaskNumberById(id));
+        assertEquals("mock 8", taskList.getTaskById(id).getDescription());
+
+        taskList.updateTaskAsDone(5);
+        assertTrue(taskList.getTaskById(id).isDone());
+
+        Task newTask = new Todo("new todo here");
+        taskList.addTask(newTask);
+        assertTrue(newTask.getId() > id);
+        assertEquals(taskList.getCurrentCapacity(), taskList.getTaskNumberById(newTask.getId()));
+    }
+
+    @Test
+    public void getTaskById_deletedTask_exceptionThrown() throws KayuException {
+        long id = taskList.getTasks().get(0).getId();
+        taskList.deleteTask(1);
+        try {
+            taskList.getTaskNumberById(id);
+            fail();
+
+        } catch (KayuException exception) {
+            assertEquals(String.format(TaskList.ERROR_INVALID_TASK_ID, id), exception.getMessage());
+        }
+    }
 }
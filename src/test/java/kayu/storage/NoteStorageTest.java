@@ -0,0 +1,142 @@
+package kayu.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kayu.exception.StorageException;
+import kayu.note.Note;
+
+public class NoteStorageTest {
+
+    private static final String DIRECTORY_PATH = "src/test/resources/note_storage_test";
+    private static final String NOTE_FILE_PATH = DIRECTORY_PATH + "/notes.txt";
+    private static final Path BLOB_DIRECTORY = Paths.get(DIRECTORY_PATH, "note-blobs");
+
+    private NoteStorage noteStorage;
+
+    @BeforeEach
+    public void setUp() {
+        noteStorage = NoteStorage.generate(NOTE_FILE_PATH);
+    }
+
+    @AfterEach
+    public void reset() throws IOException {
+        try (Stream<Path> paths = Files.walk(Paths.get(DIRECTORY_PATH))) {
+            for (Path path: paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        noteStorage.load();
+        noteStorage.save(List.of(new Note("first note"), new Note("second note")));
+
+        List<Note> notes = NoteStorage.generate(NOTE_FILE_PATH).load();
+        assertEquals(2, notes.size());
+        assertEquals("first note", notes.get(0).getDescription());
+        assertEquals("second note", notes.get(1).getDescription());
+        assertTrue(Files.readAllLines(Paths.get(NOTE_FILE_PATH)).get(0).startsWith(NoteStorage.HASH_PREFIX));
+    }
+
+    @Test
+    public void testSaveDuplicatesShareBlob() throws IOException {
+        noteStorage.load();
+        noteStorage.save(List.of(new Note("same"), new Note("same"), new Note("other")));
+
+        try (Stream<Path> blobs = Files.list(BLOB_DIRECTORY)) {
+            assertEquals(2, blobs.count());
+        }
+    }
+
+    @Test
+    public void testSaveRemovesUnusedBlobs() throws IOException {
+        noteStorage.load();
+        Note kept = new Note("kept");
+        noteStorage.save(List.of(kept, new Note("removed")));
+        noteStorage.save(List.of(kept));
+
+        try (Stream<Path> blobs = Files.list(BLOB_DIRECTORY)) {
+            assertEquals(1, blobs.count());
+        }
+    }
+
+    @Test
+    public void testSaveSweepsBlobsOnlyWhenOneIsDropped() throws IOException {
+        noteStorage.load();
+        Note kept = new Note("kept");
+        noteStorage.save(List.of(kept, new Note("dropped")));
+        Path strayBlob = Files.writeString(BLOB_DIRECTORY.resolve("stray"), "");
+
+        noteStorage.save(List.of(kept, new Note("dropped"), new Note("added")));
+        assertTrue(Files.exists(strayBlob)); // nothing dropped, so the blobs are not listed
+
+        noteStorage.save(List.of(kept));
+        assertFalse(Files.exists(strayBlob));
+        try (Stream<Path> blobs = Files.list(BLOB_DIRECTORY)) {
+            assertEquals(1, blobs.count());
+        }
+    }
+
+    @Test
+    public void load_blobMissing_throwsException() throws IOException {
+        noteStorage.load();
+        noteStorage.save(List.of(new Note("lost")));
+        try (Stream<Path> blobs = Files.list(BLOB_DIRECTORY)) {
+            for (Path blob: blobs.collect(Collectors.toList())) {
+                Files.delete(blob);
+            }
+        }
+
+        assertThrows(StorageException.class, () -> NoteStorage.generate(NOTE_FILE_PATH).load());
+    }
+
+    @Test
+    public void testSaveEmptyCreatesNoBlobs() {
+        noteStorage.load();
+        noteStorage.save(List.of());
+        assertFalse(Files.exists(BLOB_DIRECTORY));
+    }
+
+    @Test
+    public void testLoadLegacyDescriptions() throws IOException {
+        noteStorage.load();
+        Files.write(Paths.get(NOTE_FILE_PATH), List.of("plain note", NoteStorage.HASH_PREFIX + "not a hash"));
+
+        List<Note> notes = noteStorage.load();
+        assertEquals("plain note", notes.get(0).getDescription());
+        assertEquals(NoteStorage.HASH_PREFIX + "not a hash", notes.get(1).getDescription());
+
+        noteStorage.save(notes);
+        assertEquals("plain note", NoteStorage.generate(NOTE_FILE_PATH).load().get(0).getDescription());
+    }
+
+    @Test
+    public void testLoadedNoteKeptAfterBlobRemoved() {
+        noteStorage.load();
+        noteStorage.save(List.of(new Note("held elsewhere")));
+
+        Note held = noteStorage.load().get(0);
+        noteStorage.save(List.of());
+        assertEquals("held elsewhere", held.getDescription());
+
+        noteStorage.save(List.of(held));
+        assertEquals("held elsewhere", NoteStorage.generate(NOTE_FILE_PATH).load().get(0).getDescription());
+    }
+}
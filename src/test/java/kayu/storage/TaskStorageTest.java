@@ -19,7 +19,9 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import kayu.exception.KayuException;
 import kayu.exception.StorageException;
+import kayu.service.TaskList;
 import kayu.task.Deadline;
 import kayu.task.Event;
 import kayu.task.Task;
@@ -107,4 +109,50 @@ public class TaskStorageTest {
             assertEquals(expected, exception.getMessage());
         }
     }
+
+    @Test
+    public void testSaveAndLoadIds() throws StorageException {
+        Task task = new Todo("test with id");
+        task.setId(42);
+        taskStorage.save(List.of(task));
+
+        List<Task> tasks = taskStorage.load();
+        assertEquals(42, tasks.get(0).getId());
+        assertEquals(task.toString(), tasks.get(0).toString());
+    }
+
+    @Test
+    public void testDeletedIdNotGivenAgainAfterReload() throws StorageException, KayuException {
+        TaskList taskList = new TaskList();
+        taskList.initializeTasks(taskStorage.load(), taskStorage.getNextId());
+        taskList.deleteTask(taskList.getCurrentCapacity()); // the task holding the largest ID
+        taskStorage.setNextId(taskList.getNextId());
+        taskStorage.save(taskList.getTasks());
+
+        TaskStorage reloadedStorage = TaskStorage.generate(TASK_FILE_PATH);
+        TaskList reloadedList = new TaskList();
+        reloadedList.initializeTasks(reloadedStorage.load(), reloadedStorage.getNextId());
+        Task newTask = new Todo("after reload");
+        reloadedList.addTask(newTask);
+        assertEquals(4, newTask.getId());
+    }
+
+    @Test
+    public void testNestedDeferredSaves() throws StorageException {
+        List<Task> outerTasks = List.of(new Todo("outer"));
+        taskStorage.deferSaves();
+        taskStorage.save(outerTasks);
+
+        taskStorage.deferSaves();
+        taskStorage.save(List.of(new Todo("discarded"), new Todo("inner")));
+        taskStorage.discardSaves();
+        assertEquals(3, taskStorage.load().size()); // nothing written while deferred
+
+        taskStorage.deferSaves();
+        taskStorage.commitSaves(); // an inner commit keeps the outer list pending
+        taskStorage.commitSaves();
+        List<Task> tasks = taskStorage.load();
+        assertEquals(1, tasks.size());
+        assertEquals("outer", tasks.get(0).getDescription());
+    }
 }
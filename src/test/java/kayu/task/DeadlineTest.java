@@ -29,4 +29,21 @@ public class DeadlineTest {
     public void testStringConversion() {
         assertEquals("[D][ ] mock tests\n   (by: 2020-09-14 12:30)", deadline.toString());
     }
+
+    @Test
+    public void testRenderTo() {
+        StringBuilder output = new StringBuilder("1. ");
+        deadline.renderTo(output);
+        assertEquals("1. " + deadline, output.toString());
+
+        // dates and times outside the fast path are rendered as their own toString methods give them
+        LocalDate[] dates = {LocalDate.parse("0999-01-02"), LocalDate.parse("+12020-10-05"), LocalDate.of(-5, 1, 1)};
+        LocalTime[] times = {LocalTime.MIDNIGHT, LocalTime.parse("23:59:30"), LocalTime.parse("08:07:06.5")};
+        for (LocalDate date: dates) {
+            for (LocalTime time: times) {
+                assertEquals("[D][ ] mock tests\n   (by: " + date + " " + time + ")",
+                        new Deadline("mock tests", date, time).toString());
+            }
+        }
+    }
 }
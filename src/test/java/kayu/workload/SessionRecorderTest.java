@@ -0,0 +1,52 @@
+package kayu.workload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SessionRecorderTest {
+
+    private static final String FILE_PATH = "src/test/resources/session_recorder_test.txt";
+
+    @AfterEach
+    public void reset() throws IOException {
+        Files.deleteIfExists(Paths.get(FILE_PATH));
+    }
+
+    @Test
+    public void testRecordAndRead() throws IOException {
+        SessionRecorder recorder = new SessionRecorder(FILE_PATH);
+        assertTrue(recorder.isRecording());
+        recorder.record("todo read book");
+        recorder.record("deadline return book /by 2021-09-01 18:00");
+        recorder.record("");
+
+        List<SessionReplayer.Entry> entries = SessionReplayer.readSession(FILE_PATH);
+        assertEquals(3, entries.size());
+        assertEquals("todo read book", entries.get(0).getUserInput());
+        assertEquals("deadline return book /by 2021-09-01 18:00", entries.get(1).getUserInput());
+        assertEquals("", entries.get(2).getUserInput());
+    }
+
+    @Test
+    public void testNotRecording() {
+        SessionRecorder recorder = SessionRecorder.generate(); // the property is not set in tests
+        assertFalse(recorder.isRecording());
+        recorder.record("todo read book");
+    }
+
+    @Test
+    public void testInvalidSession() throws IOException {
+        Files.write(Paths.get(FILE_PATH), List.of("12\ttodo read book", "not a command"));
+        assertThrows(IllegalArgumentException.class, () -> SessionReplayer.readSession(FILE_PATH));
+    }
+}
@@ -0,0 +1,69 @@
+package kayu.workload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kayu.note.Note;
+import kayu.task.Deadline;
+import kayu.task.Task;
+import kayu.task.Todo;
+
+public class WorkloadGeneratorTest {
+
+    @Test
+    public void testSameSeedSameTasks() {
+        List<Task> tasks = new WorkloadGenerator(1).generateTasks(100);
+        List<Task> sameTasks = new WorkloadGenerator(1).generateTasks(100);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), sameTasks.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testSettings() {
+        WorkloadGenerator generator = new WorkloadGenerator(1);
+        generator.setMix(1, 1, 0);
+        generator.setDescriptionWords(2, 2);
+        generator.setVocabulary(10, 0);
+        generator.setDoneRatio(0.5);
+        List<Task> tasks = generator.generateTasks(10_000);
+
+        long todoCount = tasks.stream().filter(task -> task instanceof Todo).count();
+        long deadlineCount = tasks.stream().filter(task -> task instanceof Deadline).count();
+        long doneCount = tasks.stream().filter(Task::isDone).count();
+        assertEquals(10_000, todoCount + deadlineCount);
+        assertTrue(Math.abs(todoCount - 5_000) < 300);
+        assertTrue(Math.abs(doneCount - 5_000) < 300);
+        assertTrue(tasks.stream().allMatch(task -> task.getDescription().split(" ").length == 2));
+
+        List<Note> notes = generator.generateNotes(10);
+        assertTrue(notes.stream().allMatch(note -> note.getDescription().split(" ").length == 8));
+    }
+
+    @Test
+    public void testSkew() {
+        WorkloadGenerator generator = new WorkloadGenerator(1);
+        generator.setDescriptionWords(1, 1);
+        generator.setVocabulary(100, 1.0);
+        String mostCommon = generator.getVocabulary()[0];
+        String rare = generator.getVocabulary()[99];
+        List<Task> tasks = generator.generateTasks(10_000);
+
+        long mostCommonCount = tasks.stream().filter(task -> task.getDescription().equals(mostCommon)).count();
+        long rareCount = tasks.stream().filter(task -> task.getDescription().equals(rare)).count();
+        assertTrue(mostCommonCount > 20 * rareCount);
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        WorkloadGenerator generator = new WorkloadGenerator(1);
+        assertThrows(IllegalArgumentException.class, () -> generator.setMix(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> generator.setDescriptionWords(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> generator.setDoneRatio(1.5));
+    }
+}